@@ -0,0 +1,63 @@
+package Module_1;
+
+import java.util.HashMap;
+
+/*
+ * The few operations the benchmarks need, so MyHashMap and java.util.HashMap
+ * run exactly the same benchmark code. Each trial uses one implementation,
+ * so the call sites stay monomorphic.
+ */
+public interface BenchmarkMap {
+
+    Object get(Object key);
+
+    Object put(Object key, Object value);
+
+    Object remove(Object key);
+
+    int size();
+
+    enum Impl {
+        MY_HASH_MAP,
+        MY_HASH_MAP_INCREMENTAL,
+        MY_HASH_MAP_RANDOMIZED,
+        MY_HASH_MAP_COMPACT,
+        JAVA_UTIL_HASH_MAP;
+
+        BenchmarkMap create(int initialCapacity) {
+            return switch (this) {
+                case MY_HASH_MAP -> of(new MyHashMap<>(initialCapacity));
+                case MY_HASH_MAP_INCREMENTAL -> of(new MyHashMap<>(initialCapacity,
+                        MyHashMap.DEFAULT_LOAD_FACTOR, MyHashMap.Option.INCREMENTAL_RESIZE));
+                case MY_HASH_MAP_RANDOMIZED -> of(new MyHashMap<>(initialCapacity,
+                        MyHashMap.DEFAULT_LOAD_FACTOR, MyHashMap.Option.RANDOMIZED_HASH));
+                case MY_HASH_MAP_COMPACT -> of(new MyHashMap<>(initialCapacity,
+                        MyHashMap.DEFAULT_LOAD_FACTOR, MyHashMap.Option.COMPACT, MyHashMap.Option.AUTO_SHRINK));
+                case JAVA_UTIL_HASH_MAP -> of(new HashMap<>(initialCapacity));
+            };
+        }
+
+        // initial capacity that holds size mappings without a resize
+        BenchmarkMap createFor(int size) {
+            return create((int) (size / MyHashMap.DEFAULT_LOAD_FACTOR) + 1);
+        }
+    }
+
+    private static BenchmarkMap of(MyHashMap<Object, Object> map) {
+        return new BenchmarkMap() {
+            @Override public Object get(Object key) { return map.get(key); }
+            @Override public Object put(Object key, Object value) { return map.put(key, value); }
+            @Override public Object remove(Object key) { return map.remove(key); }
+            @Override public int size() { return map.size(); }
+        };
+    }
+
+    private static BenchmarkMap of(HashMap<Object, Object> map) {
+        return new BenchmarkMap() {
+            @Override public Object get(Object key) { return map.get(key); }
+            @Override public Object put(Object key, Object value) { return map.put(key, value); }
+            @Override public Object remove(Object key) { return map.remove(key); }
+            @Override public int size() { return map.size(); }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package Module_1;
+
+import java.io.IOException;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/*
+ * Entry point of target/benchmarks.jar. Takes the JMH command line; a real
+ * run always gets the GC profiler, so every result comes with allocation
+ * rates (gc.alloc.rate.norm is bytes per operation). Help and the listing
+ * options (-h, -l, -lp, -lprof, -lrf) are handed to JMH's own Main. For
+ * example:
+ *
+ *   mvn -Pjmh package -DskipTests
+ *   java -jar target/benchmarks.jar -l
+ *   java -jar target/benchmarks.jar MapLookupBenchmark -p size=1000000 -rf json
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        CommandLineOptions cmd;
+        try {
+            cmd = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            org.openjdk.jmh.Main.main(args); // prints the error and the usage
+            return;
+        }
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams()
+                || cmd.shouldListProfilers() || cmd.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(cmd);
+        if (!hasGcProfiler(cmd)) // -prof gc given as well would run it twice
+            builder.addProfiler(GCProfiler.class);
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+
+    private static boolean hasGcProfiler(CommandLineOptions cmd) {
+        for (ProfilerConfig p : cmd.getProfilers())
+            if (p.getKlass().equals("gc") || p.getKlass().equals(GCProfiler.class.getName()))
+                return true;
+        return false;
+    }
+}
@@ -0,0 +1,67 @@
+package Module_1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Counting from many threads into one shared map, hotKeys distinct keys.
+ * With hotKeys = 1 every thread increments the same counter.
+ *
+ * counterMap   - MyConcurrentCounterMap.increment
+ * lockedMerge  - MyHashMap.merge(k, 1, Integer::sum) under one lock
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(8)
+@State(Scope.Benchmark)
+public class CounterMapBenchmark {
+
+    @Param({"1", "16", "10000"})
+    int hotKeys;
+
+    private Integer[] keys;
+    private MyConcurrentCounterMap<Integer> counterMap;
+    private MyHashMap<Integer, Integer> lockedMap;
+
+    @Setup
+    public void setUp() {
+        keys = new Integer[hotKeys];
+        for (int i = 0; i < hotKeys; i++)
+            keys[i] = i;
+        counterMap = new MyConcurrentCounterMap<>();
+        lockedMap = new MyHashMap<>();
+    }
+
+    private Integer nextKey() {
+        return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+    }
+
+    @Benchmark
+    public void counterMap() {
+        counterMap.increment(nextKey());
+    }
+
+    @Benchmark
+    public void lockedMerge() {
+        Integer key = nextKey();
+        synchronized (lockedMap) {
+            lockedMap.merge(key, 1, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package Module_1;
+
+import java.util.Random;
+
+/*
+ * Key sets for the benchmarks. Keys are created before measurement and
+ * shuffled, so a run does not walk the table in insertion order.
+ */
+public enum KeyType {
+    INTEGER {
+        @Override
+        Object key(int i) {
+            return i * 0x61C88647; // distinct ints spread over the whole range
+        }
+    },
+    STRING {
+        @Override
+        Object key(int i) {
+            return "user-" + i + "@example.com";
+        }
+    },
+    COLLIDING {
+        @Override
+        Object key(int i) {
+            return new CollidingKey(i);
+        }
+    };
+
+    // only 1024 distinct hash codes, so large maps end up with treeified bins
+    record CollidingKey(int id) implements Comparable<CollidingKey> {
+        @Override
+        public int hashCode() {
+            return id & 1023;
+        }
+
+        @Override
+        public int compareTo(CollidingKey o) {
+            return Integer.compare(id, o.id);
+        }
+    }
+
+    abstract Object key(int i);
+
+    Object[] keys(int from, int count, long seed) {
+        Object[] keys = new Object[count];
+        for (int i = 0; i < count; i++)
+            keys[i] = key(from + i);
+        Random random = new Random(seed);
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Object t = keys[i];
+            keys[i] = keys[j];
+            keys[j] = t;
+        }
+        return keys;
+    }
+}
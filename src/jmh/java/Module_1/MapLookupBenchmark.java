@@ -0,0 +1,67 @@
+package Module_1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Lookups in a filled map: get of present keys and of absent keys, in a
+ * random order. Keys are cycled through, so with large sizes most lookups
+ * miss the CPU caches as they would in a real workload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Thread)
+public class MapLookupBenchmark {
+
+    @Param
+    BenchmarkMap.Impl impl;
+
+    @Param
+    KeyType keyType;
+
+    @Param({"8", "1000", "100000", "1000000", "10000000"})
+    int size;
+
+    private BenchmarkMap map;
+    private Object[] keys;
+    private Object[] missingKeys;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = keyType.keys(0, size, 42);
+        missingKeys = keyType.keys(size, size, 43);
+        map = impl.create(0); // no size hint, so small maps of every kind start small
+        for (Object key : keys)
+            map.put(key, key);
+    }
+
+    @Benchmark
+    public Object getHit() {
+        int i = index;
+        index = (i + 1 == keys.length) ? 0 : i + 1;
+        return map.get(keys[i]);
+    }
+
+    @Benchmark
+    public Object getMiss() {
+        int i = index;
+        index = (i + 1 == missingKeys.length) ? 0 : i + 1;
+        return map.get(missingKeys[i]);
+    }
+}
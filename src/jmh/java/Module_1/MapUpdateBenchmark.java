@@ -0,0 +1,91 @@
+package Module_1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Whole-map updates: one benchmark call inserts or removes all size keys,
+ * so divide the score by size for the cost of a single operation.
+ *
+ * putPresized    - table allocated for size up front, no resize at all
+ * putDefault     - default initial capacity, about log2(size / 16) resizes
+ * putResizeHeavy - initial capacity 1, every doubling from the smallest table
+ * removeAll      - drains a map filled before the call
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Thread)
+public class MapUpdateBenchmark {
+
+    @Param
+    BenchmarkMap.Impl impl;
+
+    @Param
+    KeyType keyType;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    private Object[] keys;
+
+    @State(Scope.Thread)
+    public static class FilledMap {
+        BenchmarkMap map;
+
+        // a single shot per iteration, so refilling here stays out of the score
+        @Setup(Level.Iteration)
+        public void fill(MapUpdateBenchmark benchmark) {
+            map = benchmark.putAll(benchmark.impl.createFor(benchmark.size));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = keyType.keys(0, size, 42);
+    }
+
+    @Benchmark
+    public BenchmarkMap putPresized() {
+        return putAll(impl.createFor(size));
+    }
+
+    @Benchmark
+    public BenchmarkMap putDefault() {
+        return putAll(impl.create(MyHashMap.DEFAULT_INITIAL_CAPACITY));
+    }
+
+    @Benchmark
+    public BenchmarkMap putResizeHeavy() {
+        return putAll(impl.create(1));
+    }
+
+    @Benchmark
+    public int removeAll(FilledMap filled) {
+        BenchmarkMap map = filled.map;
+        for (Object key : keys)
+            map.remove(key);
+        return map.size();
+    }
+
+    private BenchmarkMap putAll(BenchmarkMap map) {
+        Object[] ks = keys;
+        for (Object key : ks)
+            map.put(key, key);
+        return map;
+    }
+}
@@ -0,0 +1,82 @@
+package Module_1;
+
+/*
+ * Count-min sketch with 4-bit counters that estimates how often a hash was
+ * seen recently, for the TinyLFU admission policy of MyLinkedHashMap. Each
+ * long holds sixteen counters; an item uses four of them, one per row, all
+ * in the same quarter of their word. Once sampleSize increments have been
+ * counted every counter is halved, so old popularity fades away.
+ */
+final class FrequencySketch {
+    static final long[] SEED = { // a mix of seeds from FNV-1a, CityHash, and Murmur3
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    static final long RESET_MASK = 0x7777777777777777L;
+    static final long ONE_MASK = 0x1111111111111111L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(int maximumSize) {
+        int maximum = Math.max(maximumSize, 1);
+        table = new long[MyHashMap.tableSizeFor(maximum)];
+        tableMask = table.length - 1;
+        sampleSize = (maximum > Integer.MAX_VALUE / 10) ? Integer.MAX_VALUE : 10 * maximum;
+    }
+
+    int frequency(int e) {
+        int hash = spread(e);
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    void increment(int e) {
+        int hash = spread(e);
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++)
+            added |= incrementAt(indexOf(hash, i), start + i);
+        if (added && (++size == sampleSize))
+            reset();
+    }
+
+    private boolean incrementAt(int i, int j) {
+        int offset = j << 2;
+        long mask = (0xfL << offset);
+        if ((table[i] & mask) != mask) { // saturates at 15
+            table[i] += (1L << offset);
+            return true;
+        }
+        return false;
+    }
+
+    // halves every counter; odd counters lose their last increment
+    private void reset() {
+        int count = 0;
+        for (int i = 0; i < table.length; i++) {
+            count += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size >>> 1) - (count >>> 2);
+    }
+
+    private int indexOf(int item, int i) {
+        long hash = (item + SEED[i]) * SEED[i];
+        hash += (hash >>> 32);
+        return ((int) hash) & tableMask;
+    }
+
+    // supplemental hash, the keys' hashCode may be weak
+    static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
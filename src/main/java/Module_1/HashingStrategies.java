@@ -0,0 +1,226 @@
+package Module_1;
+
+import java.util.Arrays;
+
+/*
+ * Built-in strategies of HashingStrategy. String content given as UTF-8
+ * bytes is decoded on the fly into UTF-16 code units, so it hashes like the
+ * String it would decode to. Malformed UTF-8 (including overlong forms and
+ * encoded surrogates) matches no key.
+ */
+final class HashingStrategies {
+
+    private HashingStrategies() {
+    }
+
+    enum StringStrategy implements HashingStrategy<String> {
+        INSTANCE;
+
+        @Override
+        public int hashCode(String key) {
+            return key.hashCode();
+        }
+
+        @Override
+        public boolean equals(String key, String other) {
+            return key.equals(other);
+        }
+
+        @Override
+        public int hashChars(CharSequence chars) {
+            return HashingStrategies.hashChars(chars, false);
+        }
+
+        @Override
+        public boolean equalsChars(String key, CharSequence chars) {
+            return key.contentEquals(chars);
+        }
+
+        @Override
+        public int hashBytes(byte[] bytes, int offset, int length) {
+            return hashUtf8(bytes, offset, length, false);
+        }
+
+        @Override
+        public boolean equalsBytes(String key, byte[] bytes, int offset, int length) {
+            return equalsUtf8(key, bytes, offset, length, false);
+        }
+
+        @Override
+        public String toString() {
+            return "HashingStrategy.STRING";
+        }
+    }
+
+    enum IgnoreAsciiCaseStrategy implements HashingStrategy<String> {
+        INSTANCE;
+
+        @Override
+        public int hashCode(String key) {
+            return HashingStrategies.hashChars(key, true);
+        }
+
+        @Override
+        public boolean equals(String key, String other) {
+            return equalsIgnoreAsciiCase(key, other);
+        }
+
+        @Override
+        public int hashChars(CharSequence chars) {
+            return HashingStrategies.hashChars(chars, true);
+        }
+
+        @Override
+        public boolean equalsChars(String key, CharSequence chars) {
+            return equalsIgnoreAsciiCase(key, chars);
+        }
+
+        @Override
+        public int hashBytes(byte[] bytes, int offset, int length) {
+            return hashUtf8(bytes, offset, length, true);
+        }
+
+        @Override
+        public boolean equalsBytes(String key, byte[] bytes, int offset, int length) {
+            return equalsUtf8(key, bytes, offset, length, true);
+        }
+
+        @Override
+        public String toString() {
+            return "HashingStrategy.STRING_IGNORE_ASCII_CASE";
+        }
+    }
+
+    enum ByteArrayStrategy implements HashingStrategy<byte[]> {
+        INSTANCE;
+
+        @Override
+        public int hashCode(byte[] key) {
+            return Arrays.hashCode(key);
+        }
+
+        @Override
+        public boolean equals(byte[] key, byte[] other) {
+            return Arrays.equals(key, other);
+        }
+
+        @Override
+        public int hashBytes(byte[] bytes, int offset, int length) {
+            int h = 1; // same as Arrays.hashCode
+            for (int i = offset, end = offset + length; i < end; i++)
+                h = 31 * h + bytes[i];
+            return h;
+        }
+
+        @Override
+        public boolean equalsBytes(byte[] key, byte[] bytes, int offset, int length) {
+            return Arrays.equals(key, 0, key.length, bytes, offset, offset + length);
+        }
+
+        @Override
+        public String toString() {
+            return "HashingStrategy.BYTE_ARRAY";
+        }
+    }
+
+    static int toLowerAscii(int c) {
+        return (c >= 'A' && c <= 'Z') ? c + ('a' - 'A') : c;
+    }
+
+    // String.hashCode() of the chars, optionally with ASCII letters lowered
+    static int hashChars(CharSequence chars, boolean ignoreAsciiCase) {
+        int h = 0;
+        for (int i = 0, n = chars.length(); i < n; i++) {
+            int c = chars.charAt(i);
+            h = 31 * h + (ignoreAsciiCase ? toLowerAscii(c) : c);
+        }
+        return h;
+    }
+
+    static boolean equalsIgnoreAsciiCase(CharSequence a, CharSequence b) {
+        int n = a.length();
+        if (b.length() != n)
+            return false;
+        for (int i = 0; i < n; i++) {
+            char x = a.charAt(i), y = b.charAt(i);
+            if (x != y && toLowerAscii(x) != toLowerAscii(y))
+                return false;
+        }
+        return true;
+    }
+
+    /*
+     * Next code point of the UTF-8 input at i, packed with the index after
+     * it into the high half; -1 if the input is malformed there.
+     */
+    static long decodeUtf8(byte[] b, int i, int end) {
+        int c = b[i];
+        if (c >= 0)
+            return (long) (i + 1) << 32 | c;
+        int n, cp, min;
+        if ((c & 0xE0) == 0xC0) {
+            n = 1; cp = c & 0x1F; min = 0x80;
+        } else if ((c & 0xF0) == 0xE0) {
+            n = 2; cp = c & 0x0F; min = 0x800;
+        } else if ((c & 0xF8) == 0xF0) {
+            n = 3; cp = c & 0x07; min = Character.MIN_SUPPLEMENTARY_CODE_POINT;
+        } else
+            return -1;
+        if (i + n >= end)
+            return -1;
+        for (int k = 1; k <= n; k++) {
+            int cc = b[i + k];
+            if ((cc & 0xC0) != 0x80)
+                return -1;
+            cp = cp << 6 | (cc & 0x3F);
+        }
+        if (cp < min || cp > Character.MAX_CODE_POINT ||
+                (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE))
+            return -1;
+        return (long) (i + n + 1) << 32 | cp;
+    }
+
+    // hashChars of the String the bytes decode to
+    static int hashUtf8(byte[] b, int offset, int length, boolean ignoreAsciiCase) {
+        int h = 0;
+        for (int i = offset, end = offset + length; i < end; ) {
+            long d = decodeUtf8(b, i, end);
+            if (d < 0)
+                return h; // matches no key, any hash will do
+            int cp = (int) d;
+            i = (int) (d >>> 32);
+            if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT)
+                h = 31 * h + (ignoreAsciiCase ? toLowerAscii(cp) : cp);
+            else
+                h = 31 * (31 * h + Character.highSurrogate(cp)) + Character.lowSurrogate(cp);
+        }
+        return h;
+    }
+
+    static boolean equalsUtf8(String s, byte[] b, int offset, int length, boolean ignoreAsciiCase) {
+        int n = s.length(), j = 0;
+        if (length < n || length > 3L * n) // 1 to 3 bytes per UTF-16 code unit
+            return false;
+        for (int i = offset, end = offset + length; i < end; ) {
+            long d = decodeUtf8(b, i, end);
+            if (d < 0)
+                return false;
+            int cp = (int) d;
+            i = (int) (d >>> 32);
+            if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                if (j >= n)
+                    return false;
+                int c = s.charAt(j++);
+                if (c != cp && (!ignoreAsciiCase || toLowerAscii(c) != toLowerAscii(cp)))
+                    return false;
+            } else {
+                if (j + 1 >= n ||
+                        s.charAt(j) != Character.highSurrogate(cp) ||
+                        s.charAt(j + 1) != Character.lowSurrogate(cp))
+                    return false;
+                j += 2;
+            }
+        }
+        return j == n;
+    }
+}
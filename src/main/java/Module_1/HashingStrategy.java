@@ -0,0 +1,43 @@
+package Module_1;
+
+/*
+ * Key hashing and equality for a MyHashMap, used instead of the keys' own
+ * hashCode() and equals(). hashCode and equals must agree the usual way:
+ * equal keys have equal hash codes.
+ *
+ * The char and byte methods serve MyHashMap.getByChars and getByBytes, which
+ * find a key from its content without creating a key object. They must hash
+ * content exactly like hashCode(K) hashes the key it equals. A strategy that
+ * has no such content form keeps the defaults, which throw.
+ */
+public interface HashingStrategy<K> {
+
+    // String.equals/hashCode; chars and UTF-8 bytes match the String with the same content
+    HashingStrategy<String> STRING = HashingStrategies.StringStrategy.INSTANCE;
+
+    // Strings equal up to the case of ASCII letters, e.g. e-mail addresses
+    HashingStrategy<String> STRING_IGNORE_ASCII_CASE = HashingStrategies.IgnoreAsciiCaseStrategy.INSTANCE;
+
+    // byte[] keys by content (Arrays.equals/hashCode); byte ranges match equal arrays
+    HashingStrategy<byte[]> BYTE_ARRAY = HashingStrategies.ByteArrayStrategy.INSTANCE;
+
+    int hashCode(K key);
+
+    boolean equals(K key, K other);
+
+    default int hashChars(CharSequence chars) {
+        throw new UnsupportedOperationException("Lookup by chars is not supported by " + this);
+    }
+
+    default boolean equalsChars(K key, CharSequence chars) {
+        throw new UnsupportedOperationException("Lookup by chars is not supported by " + this);
+    }
+
+    default int hashBytes(byte[] bytes, int offset, int length) {
+        throw new UnsupportedOperationException("Lookup by bytes is not supported by " + this);
+    }
+
+    default boolean equalsBytes(K key, byte[] bytes, int offset, int length) {
+        throw new UnsupportedOperationException("Lookup by bytes is not supported by " + this);
+    }
+}
@@ -0,0 +1,228 @@
+package Module_1;
+
+/*
+ * long -> long map without boxing, laid out like LongObjectMap: keys and
+ * values in parallel long arrays, 0 as the free-slot marker and the real key
+ * 0 kept in hasZeroKey/zeroValue. Absent keys read as NO_ENTRY_VALUE (0); use
+ * containsKey or getOrDefault when 0 is a meaningful value.
+ */
+public class LongLongMap {
+    static final int DEFAULT_INITIAL_CAPACITY = MyHashMap.DEFAULT_INITIAL_CAPACITY;
+    static final int MAXIMUM_CAPACITY = MyHashMap.MAXIMUM_CAPACITY;
+    static final float DEFAULT_LOAD_FACTOR = MyHashMap.DEFAULT_LOAD_FACTOR;
+    public static final long NO_ENTRY_VALUE = 0L;
+
+    static int mix(long key) {
+        return LongObjectMap.mix(key);
+    }
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int threshold;
+    private boolean hasZeroKey;
+    private long zeroValue;
+    private final float loadFactor;
+
+    public LongLongMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                    initialCapacity);
+        if (initialCapacity > MAXIMUM_CAPACITY)
+            initialCapacity = MAXIMUM_CAPACITY;
+        if (loadFactor <= 0 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                    loadFactor);
+        this.loadFactor = loadFactor;
+        allocate(MyHashMap.tableSizeFor(Math.max(initialCapacity, 2)));
+    }
+
+    public LongLongMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongLongMap() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long get(long key) {
+        return getOrDefault(key, NO_ENTRY_VALUE);
+    }
+
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == 0)
+            return hasZeroKey ? zeroValue : defaultValue;
+        final long[] ks = keys;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            long k;
+            if ((k = ks[i]) == key)
+                return values[i];
+            if (k == 0)
+                return defaultValue;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0)
+            return hasZeroKey;
+        final long[] ks = keys;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            long k;
+            if ((k = ks[i]) == key)
+                return true;
+            if (k == 0)
+                return false;
+        }
+    }
+
+    public long put(long key, long value) {
+        if (key == 0) {
+            long oldValue = zeroValue;
+            zeroValue = value;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                ++size;
+            }
+            return oldValue;
+        }
+        final long[] ks = keys;
+        int i = mix(key) & mask;
+        for (long k; (k = ks[i]) != 0; i = (i + 1) & mask) {
+            if (k == key) { // existing mapping for key
+                long oldValue = values[i];
+                values[i] = value;
+                return oldValue;
+            }
+        }
+        ks[i] = key;
+        values[i] = value;
+        if (++size > threshold)
+            resize();
+        return NO_ENTRY_VALUE;
+    }
+
+    /*
+     * Adds delta to the value of key, treating an absent key as 0, and
+     * returns the new value. One probe instead of a get followed by a put.
+     */
+    public long addTo(long key, long delta) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                ++size;
+            }
+            return zeroValue += delta;
+        }
+        final long[] ks = keys;
+        int i = mix(key) & mask;
+        for (long k; (k = ks[i]) != 0; i = (i + 1) & mask) {
+            if (k == key)
+                return values[i] += delta;
+        }
+        ks[i] = key;
+        values[i] = delta;
+        if (++size > threshold)
+            resize();
+        return delta;
+    }
+
+    public long remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey)
+                return NO_ENTRY_VALUE;
+            long oldValue = zeroValue;
+            hasZeroKey = false;
+            zeroValue = 0;
+            --size;
+            return oldValue;
+        }
+        final long[] ks = keys;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            long k;
+            if ((k = ks[i]) == key) {
+                long oldValue = values[i];
+                shiftKeys(i);
+                --size;
+                return oldValue;
+            }
+            if (k == 0)
+                return NO_ENTRY_VALUE;
+        }
+    }
+
+    private void shiftKeys(int pos) {
+        final long[] ks = keys;
+        for (int last; ; ) {
+            pos = ((last = pos) + 1) & mask;
+            long k;
+            for (; ; pos = (pos + 1) & mask) {
+                if ((k = ks[pos]) == 0) {
+                    ks[last] = 0;
+                    return;
+                }
+                int slot = mix(k) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos)
+                    break;
+            }
+            ks[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        threshold = (int) Math.min((float) capacity * loadFactor, (float) (capacity - 1));
+    }
+
+    private void resize() {
+        long[] oldKeys = keys, oldValues = values;
+        if (oldKeys.length >= MAXIMUM_CAPACITY) {
+            if (size >= oldKeys.length)
+                throw new IllegalStateException("Map is full: " + size);
+            threshold = oldKeys.length - 1;
+            return;
+        }
+        allocate(oldKeys.length << 1);
+        final long[] ks = keys;
+        for (int j = 0; j < oldKeys.length; ++j) {
+            long k;
+            if ((k = oldKeys[j]) != 0) {
+                int i = mix(k) & mask;
+                while (ks[i] != 0)
+                    i = (i + 1) & mask;
+                ks[i] = k;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) return "{}";
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        if (hasZeroKey) {
+            sb.append(0).append("=").append(zeroValue);
+            first = false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                if (!first) sb.append(", ");
+                sb.append(keys[i]).append("=").append(values[i]);
+                first = false;
+            }
+        }
+        return sb.append("}").toString();
+    }
+}
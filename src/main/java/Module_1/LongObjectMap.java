@@ -0,0 +1,208 @@
+package Module_1;
+
+/*
+ * long -> Object map without boxing. Keys live in a long[] probed linearly,
+ * with 0 marking a free slot; the real key 0 is kept out of line in
+ * hasZeroKey/zeroValue. Removal shifts the following run back instead of
+ * leaving tombstones.
+ */
+public class LongObjectMap<V> {
+    static final int DEFAULT_INITIAL_CAPACITY = MyHashMap.DEFAULT_INITIAL_CAPACITY;
+    static final int MAXIMUM_CAPACITY = MyHashMap.MAXIMUM_CAPACITY;
+    static final float DEFAULT_LOAD_FACTOR = MyHashMap.DEFAULT_LOAD_FACTOR;
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    private long[] keys;
+    private V[] values;
+    private int mask;
+    private int size;
+    private int threshold;
+    private boolean hasZeroKey;
+    private V zeroValue;
+    private final float loadFactor;
+
+    public LongObjectMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                    initialCapacity);
+        if (initialCapacity > MAXIMUM_CAPACITY)
+            initialCapacity = MAXIMUM_CAPACITY;
+        if (loadFactor <= 0 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                    loadFactor);
+        this.loadFactor = loadFactor;
+        allocate(MyHashMap.tableSizeFor(Math.max(initialCapacity, 2)));
+    }
+
+    public LongObjectMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongObjectMap() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public V get(long key) {
+        if (key == 0)
+            return zeroValue;
+        final long[] ks = keys;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            long k;
+            if ((k = ks[i]) == key)
+                return values[i];
+            if (k == 0)
+                return null;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0)
+            return hasZeroKey;
+        final long[] ks = keys;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            long k;
+            if ((k = ks[i]) == key)
+                return true;
+            if (k == 0)
+                return false;
+        }
+    }
+
+    public V put(long key, V value) {
+        if (key == 0) {
+            V oldValue = zeroValue;
+            zeroValue = value;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                ++size;
+            }
+            return oldValue;
+        }
+        final long[] ks = keys;
+        int i = mix(key) & mask;
+        for (long k; (k = ks[i]) != 0; i = (i + 1) & mask) {
+            if (k == key) { // existing mapping for key
+                V oldValue = values[i];
+                values[i] = value;
+                return oldValue;
+            }
+        }
+        ks[i] = key;
+        values[i] = value;
+        if (++size > threshold)
+            resize();
+        return null;
+    }
+
+    public V remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey)
+                return null;
+            V oldValue = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            --size;
+            return oldValue;
+        }
+        final long[] ks = keys;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            long k;
+            if ((k = ks[i]) == key) {
+                V oldValue = values[i];
+                shiftKeys(i);
+                --size;
+                return oldValue;
+            }
+            if (k == 0)
+                return null;
+        }
+    }
+
+    /*
+     * Closes the gap at pos by moving back every later entry of the same
+     * probe run whose home slot is not between the gap and its position.
+     */
+    private void shiftKeys(int pos) {
+        final long[] ks = keys;
+        for (int last; ; ) {
+            pos = ((last = pos) + 1) & mask;
+            long k;
+            for (; ; pos = (pos + 1) & mask) {
+                if ((k = ks[pos]) == 0) {
+                    ks[last] = 0;
+                    values[last] = null;
+                    return;
+                }
+                int slot = mix(k) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos)
+                    break;
+            }
+            ks[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = (V[]) new Object[capacity];
+        mask = capacity - 1;
+        // keep at least one free slot so that every probe terminates
+        threshold = (int) Math.min((float) capacity * loadFactor, (float) (capacity - 1));
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        V[] oldValues = values;
+        if (oldKeys.length >= MAXIMUM_CAPACITY) {
+            if (size >= oldKeys.length)
+                throw new IllegalStateException("Map is full: " + size);
+            threshold = oldKeys.length - 1;
+            return;
+        }
+        allocate(oldKeys.length << 1);
+        final long[] ks = keys;
+        for (int j = 0; j < oldKeys.length; ++j) {
+            long k;
+            if ((k = oldKeys[j]) != 0) {
+                int i = mix(k) & mask;
+                while (ks[i] != 0)
+                    i = (i + 1) & mask;
+                ks[i] = k;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) return "{}";
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        if (hasZeroKey) {
+            sb.append(0).append("=").append(zeroValue);
+            first = false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                if (!first) sb.append(", ");
+                sb.append(keys[i]).append("=").append(values[i]);
+                first = false;
+            }
+        }
+        return sb.append("}").toString();
+    }
+}
@@ -0,0 +1,679 @@
+package Module_1;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32C;
+
+/*
+ * Durable map in the style of Bitcask. Every put and remove appends a record
+ * to the active segment file, which is memory-mapped (FileChannel.map), and
+ * an in-memory key directory (a MyHashMap) points each live key at its
+ * latest record, so a get is one hash lookup and one read from the mapping.
+ *
+ * Records have a fixed width (OffHeapCodec): [int crc][byte type][long seq]
+ * [key bytes][value bytes]. The crc covers everything after it, and a zero
+ * type marks the unused, zero-filled tail of a segment. Records carry a
+ * sequence number, so the newest one for a key wins on reopen whatever
+ * segment it is in.
+ *
+ * A full segment is sealed and gets a hint file: type, seq, record index and
+ * key of each record, without the values. Reopening maps the segments and
+ * loads the hints; only segments without a valid hint are scanned. If the
+ * newest segment still has room it becomes the active one again, so a map
+ * that is opened and closed often does not pile up mostly empty segments.
+ *
+ * compact() copies the live records of all sealed segments into new ones and
+ * deletes the old ones. It runs in the background once the dead share of the
+ * sealed records reaches the compaction threshold, while reads and writes go
+ * on. The old segments are only dropped after a manifest naming them has been
+ * renamed into place, so a crash never leaves an old record without the
+ * tombstone that shadowed it.
+ */
+public class MyBitcaskMap<K, V> implements AutoCloseable {
+    static final int DEFAULT_SEGMENT_BYTES = 64 << 20;
+    static final int MAX_SEGMENT_BYTES = 1 << 30;
+    static final float DEFAULT_COMPACTION_THRESHOLD = 0.5f;
+
+    static final byte PUT = 1;
+    static final byte TOMBSTONE = 2;
+    static final int TYPE_OFFSET = Integer.BYTES;
+    static final int SEQ_OFFSET = TYPE_OFFSET + 1;
+    static final int KEY_OFFSET = SEQ_OFFSET + Long.BYTES;
+    static final int HINT_KEY_OFFSET = 1 + Long.BYTES + Integer.BYTES;
+
+    static final String DATA_SUFFIX = ".data";
+    static final String HINT_SUFFIX = ".hint";
+    static final String MANIFEST = "merge.manifest";
+
+    private final Path dir;
+    private final OffHeapCodec<K> keyCodec;
+    private final OffHeapCodec<V> valueCodec;
+    private final int keyWidth;
+    private final int recordSize;
+    private final int segmentBytes;
+    private final float compactionThreshold;
+
+    // key -> segment id << 32 | record index
+    private final MyHashMap<K, Long> keyDir = new MyHashMap<>();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final CRC32C crc = new CRC32C(); // used under the write lock
+
+    private ExecutorService compactor;
+    private Segment active;
+    private int nextSegmentId;
+    private long nextSeq;
+    private boolean closed;
+
+    static final class Segment {
+        final int id;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final int capacity; // records
+        int count;
+        int dead;
+
+        Segment(int id, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+            this.id = id;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+    }
+
+    public MyBitcaskMap(Path dir, OffHeapCodec<K> keyCodec, OffHeapCodec<V> valueCodec,
+                        int segmentBytes, float compactionThreshold) {
+        if (dir == null || keyCodec == null || valueCodec == null)
+            throw new NullPointerException("Directory and codecs must not be null");
+        this.recordSize = KEY_OFFSET + keyCodec.width() + valueCodec.width();
+        if (segmentBytes < recordSize || segmentBytes > MAX_SEGMENT_BYTES)
+            throw new IllegalArgumentException("Illegal segment size: " +
+                    segmentBytes);
+        if (!(compactionThreshold > 0 && compactionThreshold <= 1))
+            throw new IllegalArgumentException("Illegal compaction threshold: " +
+                    compactionThreshold);
+        this.dir = dir;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.keyWidth = keyCodec.width();
+        this.segmentBytes = segmentBytes;
+        this.compactionThreshold = compactionThreshold;
+        try {
+            Files.createDirectories(dir);
+            load();
+            active = reopenLastSegment();
+            if (active == null)
+                active = createSegment();
+        } catch (IOException e) {
+            closeSegments();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public MyBitcaskMap(Path dir, OffHeapCodec<K> keyCodec, OffHeapCodec<V> valueCodec) {
+        this(dir, keyCodec, valueCodec, DEFAULT_SEGMENT_BYTES, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return keyDir.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public V get(K key) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            Long loc = keyDir.get(key);
+            return loc == null ? null : readValue(loc);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean containsKey(K key) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            return keyDir.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public V put(K key, V value) {
+        if (key == null || value == null)
+            throw new NullPointerException("Null keys and values are not supported");
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            Long old = keyDir.get(key);
+            V oldValue = old == null ? null : readValue(old);
+            keyDir.put(key, append(PUT, key, value));
+            if (old != null)
+                markDead(old);
+            return oldValue;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public V remove(K key) {
+        if (key == null)
+            throw new NullPointerException("Null keys are not supported");
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            Long old = keyDir.get(key);
+            if (old == null)
+                return null;
+            V oldValue = readValue(old);
+            markDead(append(TOMBSTONE, key, null)); // only there to shadow old
+            keyDir.remove(key);
+            markDead(old);
+            return oldValue;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            keyDir.forEach((k, loc) -> action.accept(k, readValue(loc)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // flushes the active segment to disk; sealed segments already are
+    public void sync() {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            active.buffer.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Copies the live records of all sealed segments into new segments and
+     * deletes the old ones. Returns false if a compaction was already running.
+     */
+    public boolean compact() {
+        if (!compacting.compareAndSet(false, true))
+            return false;
+        try {
+            doCompact();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    public CompletableFuture<Boolean> compactAsync() {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            if (compactor == null)
+                compactor = Executors.newSingleThreadExecutor(r -> {
+                    Thread t = new Thread(r, "bitcask-compaction-" + dir.getFileName());
+                    t.setDaemon(true);
+                    return t;
+                });
+            return CompletableFuture.supplyAsync(this::compact, compactor);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Waits for a running background compaction, writes the hint of the
+     * active segment (or drops it if empty) and unmaps everything. The next
+     * open goes on appending to it while it has room.
+     */
+    @Override
+    public void close() {
+        ExecutorService c;
+        lock.writeLock().lock();
+        try {
+            if (closed)
+                return;
+            c = compactor;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (c != null) {
+            c.shutdown();
+            try {
+                c.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            if (closed)
+                return;
+            closed = true;
+            if (active.count == 0) {
+                segments.remove(active.id);
+                MyOffHeapHashMap.free(active.buffer);
+                active.channel.close();
+                Files.delete(dataPath(active.id));
+            } else {
+                active.buffer.force();
+                writeHint(active);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeSegments();
+            lock.writeLock().unlock();
+        }
+    }
+
+    int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long diskBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Segment s : segments.values()) // a reopened segment keeps its own size
+                bytes += s.buffer.capacity();
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed)
+            throw new IllegalStateException("Map is closed");
+    }
+
+    private static long location(int segmentId, int index) {
+        return (long) segmentId << 32 | index;
+    }
+
+    private int offset(int index) {
+        return index * recordSize;
+    }
+
+    private Segment segmentOf(long loc) {
+        return segments.get((int) (loc >>> 32));
+    }
+
+    private V readValue(long loc) {
+        Segment s = segmentOf(loc);
+        return valueCodec.read(s.buffer, offset((int) loc) + KEY_OFFSET + keyWidth);
+    }
+
+    private long seqOf(long loc) {
+        Segment s = segmentOf(loc);
+        return s.buffer.getLong(offset((int) loc) + SEQ_OFFSET);
+    }
+
+    private void markDead(long loc) {
+        Segment s = segmentOf(loc);
+        if (s != null)
+            s.dead++;
+    }
+
+    private long append(byte type, K key, V value) {
+        if (active.count == active.capacity)
+            rollSegment();
+        Segment s = active;
+        int index = s.count;
+        int off = offset(index);
+        ByteBuffer b = s.buffer;
+        b.put(off + TYPE_OFFSET, type);
+        b.putLong(off + SEQ_OFFSET, nextSeq++);
+        keyCodec.write(b, off + KEY_OFFSET, key);
+        if (value != null)
+            valueCodec.write(b, off + KEY_OFFSET + keyWidth, value);
+        else
+            for (int i = off + KEY_OFFSET + keyWidth; i < off + recordSize; i++)
+                b.put(i, (byte) 0);
+        b.putInt(off, checksum(b, off));
+        s.count++;
+        return location(s.id, index);
+    }
+
+    private int checksum(ByteBuffer b, int off) {
+        crc.reset();
+        crc.update(b.slice(off + TYPE_OFFSET, recordSize - TYPE_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private void rollSegment() {
+        try {
+            active.buffer.force();
+            writeHint(active);
+            active = createSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (deadRatio() >= compactionThreshold && !compacting.get())
+            compactAsync();
+    }
+
+    // dead share of the records in the sealed segments
+    private float deadRatio() {
+        long total = 0, dead = 0;
+        for (Segment s : segments.values())
+            if (s != active) {
+                total += s.count;
+                dead += s.dead;
+            }
+        return total == 0 ? 0f : (float) dead / total;
+    }
+
+    private Path dataPath(int id) {
+        return dir.resolve(String.format("%08d", id) + DATA_SUFFIX);
+    }
+
+    private Path hintPath(int id) {
+        return dir.resolve(String.format("%08d", id) + HINT_SUFFIX);
+    }
+
+    /*
+     * The newest segment, if it has room for more records. Its hint is
+     * deleted first: appending would make it stale, and a stale hint would
+     * hide the newer records on the next open. Until close() writes a new
+     * one, a crash only means the segment is scanned.
+     */
+    private Segment reopenLastSegment() throws IOException {
+        if (segments.isEmpty())
+            return null;
+        Segment last = segments.lastEntry().getValue();
+        if (last.count == last.capacity)
+            return null;
+        Files.deleteIfExists(hintPath(last.id));
+        return last;
+    }
+
+    private Segment createSegment() throws IOException {
+        Segment s = openSegment(nextSegmentId++, segmentBytes);
+        segments.put(s.id, s);
+        return s;
+    }
+
+    private Segment openSegment(int id, long bytes) throws IOException {
+        FileChannel ch = FileChannel.open(dataPath(id), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = Math.max(ch.size(), bytes);
+            if (size > MAX_SEGMENT_BYTES)
+                throw new IOException("Segment too large: " + dataPath(id));
+            return new Segment(id, ch, ch.map(FileChannel.MapMode.READ_WRITE, 0, size),
+                    (int) (size / recordSize));
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    private void closeSegments() {
+        for (Segment s : segments.values()) {
+            MyOffHeapHashMap.free(s.buffer);
+            try {
+                s.channel.close();
+            } catch (IOException e) {
+                // nothing was written through the channel itself
+            }
+        }
+        segments.clear();
+        keyDir.clear();
+    }
+
+    /*
+     * Hint file: per record [byte type][long seq][int index][key bytes],
+     * then [int count][int crc of everything before].
+     */
+    private void writeHint(Segment s) throws IOException {
+        int entry = HINT_KEY_OFFSET + keyWidth;
+        ByteBuffer hint = ByteBuffer.allocate(s.count * entry + 2 * Integer.BYTES);
+        for (int i = 0; i < s.count; i++) {
+            int off = offset(i);
+            hint.put(s.buffer.get(off + TYPE_OFFSET));
+            hint.putLong(s.buffer.getLong(off + SEQ_OFFSET));
+            hint.putInt(i);
+            hint.put(s.buffer.slice(off + KEY_OFFSET, keyWidth));
+        }
+        hint.putInt(s.count);
+        CRC32C c = new CRC32C();
+        c.update(hint.array(), 0, hint.position());
+        hint.putInt((int) c.getValue());
+        hint.flip();
+
+        Path tmp = dir.resolve(hintPath(s.id).getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (hint.hasRemaining())
+                ch.write(hint);
+            ch.force(true);
+        }
+        Files.move(tmp, hintPath(s.id), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void load() throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path p : files) {
+                String name = p.getFileName().toString();
+                if (name.endsWith(".tmp"))
+                    Files.delete(p); // unfinished hint or manifest
+                else if (name.endsWith(DATA_SUFFIX))
+                    ids.add(Integer.parseInt(name.substring(0, name.length() - DATA_SUFFIX.length())));
+            }
+        }
+        Path manifest = dir.resolve(MANIFEST);
+        if (Files.exists(manifest)) { // a compaction got as far as its commit
+            for (String line : Files.readAllLines(manifest)) {
+                int id = Integer.parseInt(line.trim());
+                Files.deleteIfExists(dataPath(id));
+                Files.deleteIfExists(hintPath(id));
+                ids.remove(Integer.valueOf(id));
+            }
+            Files.delete(manifest);
+        }
+        ids.sort(null);
+
+        MyHashMap<K, Long> deletedSeqs = new MyHashMap<>();
+        for (int id : ids) {
+            Segment s = openSegment(id, 0);
+            segments.put(id, s);
+            nextSegmentId = id + 1;
+            if (!loadHint(s, deletedSeqs))
+                scan(s, deletedSeqs);
+        }
+    }
+
+    private boolean loadHint(Segment s, MyHashMap<K, Long> deletedSeqs) throws IOException {
+        Path path = hintPath(s.id);
+        if (!Files.exists(path))
+            return false;
+        int entry = HINT_KEY_OFFSET + keyWidth;
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < 2 * Integer.BYTES || (size - 2 * Integer.BYTES) % entry != 0)
+                return false;
+            MappedByteBuffer hint = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            try {
+                int body = (int) size - 2 * Integer.BYTES;
+                int count = hint.getInt(body);
+                CRC32C c = new CRC32C();
+                c.update(hint.slice(0, body + Integer.BYTES));
+                if (count != body / entry || count > s.capacity ||
+                        hint.getInt(body + Integer.BYTES) != (int) c.getValue())
+                    return false;
+                for (int i = 0; i < count; i++) {
+                    int off = i * entry;
+                    apply(s, hint.getInt(off + 1 + Long.BYTES), hint.get(off),
+                            hint.getLong(off + 1), keyCodec.read(hint, off + HINT_KEY_OFFSET),
+                            deletedSeqs);
+                }
+                s.count = count;
+                return true;
+            } finally {
+                MyOffHeapHashMap.free(hint);
+            }
+        }
+    }
+
+    // reads records up to the zero-filled tail or the first torn one
+    private void scan(Segment s, MyHashMap<K, Long> deletedSeqs) {
+        int i = 0;
+        for (; i < s.capacity; i++) {
+            int off = offset(i);
+            byte type = s.buffer.get(off + TYPE_OFFSET);
+            if ((type != PUT && type != TOMBSTONE) || s.buffer.getInt(off) != checksum(s.buffer, off))
+                break;
+            apply(s, i, type, s.buffer.getLong(off + SEQ_OFFSET),
+                    keyCodec.read(s.buffer, off + KEY_OFFSET), deletedSeqs);
+        }
+        s.count = i;
+    }
+
+    private void apply(Segment s, int index, byte type, long seq, K key,
+                       MyHashMap<K, Long> deletedSeqs) {
+        long loc = location(s.id, index);
+        nextSeq = Math.max(nextSeq, seq + 1);
+        Long cur = keyDir.get(key);
+        if (type == TOMBSTONE) {
+            s.dead++;
+            if (cur != null && seqOf(cur) < seq) {
+                keyDir.remove(key);
+                markDead(cur);
+            }
+            deletedSeqs.merge(key, seq, Math::max);
+            return;
+        }
+        Long deletedAt = deletedSeqs.get(key);
+        if ((deletedAt != null && deletedAt > seq) || (cur != null && seqOf(cur) > seq)) {
+            s.dead++;
+            return;
+        }
+        keyDir.put(key, loc);
+        if (cur != null)
+            markDead(cur);
+    }
+
+    private void doCompact() throws IOException {
+        List<Segment> inputs = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            for (Segment s : segments.values())
+                if (s != active)
+                    inputs.add(s);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (inputs.isEmpty())
+            return;
+
+        List<Segment> outputs = new ArrayList<>();
+        Segment out = null;
+        for (Segment in : inputs) {
+            for (int i = 0; i < in.count; i++) {
+                int off = offset(i);
+                lock.writeLock().lock(); // taken per record so writers can go on
+                try {
+                    ensureOpen();
+                    if (in.buffer.get(off + TYPE_OFFSET) != PUT)
+                        continue;
+                    K key = keyCodec.read(in.buffer, off + KEY_OFFSET);
+                    Long loc = keyDir.get(key);
+                    if (loc == null || loc != location(in.id, i))
+                        continue;
+                    if (out == null || out.count == out.capacity) {
+                        if (out != null)
+                            seal(out);
+                        out = createSegment();
+                        outputs.add(out);
+                    }
+                    out.buffer.put(offset(out.count), in.buffer, off, recordSize);
+                    keyDir.put(key, location(out.id, out.count++));
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            if (out != null)
+                seal(out);
+            commitCompaction(inputs);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void seal(Segment s) throws IOException {
+        s.buffer.force();
+        writeHint(s);
+    }
+
+    private void commitCompaction(List<Segment> inputs) throws IOException {
+        StringBuilder ids = new StringBuilder();
+        for (Segment s : inputs)
+            ids.append(s.id).append('\n');
+        Path manifest = dir.resolve(MANIFEST);
+        Path tmp = dir.resolve(MANIFEST + ".tmp");
+        Files.writeString(tmp, ids);
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ch.force(true);
+        }
+        Files.move(tmp, manifest, StandardCopyOption.ATOMIC_MOVE);
+
+        for (Segment s : inputs) {
+            segments.remove(s.id);
+            MyOffHeapHashMap.free(s.buffer);
+            s.channel.close();
+            Files.deleteIfExists(dataPath(s.id));
+            Files.deleteIfExists(hintPath(s.id));
+        }
+        Files.delete(manifest);
+    }
+}
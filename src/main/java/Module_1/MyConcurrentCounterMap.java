@@ -0,0 +1,120 @@
+package Module_1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/*
+ * Thread-safe counters per key, for map.put(k, map.get(k) + 1) style code.
+ * Each key gets a LongAdder in a MyConcurrentHashMap, so counting a key that
+ * is already present is one lookup and no allocation, and threads hitting the
+ * same hot key spread over the adder's cells instead of fighting over one.
+ *
+ * Reads (sum, total, topK) are not atomic snapshots: increments that run at
+ * the same time may or may not be included. Increments racing with remove of
+ * the same key may be lost with the removed counter.
+ */
+public class MyConcurrentCounterMap<K> {
+
+    private final MyConcurrentHashMap<K, LongAdder> counters;
+
+    public MyConcurrentCounterMap(int initialCapacity) {
+        counters = new MyConcurrentHashMap<>(initialCapacity);
+    }
+
+    public MyConcurrentCounterMap() {
+        counters = new MyConcurrentHashMap<>();
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    public void increment(K key) {
+        counter(key).increment();
+    }
+
+    public void decrement(K key) {
+        counter(key).decrement();
+    }
+
+    public void add(K key, long delta) {
+        counter(key).add(delta);
+    }
+
+    // 0 for keys never counted
+    public long sum(K key) {
+        LongAdder a = counters.get(key);
+        return a == null ? 0L : a.sum();
+    }
+
+    public boolean containsKey(K key) {
+        return counters.containsKey(key);
+    }
+
+    // drops the key and returns its last count
+    public long remove(K key) {
+        LongAdder a = counters.remove(key);
+        return a == null ? 0L : a.sum();
+    }
+
+    public long total() {
+        long[] total = {0L};
+        counters.forEach((k, a) -> total[0] += a.sum());
+        return total[0];
+    }
+
+    public void forEach(BiConsumer<? super K, ? super Long> action) {
+        counters.forEach((k, a) -> action.accept(k, a.sum()));
+    }
+
+    /*
+     * The k keys with the highest counts, highest first; ties in no
+     * particular order. Keeps a min-heap of k entries, so it costs
+     * O(size log k) time and O(k) memory.
+     */
+    public List<Map.Entry<K, Long>> topK(int k) {
+        if (k < 0)
+            throw new IllegalArgumentException("Illegal k: " + k);
+        if (k == 0)
+            return List.of();
+        PriorityQueue<Map.Entry<K, Long>> heap =
+                new PriorityQueue<>(Math.min(k, 1024), Map.Entry.comparingByValue());
+        counters.forEach((key, a) -> {
+            long n = a.sum();
+            if (heap.size() < k)
+                heap.add(Map.entry(key, n));
+            else if (heap.peek().getValue() < n) {
+                heap.poll();
+                heap.add(Map.entry(key, n));
+            }
+        });
+        List<Map.Entry<K, Long>> top = new ArrayList<>(heap);
+        top.sort(Collections.reverseOrder(Map.Entry.comparingByValue()));
+        return top;
+    }
+
+    private LongAdder counter(K key) {
+        LongAdder a = counters.get(key);
+        if (a == null) {
+            LongAdder created = new LongAdder();
+            a = counters.putIfAbsent(key, created);
+            if (a == null)
+                a = created;
+        }
+        return a;
+    }
+
+    @Override
+    public String toString() {
+        return counters.toString();
+    }
+}
@@ -0,0 +1,560 @@
+package Module_1;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+public class MyConcurrentHashMap<K, V> {
+    static final int DEFAULT_INITIAL_CAPACITY = MyHashMap.DEFAULT_INITIAL_CAPACITY;
+    static final int MAXIMUM_CAPACITY = MyHashMap.MAXIMUM_CAPACITY;
+    static final float DEFAULT_LOAD_FACTOR = MyHashMap.DEFAULT_LOAD_FACTOR;
+
+    private static final int MIN_TRANSFER_STRIDE = 16;
+    private static final int RESIZE_STAMP_BITS = 16;
+    private static final int MAX_RESIZERS = (1 << (32 - RESIZE_STAMP_BITS)) - 1;
+    private static final int RESIZE_STAMP_SHIFT = 32 - RESIZE_STAMP_BITS;
+
+    static final int MOVED = -1; // hash for forwarding nodes
+    static final int HASH_BITS = 0x7fffffff; // usable bits of normal node hash
+    static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        public final K getKey() {
+            return key;
+        }
+
+        public final V getValue() {
+            return value;
+        }
+
+        public final String toString() {
+            return key + "=" + value;
+        }
+
+        Node<K, V> find(int h, Object k) {
+            Node<K, V> e = this;
+            if (k != null) {
+                do {
+                    K ek;
+                    if (e.hash == h &&
+                            ((ek = e.key) == k || (ek != null && k.equals(ek))))
+                        return e;
+                } while ((e = e.next) != null);
+            }
+            return null;
+        }
+    }
+
+    /*
+     * Placed at the head of a bin that has already been moved to nextTable.
+     * Readers that hit it continue the lookup in the new table, writers help
+     * finish the transfer before retrying.
+     */
+    static final class ForwardingNode<K, V> extends Node<K, V> {
+        final Node<K, V>[] nextTable;
+
+        ForwardingNode(Node<K, V>[] tab) {
+            super(MOVED, null, null, null);
+            this.nextTable = tab;
+        }
+
+        @Override
+        Node<K, V> find(int h, Object k) {
+            // loop to avoid arbitrarily deep recursion on forwarding nodes
+            outer:
+            for (Node<K, V>[] tab = nextTable; ; ) {
+                Node<K, V> e; int n;
+                if (k == null || tab == null || (n = tab.length) == 0 ||
+                        (e = tabAt(tab, (n - 1) & h)) == null)
+                    return null;
+                for (; ; ) {
+                    int eh; K ek;
+                    if ((eh = e.hash) == h &&
+                            ((ek = e.key) == k || (ek != null && k.equals(ek))))
+                        return e;
+                    if (eh < 0) {
+                        if (e instanceof ForwardingNode<K, V> f) {
+                            tab = f.nextTable;
+                            continue outer;
+                        }
+                        else
+                            return e.find(h, k);
+                    }
+                    if ((e = e.next) == null)
+                        return null;
+                }
+            }
+        }
+    }
+
+    static int spread(int h) {
+        return (h ^ (h >>> 16)) & HASH_BITS;
+    }
+
+    static int resizeStamp(int n) {
+        return Integer.numberOfLeadingZeros(n) | (1 << (RESIZE_STAMP_BITS - 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> Node<K, V> tabAt(Node<K, V>[] tab, int i) {
+        return (Node<K, V>) TAB.getAcquire(tab, i);
+    }
+
+    static <K, V> boolean casTabAt(Node<K, V>[] tab, int i,
+                                   Node<K, V> c, Node<K, V> v) {
+        return TAB.compareAndSet(tab, i, c, v);
+    }
+
+    static <K, V> void setTabAt(Node<K, V>[] tab, int i, Node<K, V> v) {
+        TAB.setRelease(tab, i, v);
+    }
+
+    private transient volatile Node<K, V>[] table;
+    private transient volatile Node<K, V>[] nextTable;
+    private transient volatile long baseCount;
+    private final transient LongAdder counterCells = new LongAdder();
+
+    /*
+     * Table initialization and resizing control. When negative, the table is
+     * being initialized (-1) or resized: the high bits then hold the resize
+     * stamp of the old length and the low bits the number of active resizers
+     * plus one. Otherwise it holds the initial capacity, or, once the table
+     * exists, the element count at which the next resize starts.
+     */
+    private transient volatile int sizeCtl;
+    private transient volatile int transferIndex; // next bin (exclusive) to hand out during resize
+
+    public MyConcurrentHashMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                    initialCapacity);
+        if (loadFactor <= 0 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                    loadFactor);
+        long size = (long) (1.0 + (long) initialCapacity / loadFactor);
+        this.sizeCtl = (size >= (long) MAXIMUM_CAPACITY) ?
+                MAXIMUM_CAPACITY : MyHashMap.tableSizeFor((int) size);
+    }
+
+    public MyConcurrentHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public MyConcurrentHashMap() {
+        this.sizeCtl = DEFAULT_INITIAL_CAPACITY;
+    }
+
+    public int size() {
+        long n = sumCount();
+        return (n < 0L) ? 0 :
+                (n > (long) Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int) n;
+    }
+
+    public boolean isEmpty() {
+        return sumCount() <= 0L;
+    }
+
+    public V get(Object key) {
+        Node<K, V>[] tab; Node<K, V> e, p; int n, eh; K ek;
+        int h = spread(key.hashCode());
+        if ((tab = table) != null && (n = tab.length) > 0 &&
+                (e = tabAt(tab, (n - 1) & h)) != null) {
+            if ((eh = e.hash) == h) {
+                if ((ek = e.key) == key || (ek != null && key.equals(ek)))
+                    return e.value;
+            }
+            else if (eh < 0)
+                return (p = e.find(h, key)) != null ? p.value : null;
+            while ((e = e.next) != null) {
+                if (e.hash == h &&
+                        ((ek = e.key) == key || (ek != null && key.equals(ek))))
+                    return e.value;
+            }
+        }
+        return null;
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    public V put(K key, V value) {
+        return putVal(key, value, false);
+    }
+
+    public V putIfAbsent(K key, V value) {
+        return putVal(key, value, true);
+    }
+
+    private V putVal(K key, V value, boolean onlyIfAbsent) {
+        if (key == null || value == null)
+            throw new NullPointerException();
+        int hash = spread(key.hashCode());
+        int binCount = 0;
+        for (Node<K, V>[] tab = table; ; ) {
+            Node<K, V> f; int n, i, fh; K fk; V fv;
+            if (tab == null || (n = tab.length) == 0)
+                tab = initTable();
+            else if ((f = tabAt(tab, i = (n - 1) & hash)) == null) {
+                if (casTabAt(tab, i, null, new Node<>(hash, key, value, null)))
+                    break; // no lock when adding to empty bin
+            }
+            else if ((fh = f.hash) == MOVED)
+                tab = helpTransfer(tab, f);
+            else if (onlyIfAbsent // check first node without acquiring lock
+                    && fh == hash
+                    && ((fk = f.key) == key || (fk != null && key.equals(fk)))
+                    && (fv = f.value) != null)
+                return fv;
+            else {
+                V oldValue = null;
+                synchronized (f) {
+                    if (tabAt(tab, i) == f) {
+                        binCount = 1;
+                        for (Node<K, V> e = f; ; ++binCount) {
+                            K ek;
+                            if (e.hash == hash &&
+                                    ((ek = e.key) == key ||
+                                            (ek != null && key.equals(ek)))) {
+                                oldValue = e.value;
+                                if (!onlyIfAbsent)
+                                    e.value = value;
+                                break;
+                            }
+                            Node<K, V> pred = e;
+                            if ((e = e.next) == null) {
+                                pred.next = new Node<>(hash, key, value, null);
+                                break;
+                            }
+                        }
+                    }
+                }
+                if (binCount != 0) {
+                    if (oldValue != null)
+                        return oldValue;
+                    break;
+                }
+            }
+        }
+        addCount(1L, binCount);
+        return null;
+    }
+
+    public V remove(Object key) {
+        return replaceNode(key, null, null);
+    }
+
+    public boolean remove(Object key, Object value) {
+        if (key == null)
+            throw new NullPointerException();
+        return value != null && replaceNode(key, null, value) != null;
+    }
+
+    /*
+     * Replaces the value of the node for key with value, or removes the node
+     * if value is null. When cv is non-null the update only happens if the
+     * current value equals cv.
+     */
+    private V replaceNode(Object key, V value, Object cv) {
+        int hash = spread(key.hashCode());
+        for (Node<K, V>[] tab = table; ; ) {
+            Node<K, V> f; int n, i, fh;
+            if (tab == null || (n = tab.length) == 0 ||
+                    (f = tabAt(tab, i = (n - 1) & hash)) == null)
+                break;
+            else if ((fh = f.hash) == MOVED)
+                tab = helpTransfer(tab, f);
+            else {
+                V oldValue = null;
+                boolean validated = false;
+                synchronized (f) {
+                    if (tabAt(tab, i) == f) {
+                        validated = true;
+                        for (Node<K, V> e = f, pred = null; ; ) {
+                            K ek;
+                            if (e.hash == hash &&
+                                    ((ek = e.key) == key ||
+                                            (ek != null && key.equals(ek)))) {
+                                V ev = e.value;
+                                if (cv == null || cv == ev ||
+                                        (ev != null && cv.equals(ev))) {
+                                    oldValue = ev;
+                                    if (value != null)
+                                        e.value = value;
+                                    else if (pred != null)
+                                        pred.next = e.next;
+                                    else
+                                        setTabAt(tab, i, e.next);
+                                }
+                                break;
+                            }
+                            pred = e;
+                            if ((e = e.next) == null)
+                                break;
+                        }
+                    }
+                }
+                if (validated) {
+                    if (oldValue != null) {
+                        if (value == null)
+                            addCount(-1L, -1);
+                        return oldValue;
+                    }
+                    break;
+                }
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Weakly consistent traversal: every mapping present for the whole call is
+     * visited exactly once, concurrent updates may or may not be seen.
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null)
+            throw new NullPointerException();
+        Node<K, V>[] tab = table;
+        if (tab != null) {
+            for (int i = 0; i < tab.length; ++i)
+                forEachInBin(tab, i, action);
+        }
+    }
+
+    private void forEachInBin(Node<K, V>[] tab, int i,
+                              BiConsumer<? super K, ? super V> action) {
+        Node<K, V> e = tabAt(tab, i);
+        if (e instanceof ForwardingNode<K, V> f) {
+            // a bin at i is split into i and i + n of the doubled table
+            forEachInBin(f.nextTable, i, action);
+            forEachInBin(f.nextTable, i + tab.length, action);
+            return;
+        }
+        for (; e != null; e = e.next) {
+            V v = e.value;
+            if (v != null)
+                action.accept(e.key, v);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(k).append("=").append(v);
+        });
+        return sb.append("}").toString();
+    }
+
+    private long sumCount() {
+        return baseCount + counterCells.sum();
+    }
+
+    private Node<K, V>[] initTable() {
+        Node<K, V>[] tab; int sc;
+        while ((tab = table) == null || tab.length == 0) {
+            if ((sc = sizeCtl) < 0)
+                Thread.yield(); // lost initialization race; just spin
+            else if (SIZECTL.compareAndSet(this, sc, -1)) {
+                try {
+                    if ((tab = table) == null || tab.length == 0) {
+                        int n = (sc > 0) ? sc : DEFAULT_INITIAL_CAPACITY;
+                        @SuppressWarnings("unchecked")
+                        Node<K, V>[] nt = (Node<K, V>[]) new Node<?, ?>[n];
+                        table = tab = nt;
+                        sc = n - (n >>> 2);
+                    }
+                } finally {
+                    sizeCtl = sc;
+                }
+                break;
+            }
+        }
+        return tab;
+    }
+
+    /*
+     * Adds to the count and, if the table is too small and not already
+     * resizing, initiates a transfer. If already resizing, helps out.
+     * Rechecks occupancy after a transfer to see if another one is needed,
+     * because resizings are lagging additions.
+     */
+    private void addCount(long x, int check) {
+        long b, s;
+        if (!BASECOUNT.compareAndSet(this, b = baseCount, s = b + x)) {
+            counterCells.add(x);
+            if (check <= 1)
+                return; // contended and uncrowded bin; leave the check to others
+            s = sumCount();
+        }
+        if (check >= 0) {
+            Node<K, V>[] tab, nt; int n, sc;
+            while (s >= (long) (sc = sizeCtl) && (tab = table) != null &&
+                    (n = tab.length) < MAXIMUM_CAPACITY) {
+                int rs = resizeStamp(n) << RESIZE_STAMP_SHIFT;
+                if (sc < 0) {
+                    if (sc == rs + MAX_RESIZERS || sc == rs + 1 ||
+                            (nt = nextTable) == null || transferIndex <= 0)
+                        break;
+                    if (SIZECTL.compareAndSet(this, sc, sc + 1))
+                        transfer(tab, nt);
+                }
+                else if (SIZECTL.compareAndSet(this, sc, rs + 2))
+                    transfer(tab, null);
+                s = sumCount();
+            }
+        }
+    }
+
+    private Node<K, V>[] helpTransfer(Node<K, V>[] tab, Node<K, V> f) {
+        Node<K, V>[] nextTab; int sc;
+        if (tab != null && (f instanceof ForwardingNode<K, V> fwd) &&
+                (nextTab = fwd.nextTable) != null) {
+            int rs = resizeStamp(tab.length) << RESIZE_STAMP_SHIFT;
+            while (nextTab == nextTable && table == tab &&
+                    (sc = sizeCtl) < 0) {
+                if (sc == rs + MAX_RESIZERS || sc == rs + 1 ||
+                        transferIndex <= 0)
+                    break;
+                if (SIZECTL.compareAndSet(this, sc, sc + 1)) {
+                    transfer(tab, nextTab);
+                    break;
+                }
+            }
+            return nextTab;
+        }
+        return table;
+    }
+
+    /*
+     * Moves the nodes in each bin to the doubled table. Bins are claimed in
+     * strides of transferIndex from the top down, so every thread that calls
+     * in shares the work; a bin that is done is replaced by a ForwardingNode.
+     * The last thread out rechecks the whole table and publishes the result.
+     */
+    private void transfer(Node<K, V>[] tab, Node<K, V>[] nextTab) {
+        int n = tab.length, stride;
+        if ((stride = (NCPU > 1) ? (n >>> 3) / NCPU : n) < MIN_TRANSFER_STRIDE)
+            stride = MIN_TRANSFER_STRIDE;
+        if (nextTab == null) { // initiating
+            try {
+                @SuppressWarnings("unchecked")
+                Node<K, V>[] nt = (Node<K, V>[]) new Node<?, ?>[n << 1];
+                nextTab = nt;
+            } catch (Throwable ex) { // try to cope with OOME
+                sizeCtl = Integer.MAX_VALUE;
+                return;
+            }
+            nextTable = nextTab;
+            transferIndex = n;
+        }
+        int nextn = nextTab.length;
+        ForwardingNode<K, V> fwd = new ForwardingNode<>(nextTab);
+        boolean advance = true;
+        boolean finishing = false; // to ensure sweep before committing nextTab
+        for (int i = 0, bound = 0; ; ) {
+            Node<K, V> f; int fh;
+            while (advance) {
+                int nextIndex, nextBound;
+                if (--i >= bound || finishing)
+                    advance = false;
+                else if ((nextIndex = transferIndex) <= 0) {
+                    i = -1;
+                    advance = false;
+                }
+                else if (TRANSFERINDEX.compareAndSet(this, nextIndex,
+                        nextBound = (nextIndex > stride ? nextIndex - stride : 0))) {
+                    bound = nextBound;
+                    i = nextIndex - 1;
+                    advance = false;
+                }
+            }
+            if (i < 0 || i >= n || i + n >= nextn) {
+                int sc;
+                if (finishing) {
+                    nextTable = null;
+                    table = nextTab;
+                    sizeCtl = (n << 1) - (n >>> 1);
+                    return;
+                }
+                if (SIZECTL.compareAndSet(this, sc = sizeCtl, sc - 1)) {
+                    if ((sc - 2) != resizeStamp(n) << RESIZE_STAMP_SHIFT)
+                        return;
+                    finishing = advance = true;
+                    i = n; // recheck before commit
+                }
+            }
+            else if ((f = tabAt(tab, i)) == null)
+                advance = casTabAt(tab, i, null, fwd);
+            else if ((fh = f.hash) == MOVED)
+                advance = true; // already processed
+            else {
+                synchronized (f) {
+                    if (tabAt(tab, i) == f) {
+                        Node<K, V> ln, hn;
+                        // reuse the tail run whose nodes all land in the same half
+                        int runBit = fh & n;
+                        Node<K, V> lastRun = f;
+                        for (Node<K, V> p = f.next; p != null; p = p.next) {
+                            int b = p.hash & n;
+                            if (b != runBit) {
+                                runBit = b;
+                                lastRun = p;
+                            }
+                        }
+                        if (runBit == 0) {
+                            ln = lastRun;
+                            hn = null;
+                        }
+                        else {
+                            hn = lastRun;
+                            ln = null;
+                        }
+                        for (Node<K, V> p = f; p != lastRun; p = p.next) {
+                            int ph = p.hash; K pk = p.key; V pv = p.value;
+                            if ((ph & n) == 0)
+                                ln = new Node<>(ph, pk, pv, ln);
+                            else
+                                hn = new Node<>(ph, pk, pv, hn);
+                        }
+                        setTabAt(nextTab, i, ln);
+                        setTabAt(nextTab, i + n, hn);
+                        setTabAt(tab, i, fwd);
+                        advance = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static final VarHandle TAB;
+    private static final VarHandle SIZECTL;
+    private static final VarHandle TRANSFERINDEX;
+    private static final VarHandle BASECOUNT;
+
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            TAB = MethodHandles.arrayElementVarHandle(Node[].class);
+            SIZECTL = l.findVarHandle(MyConcurrentHashMap.class, "sizeCtl", int.class);
+            TRANSFERINDEX = l.findVarHandle(MyConcurrentHashMap.class, "transferIndex", int.class);
+            BASECOUNT = l.findVarHandle(MyConcurrentHashMap.class, "baseCount", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
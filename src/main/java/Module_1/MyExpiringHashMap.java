@@ -0,0 +1,133 @@
+package Module_1;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/*
+ * Map whose entries expire a fixed time after they were last written, for
+ * short-lived memo tables. An expired entry is never returned: reads check
+ * the entry's own deadline. Its memory is reclaimed by a hierarchical timer
+ * wheel (TimerWheel) that every call advances, so expiry costs amortized
+ * O(1) per entry instead of periodic scans of the whole table. Entries the
+ * wheel has not reached yet may still be counted by size() for up to about
+ * a second; cleanUp() advances the wheel explicitly.
+ */
+public class MyExpiringHashMap<K, V> {
+    static final long MAX_TTL_NANOS = Long.MAX_VALUE >>> 2;
+
+    private final MyHashMap<K, TimerWheel.Node<K, V>> map = new MyHashMap<>();
+    private final TimerWheel<K, V> wheel = new TimerWheel<>();
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final long origin;
+
+    public MyExpiringHashMap(long ttl, TimeUnit unit) {
+        this(ttl, unit, System::nanoTime);
+    }
+
+    MyExpiringHashMap(long ttl, TimeUnit unit, LongSupplier ticker) {
+        this.ttlNanos = toNanos(ttl, unit);
+        this.ticker = ticker;
+        this.origin = ticker.getAsLong();
+    }
+
+    private static long toNanos(long ttl, TimeUnit unit) {
+        if (ttl <= 0)
+            throw new IllegalArgumentException("Illegal ttl: " + ttl);
+        return Math.min(unit.toNanos(ttl), MAX_TTL_NANOS);
+    }
+
+    public int size() {
+        cleanUp();
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public V get(K key) {
+        TimerWheel.Node<K, V> n = liveNode(key);
+        return n == null ? null : n.value;
+    }
+
+    public boolean containsKey(K key) {
+        return liveNode(key) != null;
+    }
+
+    public V put(K key, V value) {
+        return put(key, value, ttlNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // like put, with its own time to live for this entry
+    public V put(K key, V value, long ttl, TimeUnit unit) {
+        long deadline = advance() + toNanos(ttl, unit);
+        TimerWheel.Node<K, V> n = map.get(key);
+        if (n == null) {
+            n = new TimerWheel.Node<>(key, value, deadline);
+            map.put(key, n);
+            wheel.schedule(n);
+            return null;
+        }
+        V oldValue = n.time - wheel.nanos() > 0 ? n.value : null;
+        n.value = value;
+        n.time = deadline;
+        wheel.reschedule(n);
+        return oldValue;
+    }
+
+    public V remove(K key) {
+        long now = advance();
+        TimerWheel.Node<K, V> n = map.remove(key);
+        if (n == null)
+            return null;
+        wheel.deschedule(n);
+        return n.time - now > 0 ? n.value : null;
+    }
+
+    public void clear() {
+        map.clear();
+        wheel.clear();
+    }
+
+    // drops every entry whose wheel bucket has passed
+    public void cleanUp() {
+        advance();
+    }
+
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        long now = advance();
+        map.forEach((k, n) -> {
+            if (n.time - now > 0)
+                action.accept(k, n.value);
+        });
+    }
+
+    private long advance() {
+        long now = ticker.getAsLong() - origin;
+        wheel.advance(now, n -> map.remove(n.key));
+        return now;
+    }
+
+    private TimerWheel.Node<K, V> liveNode(K key) {
+        long now = advance();
+        TimerWheel.Node<K, V> n = map.get(key);
+        if (n != null && n.time - now <= 0) {
+            map.remove(key);
+            wheel.deschedule(n);
+            return null;
+        }
+        return n;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(k).append("=").append(v);
+        });
+        return sb.append("}").toString();
+    }
+}
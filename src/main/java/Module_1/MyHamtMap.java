@@ -0,0 +1,430 @@
+package Module_1;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/*
+ * Persistent hash array mapped trie. Nodes are never modified: an update
+ * copies the path from the root to the changed node (at most 7 nodes) and
+ * shares everything else with the previous version, then publishes the new
+ * root with a CAS. Readers take one volatile read of the root and walk an
+ * immutable tree, so they never block and never see a half-done update.
+ *
+ * snapshot() hands out the current root, in O(1): the copy and this map
+ * change independently afterwards.
+ *
+ * Each level consumes 5 bits of the hash. A node keeps a bitmap of the
+ * fragments holding an entry and one of the fragments holding a subnode;
+ * its array stores the entries first, then the subnodes, both in fragment
+ * order (the CHAMP layout). Keys with equal 32-bit hashes end up in a
+ * CollisionNode below the last level. Removal pulls a subnode that is left
+ * with a single entry back into its parent, so the trie stays shallow.
+ *
+ * Like MyConcurrentHashMap, null keys and values are not allowed. Functions
+ * passed to compute methods may run more than once when writers race, so
+ * they should be free of side effects.
+ */
+public class MyHamtMap<K, V> {
+    static final int BITS = 5;
+    static final int MASK = (1 << BITS) - 1;
+
+    static final class Entry<K, V> {
+        final int hash;
+        final K key;
+        final V value;
+
+        Entry(int hash, K key, V value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    abstract static class Node<K, V> {
+        abstract Entry<K, V> find(int hash, Object key, int shift);
+
+        // returns a node with e in place of any entry with the same key
+        abstract Node<K, V> put(Entry<K, V> e, int shift);
+
+        // returns this when the key is absent
+        abstract Node<K, V> remove(int hash, Object key, int shift);
+
+        // the entry of a node holding exactly one entry and no subnodes, else null
+        abstract Entry<K, V> singleEntry();
+
+        abstract void forEach(BiConsumer<? super K, ? super V> action);
+    }
+
+    static final class BitmapNode<K, V> extends Node<K, V> {
+        final int dataMap;
+        final int nodeMap;
+        final Object[] content; // entries, then subnodes
+
+        BitmapNode(int dataMap, int nodeMap, Object[] content) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        static int bitpos(int hash, int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        static int index(int map, int bit) {
+            return Integer.bitCount(map & (bit - 1));
+        }
+
+        @SuppressWarnings("unchecked")
+        Entry<K, V> entryAt(int bit) {
+            return (Entry<K, V>) content[index(dataMap, bit)];
+        }
+
+        @SuppressWarnings("unchecked")
+        Node<K, V> nodeAt(int bit) {
+            return (Node<K, V>) content[Integer.bitCount(dataMap) + index(nodeMap, bit)];
+        }
+
+        @Override
+        Entry<K, V> find(int hash, Object key, int shift) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                Entry<K, V> e = entryAt(bit);
+                return e.hash == hash && (e.key == key || key.equals(e.key)) ? e : null;
+            }
+            if ((nodeMap & bit) != 0)
+                return nodeAt(bit).find(hash, key, shift + BITS);
+            return null;
+        }
+
+        @Override
+        Node<K, V> put(Entry<K, V> e, int shift) {
+            int bit = bitpos(e.hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = index(dataMap, bit);
+                Entry<K, V> current = entryAt(bit);
+                if (current.hash == e.hash && (current.key == e.key || e.key.equals(current.key))) {
+                    Object[] c = content.clone();
+                    c[i] = e;
+                    return new BitmapNode<>(dataMap, nodeMap, c);
+                }
+                return copyAndMigrateToNode(bit, merge(current, e, shift + BITS));
+            }
+            if ((nodeMap & bit) != 0) {
+                Node<K, V> sub = nodeAt(bit), newSub = sub.put(e, shift + BITS);
+                return newSub == sub ? this : copyAndSetNode(bit, newSub);
+            }
+            int i = index(dataMap, bit);
+            Object[] c = new Object[content.length + 1];
+            System.arraycopy(content, 0, c, 0, i);
+            c[i] = e;
+            System.arraycopy(content, i, c, i + 1, content.length - i);
+            return new BitmapNode<>(dataMap | bit, nodeMap, c);
+        }
+
+        @Override
+        Node<K, V> remove(int hash, Object key, int shift) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                Entry<K, V> e = entryAt(bit);
+                if (e.hash != hash || (e.key != key && !key.equals(e.key)))
+                    return this;
+                int i = index(dataMap, bit);
+                Object[] c = new Object[content.length - 1];
+                System.arraycopy(content, 0, c, 0, i);
+                System.arraycopy(content, i + 1, c, i, content.length - i - 1);
+                return new BitmapNode<>(dataMap ^ bit, nodeMap, c);
+            }
+            if ((nodeMap & bit) != 0) {
+                Node<K, V> sub = nodeAt(bit), newSub = sub.remove(hash, key, shift + BITS);
+                if (newSub == sub)
+                    return this;
+                Entry<K, V> single = newSub.singleEntry();
+                return single != null ? copyAndMigrateToData(bit, single) : copyAndSetNode(bit, newSub);
+            }
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Entry<K, V> singleEntry() {
+            return nodeMap == 0 && Integer.bitCount(dataMap) == 1 ? (Entry<K, V>) content[0] : null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void forEach(BiConsumer<? super K, ? super V> action) {
+            int d = Integer.bitCount(dataMap);
+            for (int i = 0; i < d; i++) {
+                Entry<K, V> e = (Entry<K, V>) content[i];
+                action.accept(e.key, e.value);
+            }
+            for (int i = d; i < content.length; i++)
+                ((Node<K, V>) content[i]).forEach(action);
+        }
+
+        private Node<K, V> copyAndSetNode(int bit, Node<K, V> sub) {
+            Object[] c = content.clone();
+            c[Integer.bitCount(dataMap) + index(nodeMap, bit)] = sub;
+            return new BitmapNode<>(dataMap, nodeMap, c);
+        }
+
+        // the entry at bit is replaced by sub, which holds it and the new one
+        private Node<K, V> copyAndMigrateToNode(int bit, Node<K, V> sub) {
+            int i = index(dataMap, bit);
+            int to = Integer.bitCount(dataMap) - 1 + index(nodeMap, bit);
+            Object[] c = new Object[content.length];
+            System.arraycopy(content, 0, c, 0, i);
+            System.arraycopy(content, i + 1, c, i, to - i);
+            c[to] = sub;
+            System.arraycopy(content, to + 1, c, to + 1, content.length - to - 1);
+            return new BitmapNode<>(dataMap ^ bit, nodeMap | bit, c);
+        }
+
+        // the subnode at bit shrank to a single entry, which moves up here
+        private Node<K, V> copyAndMigrateToData(int bit, Entry<K, V> e) {
+            int from = Integer.bitCount(dataMap) + index(nodeMap, bit);
+            int i = index(dataMap, bit);
+            Object[] c = new Object[content.length];
+            System.arraycopy(content, 0, c, 0, i);
+            c[i] = e;
+            System.arraycopy(content, i, c, i + 1, from - i);
+            System.arraycopy(content, from + 1, c, from + 1, content.length - from - 1);
+            return new BitmapNode<>(dataMap | bit, nodeMap ^ bit, c);
+        }
+    }
+
+    // entries whose whole 32-bit hashes are equal
+    static final class CollisionNode<K, V> extends Node<K, V> {
+        final int hash;
+        final Entry<K, V>[] entries;
+
+        CollisionNode(int hash, Entry<K, V>[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < entries.length; i++) {
+                K k = entries[i].key;
+                if (k == key || key.equals(k))
+                    return i;
+            }
+            return -1;
+        }
+
+        @Override
+        Entry<K, V> find(int hash, Object key, int shift) {
+            int i;
+            return hash == this.hash && (i = indexOf(key)) >= 0 ? entries[i] : null;
+        }
+
+        @Override
+        Node<K, V> put(Entry<K, V> e, int shift) {
+            int i = indexOf(e.key);
+            Entry<K, V>[] c;
+            if (i >= 0) {
+                c = entries.clone();
+                c[i] = e;
+            } else {
+                c = Arrays.copyOf(entries, entries.length + 1);
+                c[entries.length] = e;
+            }
+            return new CollisionNode<>(hash, c);
+        }
+
+        @Override
+        Node<K, V> remove(int hash, Object key, int shift) {
+            int i;
+            if (hash != this.hash || (i = indexOf(key)) < 0)
+                return this;
+            @SuppressWarnings("unchecked")
+            Entry<K, V>[] c = (Entry<K, V>[]) new Entry<?, ?>[entries.length - 1];
+            System.arraycopy(entries, 0, c, 0, i);
+            System.arraycopy(entries, i + 1, c, i, c.length - i);
+            return new CollisionNode<>(hash, c);
+        }
+
+        @Override
+        Entry<K, V> singleEntry() {
+            return entries.length == 1 ? entries[0] : null;
+        }
+
+        @Override
+        void forEach(BiConsumer<? super K, ? super V> action) {
+            for (Entry<K, V> e : entries)
+                action.accept(e.key, e.value);
+        }
+    }
+
+    // a node holding e1 and e2, whose hashes agree below shift
+    @SuppressWarnings("unchecked")
+    static <K, V> Node<K, V> merge(Entry<K, V> e1, Entry<K, V> e2, int shift) {
+        if (shift >= Integer.SIZE)
+            return new CollisionNode<>(e1.hash, (Entry<K, V>[]) new Entry<?, ?>[]{e1, e2});
+        int f1 = (e1.hash >>> shift) & MASK, f2 = (e2.hash >>> shift) & MASK;
+        if (f1 != f2)
+            return new BitmapNode<>(1 << f1 | 1 << f2, 0,
+                    f1 < f2 ? new Object[]{e1, e2} : new Object[]{e2, e1});
+        return new BitmapNode<>(0, 1 << f1, new Object[]{merge(e1, e2, shift + BITS)});
+    }
+
+    // one published version of the map
+    static final class Root<K, V> {
+        final Node<K, V> node;
+        final int size;
+
+        Root(Node<K, V> node, int size) {
+            this.node = node;
+            this.size = size;
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final Root EMPTY = new Root<>(new BitmapNode<>(0, 0, new Object[0]), 0);
+
+    private final AtomicReference<Root<K, V>> root;
+
+    @SuppressWarnings("unchecked")
+    public MyHamtMap() {
+        this.root = new AtomicReference<>((Root<K, V>) EMPTY);
+    }
+
+    private MyHamtMap(Root<K, V> root) {
+        this.root = new AtomicReference<>(root);
+    }
+
+    static int hash(Object key) {
+        return MyHashMap.hash(key);
+    }
+
+    /*
+     * O(1) copy of the current contents; it shares every node with this map
+     * until one of them is changed.
+     */
+    public MyHamtMap<K, V> snapshot() {
+        return new MyHamtMap<>(root.get());
+    }
+
+    public int size() {
+        return root.get().size;
+    }
+
+    public boolean isEmpty() {
+        return root.get().size == 0;
+    }
+
+    public V get(Object key) {
+        Entry<K, V> e = root.get().node.find(hash(key), key, 0);
+        return e == null ? null : e.value;
+    }
+
+    public V getOrDefault(Object key, V defaultValue) {
+        V v;
+        return (v = get(key)) == null ? defaultValue : v;
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    public V put(K key, V value) {
+        if (key == null || value == null)
+            throw new NullPointerException();
+        return update(key, (k, old) -> value, true);
+    }
+
+    public V putIfAbsent(K key, V value) {
+        if (key == null || value == null)
+            throw new NullPointerException();
+        return update(key, (k, old) -> old == null ? value : old, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (key == null)
+            throw new NullPointerException();
+        return update((K) key, (k, old) -> null, true);
+    }
+
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null || mappingFunction == null)
+            throw new NullPointerException();
+        V v;
+        if ((v = get(key)) != null)
+            return v;
+        return update(key, (k, old) -> old != null ? old : mappingFunction.apply(k), false);
+    }
+
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (key == null || remappingFunction == null)
+            throw new NullPointerException();
+        return update(key, remappingFunction, false);
+    }
+
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null || value == null || remappingFunction == null)
+            throw new NullPointerException();
+        return update(key, (k, old) -> old == null ? value : remappingFunction.apply(old, value), false);
+    }
+
+    public void clear() {
+        @SuppressWarnings("unchecked")
+        Root<K, V> empty = (Root<K, V>) EMPTY;
+        root.set(empty);
+    }
+
+    /*
+     * Visits one version of the map: updates made during the call are not
+     * seen, so the traversal is consistent without any locking.
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null)
+            throw new NullPointerException();
+        root.get().node.forEach(action);
+    }
+
+    /*
+     * Applies fn to the current value (null if absent) and publishes the
+     * result against the same root; a null result removes the key. Retries
+     * from the new root when another writer got there first.
+     */
+    private V update(K key, BiFunction<? super K, ? super V, ? extends V> fn, boolean returnOld) {
+        int hash = hash(key);
+        for (;;) {
+            Root<K, V> r = root.get();
+            Entry<K, V> e = r.node.find(hash, key, 0);
+            V old = e == null ? null : e.value;
+            V value = fn.apply(key, old);
+            Node<K, V> node;
+            int size;
+            if (value == old)
+                return returnOld ? old : value; // nothing to publish
+            if (value == null) {
+                node = r.node.remove(hash, key, 0);
+                size = r.size - 1;
+            } else {
+                node = r.node.put(new Entry<>(hash, key, value), 0);
+                size = e == null ? r.size + 1 : r.size;
+            }
+            if (root.compareAndSet(r, new Root<>(node, size)))
+                return returnOld ? old : value;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(k).append("=").append(v);
+        });
+        return sb.append("}").toString();
+    }
+}
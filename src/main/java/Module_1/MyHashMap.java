@@ -1,14 +1,60 @@
 package Module_1;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
+import java.util.function.ToLongFunction;
 
 public class MyHashMap<K, V> {
     static final int DEFAULT_INITIAL_CAPACITY = 1 << 4; // aka 16
     static final int MAXIMUM_CAPACITY = 1 << 30;
     static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    static final int TREEIFY_THRESHOLD = 8;
+    static final int UNTREEIFY_THRESHOLD = 6;
+    static final int MIN_TREEIFY_CAPACITY = 64; // smaller tables are resized instead
+    static final int RESIZE_STEP = 8; // old buckets moved per operation in incremental mode
+    static final int COMPACT_THRESHOLD = 8; // most mappings kept inline by a COMPACT map
 
-    static class Node<K, V> {
-        final int hash;
+    public enum Option {
+        // spread a resize over the following get/put/remove calls
+        // instead of rehashing the whole table inside one put
+        INCREMENTAL_RESIZE,
+        // once String keys pile up in one bin, switch to SipHash under a
+        // random per-map key, so keys crafted to collide spread out again
+        RANDOMIZED_HASH,
+        // keep up to COMPACT_THRESHOLD mappings in one inline array of keys
+        // and values, without a table or nodes; larger maps switch to the table
+        COMPACT,
+        // shrink the table as mappings are removed; a COMPACT map that drains
+        // to half the threshold moves back to the inline array
+        AUTO_SHRINK
+    }
+
+    static class Node<K, V> implements Map.Entry<K, V> {
+        int hash; // only reassigned when a map switches to seeded hashing
         final K key;
         V value;
         Node<K, V> next;
@@ -46,7 +92,7 @@ public class MyHashMap<K, V> {
             if (o == this)
                 return true;
 
-            return o instanceof Node<?, ?> e
+            return o instanceof Map.Entry<?, ?> e
                     && Objects.equals(key, e.getKey())
                     && Objects.equals(value, e.getValue());
         }
@@ -57,18 +103,118 @@ public class MyHashMap<K, V> {
         return (key == null) ? 0 : (h = key.hashCode()) ^ (h >>> 16);
     }
 
+    private static final SecureRandom SEED_GENERATOR = new SecureRandom();
+
+    /*
+     * Hash used by this map: hash(key) until a RANDOMIZED_HASH map has been
+     * switched to seeded hashing (see treeifyBin), so ordinary keys keep the
+     * cached String.hashCode() path. Seeded hashing only changes String
+     * keys: other CharSequences may define equals() differently, byte[]
+     * keys compare by identity, and colliding keys of other types are left
+     * to the tree bins. A map with a HashingStrategy hashes with it instead.
+     */
+    @SuppressWarnings("unchecked")
+    final int hashOf(Object key) {
+        HashingStrategy<? super K> hs;
+        if ((hs = strategy) != null)
+            return key == null ? 0 : spread(hs.hashCode((K) key));
+        if (seeded && key instanceof String s) {
+            long h = sipHash13(hashSeed0, hashSeed1, s);
+            return (int) (h ^ (h >>> 32));
+        }
+        return hash(key);
+    }
+
+    static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    // equality of non-null key with the key k of a node
+    @SuppressWarnings("unchecked")
+    final boolean keyEquals(Object key, K k) {
+        HashingStrategy<? super K> hs;
+        return (hs = strategy) == null ? key.equals(k) : hs.equals((K) key, k);
+    }
+
+    /*
+     * SipHash-1-3 of the UTF-16 code units of s, four chars per 64-bit
+     * word, keyed with k0 and k1.
+     */
+    static long sipHash13(long k0, long k1, CharSequence s) {
+        long v0 = k0 ^ 0x736f6d6570736575L;
+        long v1 = k1 ^ 0x646f72616e646f6dL;
+        long v2 = k0 ^ 0x6c7967656e657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+        int n = s.length(), blocks = n >>> 2;
+        for (int i = 0; i <= blocks; i++) {
+            long m;
+            int j = i << 2;
+            if (i < blocks)
+                m = s.charAt(j) | (long) s.charAt(j + 1) << 16 |
+                        (long) s.charAt(j + 2) << 32 | (long) s.charAt(j + 3) << 48;
+            else { // last block: remaining chars and the length in bytes
+                m = (long) (n << 1) << 56;
+                for (int k = 0; j + k < n; k++)
+                    m |= (long) s.charAt(j + k) << (k << 4);
+            }
+            v3 ^= m;
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+            v0 ^= m;
+        }
+        v2 ^= 0xff;
+        for (int r = 0; r < 3; r++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
     static int tableSizeFor(int cap) {
         int n = -1 >>> Integer.numberOfLeadingZeros(cap - 1);
         return (n < 0) ? 1 : (n >= MAXIMUM_CAPACITY) ? MAXIMUM_CAPACITY : n + 1;
     }
 
+    private static final Object[] EMPTY_COMPACT = {};
+    private static final int[] EMPTY_COMPACT_HASHES = {};
+
     private transient Node<K, V>[] table;
+    private transient Object[] compact; // non-null while mappings are inline: key at 2i, value at 2i + 1
+    private transient int[] compactHashes; // hash of the key at 2i
+    private transient Node<K, V>[] oldTable; // non-null while an incremental resize is in progress
+    private transient int transferIndex; // next oldTable bucket to move
     private transient int size;
-    private transient int modCount;
+    transient int modCount;
+    private transient int resizeCount; // times the entries were rehashed into a larger table
     private int threshold;
     private final float loadFactor;
+    private final boolean incrementalResize;
+    private final boolean randomizedHash;
+    private final boolean compactMode;
+    private final boolean autoShrink;
+    private final HashingStrategy<? super K> strategy; // null: the keys' own hashCode/equals
+    private transient boolean seeded; // String keys are hashed with SipHash
+    private transient long hashSeed0; // SipHash key, chosen when switching
+    private transient long hashSeed1;
+    private transient Set<K> keySet;
+    private transient Collection<V> values;
+    private transient Set<Map.Entry<K, V>> entrySet;
 
-    public MyHashMap(int initialCapacity, float loadFactor) {
+    public MyHashMap(int initialCapacity, float loadFactor, Option... options) {
+        this(initialCapacity, loadFactor, null, options);
+    }
+
+    /*
+     * A map that hashes and compares keys with strategy. Such a map never
+     * treeifies its bins (the strategy gives no ordering) and ignores
+     * RANDOMIZED_HASH, so the strategy itself must spread its keys well.
+     */
+    public MyHashMap(int initialCapacity, float loadFactor,
+                     HashingStrategy<? super K> strategy, Option... options) {
         if (initialCapacity < 0)
             throw new IllegalArgumentException("Illegal initial capacity: " +
                     initialCapacity);
@@ -79,6 +225,19 @@ public class MyHashMap<K, V> {
                     loadFactor);
         this.loadFactor = loadFactor;
         this.threshold = tableSizeFor(initialCapacity);
+        Set<Option> opts = options.length == 0 ?
+                EnumSet.noneOf(Option.class) : EnumSet.copyOf(Arrays.asList(options));
+        this.incrementalResize = opts.contains(Option.INCREMENTAL_RESIZE);
+        this.randomizedHash = opts.contains(Option.RANDOMIZED_HASH);
+        this.compactMode = opts.contains(Option.COMPACT);
+        this.autoShrink = opts.contains(Option.AUTO_SHRINK);
+        this.strategy = strategy;
+        if (compactMode && initialCapacity <= COMPACT_THRESHOLD)
+            emptyCompact();
+    }
+
+    public MyHashMap(HashingStrategy<? super K> strategy) {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, strategy);
     }
 
     public MyHashMap(int initialCapacity) {
@@ -93,26 +252,154 @@ public class MyHashMap<K, V> {
         return size;
     }
 
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
     public V get(Object key) {
         Node<K, V> e;
+        if (compact != null)
+            return compactGet(key, null);
         return (e = getNode(key)) == null ? null : e.value;
     }
 
-    private Node<K, V> getNode(Object key) {
+    public V getOrDefault(Object key, V defaultValue) {
+        Node<K, V> e;
+        if (compact != null)
+            return compactGet(key, defaultValue);
+        return (e = getNode(key)) == null ? defaultValue : e.value;
+    }
+
+    public boolean containsKey(Object key) {
+        if (compact != null)
+            return compactIndexOf(key) >= 0;
+        return getNode(key) != null;
+    }
+
+    public boolean containsValue(Object value) {
+        Node<K, V>[] tab; Object[] a;
+        if ((a = compact) != null) {
+            for (int i = 1, n = size << 1; i < n; i += 2) {
+                if (a[i] == value || (value != null && value.equals(a[i])))
+                    return true;
+            }
+            return false;
+        }
+        if (size > 0 && (tab = table) != null) {
+            if (oldTable != null)
+                completeResize();
+            for (Node<K, V> e : tab) {
+                for (; e != null; e = e.next) {
+                    V v;
+                    if ((v = e.value) == value ||
+                            (value != null && value.equals(v)))
+                        return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Lookups by content, without a key object: a substring, a reused
+     * StringBuilder, or UTF-8 bytes straight from a buffer. Without a strategy
+     * they find the String key with that content; with one they use its char
+     * and byte methods. Bins are walked as lists, tree bins included.
+     */
+    @SuppressWarnings("unchecked")
+    public V getByChars(CharSequence chars) {
+        HashingStrategy<? super K> hs = strategy;
+        Object[] a;
+        if ((a = compact) != null) {
+            for (int i = 0, n = size << 1; i < n; i += 2) {
+                Object k = a[i];
+                if (k != null && (hs != null ? hs.equalsChars((K) k, chars) :
+                        k instanceof String s && s.contentEquals(chars)))
+                    return (V) a[i + 1];
+            }
+            return null;
+        }
+        int hash;
+        if (hs != null)
+            hash = spread(hs.hashChars(chars));
+        else if (seeded) {
+            long h = sipHash13(hashSeed0, hashSeed1, chars);
+            hash = (int) (h ^ (h >>> 32));
+        } else
+            hash = spread(HashingStrategies.hashChars(chars, false));
+        if (oldTable != null)
+            transferStep(hash);
+        Node<K, V>[] tab; int n;
+        if ((tab = table) != null && (n = tab.length) > 0) {
+            for (Node<K, V> e = tab[(n - 1) & hash]; e != null; e = e.next) {
+                K k;
+                if (e.hash == hash && (k = e.key) != null &&
+                        (hs != null ? hs.equalsChars(k, chars) :
+                                k instanceof String s && s.contentEquals(chars))) {
+                    afterNodeAccess(e);
+                    return e.value;
+                }
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getByBytes(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        HashingStrategy<? super K> hs = strategy;
+        Object[] a;
+        if ((a = compact) != null) {
+            for (int i = 0, n = size << 1; i < n; i += 2) {
+                Object k = a[i];
+                if (k != null && (hs != null ? hs.equalsBytes((K) k, bytes, offset, length) :
+                        k instanceof String s &&
+                                HashingStrategies.equalsUtf8(s, bytes, offset, length, false)))
+                    return (V) a[i + 1];
+            }
+            return null;
+        }
+        if (hs == null && seeded) // SipHash works on chars, decode once
+            return getByChars(new String(bytes, offset, length, StandardCharsets.UTF_8));
+        int hash = spread(hs != null ? hs.hashBytes(bytes, offset, length) :
+                HashingStrategies.hashUtf8(bytes, offset, length, false));
+        if (oldTable != null)
+            transferStep(hash);
+        Node<K, V>[] tab; int n;
+        if ((tab = table) != null && (n = tab.length) > 0) {
+            for (Node<K, V> e = tab[(n - 1) & hash]; e != null; e = e.next) {
+                K k;
+                if (e.hash == hash && (k = e.key) != null &&
+                        (hs != null ? hs.equalsBytes(k, bytes, offset, length) :
+                                k instanceof String s &&
+                                        HashingStrategies.equalsUtf8(s, bytes, offset, length, false))) {
+                    afterNodeAccess(e);
+                    return e.value;
+                }
+            }
+        }
+        return null;
+    }
+
+    final Node<K, V> getNode(Object key) {
         Node<K, V>[] tab;
         Node<K, V> first, e;
-        int n, hash;
+        int n, hash = hashOf(key);
         K k;
+        if (oldTable != null)
+            transferStep(hash);
         if ((tab = table) != null && (n = tab.length) > 0 &&
-                (first = tab[(n - 1) & (hash = hash(key))]) != null) {
+                (first = tab[(n - 1) & hash]) != null) {
             if (first.hash == hash && // always check first node
-                    ((k = first.key) == key || (key != null && key.equals(k))))
+                    ((k = first.key) == key || (key != null && keyEquals(key, k))))
                 return first;
 
             if ((e = first.next) != null) {
+                if (first instanceof TreeNode<K, V> t)
+                    return t.getTreeNode(hash, key);
                 do {
                     if (e.hash == hash &&
-                            ((k = e.key) == key || (key != null && key.equals(k))))
+                            ((k = e.key) == key || (key != null && keyEquals(key, k))))
                         return e;
                 } while ((e = e.next) != null);
             }
@@ -121,28 +408,42 @@ public class MyHashMap<K, V> {
     }
 
     public V put(K key, V value) {
-        return putVal(hash(key), key, value);
+        if (compact != null)
+            return compactPut(key, value, false);
+        return putVal(hashOf(key), key, value, false);
+    }
+
+    public V putIfAbsent(K key, V value) {
+        if (compact != null)
+            return compactPut(key, value, true);
+        return putVal(hashOf(key), key, value, true);
     }
 
-    private V putVal(int hash, K key, V value) {
+    private V putVal(int hash, K key, V value, boolean onlyIfAbsent) {
         Node<K, V>[] tab; Node<K, V> p; int n, i;
+        if (oldTable != null)
+            transferStep(hash);
         if ((tab = table) == null || (n = tab.length) == 0)
             n = (tab = resize()).length;
         if ((p = tab[i = (n - 1) & hash]) == null)
-            tab[i] = new Node<>(hash, key, value, null);
+            tab[i] = newNode(hash, key, value, null);
         else {
             Node<K, V> e; K k;
             if (p.hash == hash &&
-                    ((k = p.key) == key || (key != null && key.equals(k))))
+                    ((k = p.key) == key || (key != null && keyEquals(key, k))))
                 e = p;
+            else if (p instanceof TreeNode<K, V> t)
+                e = t.putTreeVal(this, tab, hash, key, value);
             else {
                 for (int binCount = 0; ; ++binCount) {
                     if ((e = p.next) == null) {
-                        p.next = new Node<>(hash, key, value, null);
+                        p.next = newNode(hash, key, value, null);
+                        if (binCount >= TREEIFY_THRESHOLD - 1) // -1 for 1st
+                            treeifyBin(tab, hash);
                         break;
                     }
                     if (e.hash == hash &&
-                            ((k = e.key) == key || (key != null && key.equals(k))))
+                            ((k = e.key) == key || (key != null && keyEquals(key, k))))
                         break;
                     p = e;
                 }
@@ -150,18 +451,356 @@ public class MyHashMap<K, V> {
 
             if (e != null) { // existing mapping for key
                 V oldValue = e.value;
-                e.value = value;
+                if (!onlyIfAbsent || oldValue == null)
+                    e.value = value;
+                afterNodeAccess(e);
                 return oldValue;
             }
         }
 
+        ++modCount;
         ++size;
         if (size > threshold)
             resize();
+        afterNodeInsertion();
         return null;
     }
 
+    /*
+     * Copies all mappings of m. The table is sized for the combined size up
+     * front, so a bulk load rehashes at most once.
+     */
+    public void putAll(MyHashMap<? extends K, ? extends V> m) {
+        int s = m.size;
+        if (s > 0) {
+            presize(size + s);
+            m.forEach(this::put);
+        }
+    }
+
+    public void putAll(Map<? extends K, ? extends V> m) {
+        int s = m.size();
+        if (s > 0) {
+            presize(size + s);
+            for (Map.Entry<? extends K, ? extends V> e : m.entrySet())
+                put(e.getKey(), e.getValue());
+        }
+    }
+
+    private void presize(int s) {
+        if (compact != null) {
+            if (s > COMPACT_THRESHOLD)
+                inflate(s);
+            return;
+        }
+        float ft = ((float) s / loadFactor) + 1.0F;
+        int t = ((ft < (float) MAXIMUM_CAPACITY) ? (int) ft : MAXIMUM_CAPACITY);
+        if (table == null) {
+            if (t > threshold) // initial capacity is kept in threshold
+                threshold = tableSizeFor(t);
+        }
+        else if (s > threshold && table.length < MAXIMUM_CAPACITY)
+            rehashTo(tableSizeFor(t), false);
+    }
+
+    /*
+     * Rehashes straight into a table of newCap buckets instead of doubling
+     * one step at a time, recomputing every hash if rehashKeys is set.
+     * Growing only ever splits bins, so unless the hashes changed only bins
+     * that were trees can still be long enough to need treeifying again;
+     * shrinking merges bins, so then every bin is checked.
+     */
+    private void rehashTo(int newCap, boolean rehashKeys) {
+        if (oldTable != null)
+            completeResize();
+        Node<K, V>[] oldTab = table;
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        Node<K, V>[] newTab = (Node<K, V>[]) new Node[newCap];
+        boolean hadTrees = rehashKeys || newCap < oldTab.length;
+        if (newCap > oldTab.length)
+            ++resizeCount;
+        for (Node<K, V> b : oldTab) {
+            for (Node<K, V> e = b, next; e != null; e = next) {
+                next = e.next;
+                if (e instanceof TreeNode) {
+                    hadTrees = true;
+                    e = replacementNode(e, null);
+                }
+                if (rehashKeys)
+                    e.hash = hashOf(e.key);
+                int i = e.hash & (newCap - 1);
+                e.next = newTab[i];
+                newTab[i] = e;
+            }
+        }
+        float ft = (float) newCap * loadFactor;
+        threshold = (newCap < MAXIMUM_CAPACITY && ft < (float) MAXIMUM_CAPACITY ?
+                (int) ft : Integer.MAX_VALUE);
+        table = newTab;
+        if (hadTrees && newCap >= MIN_TREEIFY_CAPACITY) { // smaller tables resize instead
+            for (int i = 0; i < newCap && table == newTab; ++i) {
+                int binCount = 0;
+                for (Node<K, V> e = newTab[i]; e != null; e = e.next)
+                    ++binCount;
+                if (binCount >= TREEIFY_THRESHOLD)
+                    treeifyBin(newTab, newTab[i].hash);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(K key,
+                             Function<? super K, ? extends V> mappingFunction) {
+        if (mappingFunction == null)
+            throw new NullPointerException();
+        if (compact != null) {
+            int i = compactIndexOf(key);
+            V oldValue;
+            if (i >= 0 && (oldValue = (V) compact[i + 1]) != null)
+                return oldValue;
+            int mc = modCount;
+            V v = mappingFunction.apply(key);
+            if (mc != modCount)
+                throw new ConcurrentModificationException();
+            if (v != null) {
+                if (i >= 0)
+                    compact[i + 1] = v;
+                else
+                    compactInsert(key, v);
+            }
+            return v;
+        }
+        int hash = hashOf(key);
+        Node<K, V>[] tab; Node<K, V> first; int n, i;
+        int binCount = 0;
+        Node<K, V> old = null;
+        if (size > threshold || table == null || table.length == 0)
+            resize();
+        if (oldTable != null)
+            transferStep(hash);
+        n = (tab = table).length;
+        if ((first = tab[i = (n - 1) & hash]) != null) {
+            if (first instanceof TreeNode<K, V> t)
+                old = t.getTreeNode(hash, key);
+            else {
+                Node<K, V> e = first; K k;
+                do {
+                    if (e.hash == hash &&
+                            ((k = e.key) == key || (key != null && keyEquals(key, k)))) {
+                        old = e;
+                        break;
+                    }
+                    ++binCount;
+                } while ((e = e.next) != null);
+            }
+            V oldValue;
+            if (old != null && (oldValue = old.value) != null) {
+                afterNodeAccess(old);
+                return oldValue;
+            }
+        }
+        int mc = modCount;
+        V v = mappingFunction.apply(key);
+        if (mc != modCount)
+            throw new ConcurrentModificationException();
+        if (v == null)
+            return null;
+        else if (old != null) {
+            old.value = v;
+            afterNodeAccess(old);
+        }
+        else
+            insertAbsent(tab, i, first, binCount, hash, key, v);
+        return v;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V compute(K key,
+                     BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (remappingFunction == null)
+            throw new NullPointerException();
+        if (compact != null) {
+            int i = compactIndexOf(key);
+            int mc = modCount;
+            V v = remappingFunction.apply(key, i >= 0 ? (V) compact[i + 1] : null);
+            if (mc != modCount)
+                throw new ConcurrentModificationException();
+            if (i >= 0) {
+                if (v != null)
+                    compact[i + 1] = v;
+                else
+                    compactRemoveAt(i);
+            }
+            else if (v != null)
+                compactInsert(key, v);
+            return v;
+        }
+        int hash = hashOf(key);
+        Node<K, V>[] tab; Node<K, V> first; int n, i;
+        int binCount = 0;
+        Node<K, V> old = null;
+        if (size > threshold || table == null || table.length == 0)
+            resize();
+        if (oldTable != null)
+            transferStep(hash);
+        n = (tab = table).length;
+        if ((first = tab[i = (n - 1) & hash]) != null) {
+            if (first instanceof TreeNode<K, V> t)
+                old = t.getTreeNode(hash, key);
+            else {
+                Node<K, V> e = first; K k;
+                do {
+                    if (e.hash == hash &&
+                            ((k = e.key) == key || (key != null && keyEquals(key, k)))) {
+                        old = e;
+                        break;
+                    }
+                    ++binCount;
+                } while ((e = e.next) != null);
+            }
+        }
+        V oldValue = (old == null) ? null : old.value;
+        int mc = modCount;
+        V v = remappingFunction.apply(key, oldValue);
+        if (mc != modCount)
+            throw new ConcurrentModificationException();
+        if (old != null) {
+            if (v != null) {
+                old.value = v;
+                afterNodeAccess(old);
+            }
+            else
+                removeNode(hash, key, null, false, true);
+        }
+        else if (v != null)
+            insertAbsent(tab, i, first, binCount, hash, key, v);
+        return v;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V merge(K key, V value,
+                   BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null || remappingFunction == null)
+            throw new NullPointerException();
+        if (compact != null) {
+            int i = compactIndexOf(key);
+            if (i < 0) {
+                compactInsert(key, value);
+                return value;
+            }
+            V oldValue = (V) compact[i + 1], v;
+            if (oldValue != null) {
+                int mc = modCount;
+                v = remappingFunction.apply(oldValue, value);
+                if (mc != modCount)
+                    throw new ConcurrentModificationException();
+            }
+            else
+                v = value;
+            if (v != null)
+                compact[i + 1] = v;
+            else
+                compactRemoveAt(i);
+            return v;
+        }
+        int hash = hashOf(key);
+        Node<K, V>[] tab; Node<K, V> first; int n, i;
+        int binCount = 0;
+        Node<K, V> old = null;
+        if (size > threshold || table == null || table.length == 0)
+            resize();
+        if (oldTable != null)
+            transferStep(hash);
+        n = (tab = table).length;
+        if ((first = tab[i = (n - 1) & hash]) != null) {
+            if (first instanceof TreeNode<K, V> t)
+                old = t.getTreeNode(hash, key);
+            else {
+                Node<K, V> e = first; K k;
+                do {
+                    if (e.hash == hash &&
+                            ((k = e.key) == key || (key != null && keyEquals(key, k)))) {
+                        old = e;
+                        break;
+                    }
+                    ++binCount;
+                } while ((e = e.next) != null);
+            }
+        }
+        if (old != null) {
+            V v;
+            if (old.value != null) {
+                int mc = modCount;
+                v = remappingFunction.apply(old.value, value);
+                if (mc != modCount)
+                    throw new ConcurrentModificationException();
+            }
+            else
+                v = value;
+            if (v != null) {
+                old.value = v;
+                afterNodeAccess(old);
+            }
+            else
+                removeNode(hash, key, null, false, true);
+            return v;
+        }
+        insertAbsent(tab, i, first, binCount, hash, key, value);
+        return value;
+    }
+
+    /*
+     * Adds a mapping to bin i after a lookup found none, reusing the probe
+     * of the compute methods. Like resize-on-entry in those methods, the
+     * table is not grown here, so size may briefly exceed threshold.
+     */
+    private void insertAbsent(Node<K, V>[] tab, int i, Node<K, V> first,
+                              int binCount, int hash, K key, V value) {
+        if (first instanceof TreeNode<K, V> t)
+            t.putTreeVal(this, tab, hash, key, value);
+        else {
+            tab[i] = newNode(hash, key, value, first);
+            if (binCount >= TREEIFY_THRESHOLD - 1)
+                treeifyBin(tab, hash);
+        }
+        ++modCount;
+        ++size;
+        afterNodeInsertion();
+    }
+
+    /*
+     * Visits every mapping by walking the bucket array directly: no iterator
+     * and no entry objects are created.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null)
+            throw new NullPointerException();
+        Node<K, V>[] tab; Object[] a;
+        if ((a = compact) != null) {
+            int mc = modCount;
+            for (int i = 0, n = size << 1; i < n && modCount == mc; i += 2)
+                action.accept((K) a[i], (V) a[i + 1]);
+            if (modCount != mc)
+                throw new ConcurrentModificationException();
+            return;
+        }
+        if (oldTable != null)
+            completeResize();
+        if (size > 0 && (tab = table) != null) {
+            int mc = modCount;
+            for (Node<K, V> e : tab) {
+                for (; e != null; e = e.next)
+                    action.accept(e.key, e.value);
+            }
+            if (modCount != mc)
+                throw new ConcurrentModificationException();
+        }
+    }
+
     private Node<K, V>[] resize() {
+        if (oldTable != null)
+            completeResize();
         Node<K, V>[] oldTab = table;
         int oldCap = (oldTab == null) ? 0 : oldTab.length;
         int oldThr = threshold;
@@ -192,106 +831,1920 @@ public class MyHashMap<K, V> {
         Node<K, V>[] newTab = (Node<K, V>[]) new Node[newCap];
         table = newTab;
         if (oldTab != null) {
-            for (int j = 0; j < oldCap; ++j) {
-                Node<K, V> e;
-                if ((e = oldTab[j]) != null) {
-                    oldTab[j] = null;
-                    if (e.next == null)
-                        newTab[e.hash & (newCap - 1)] = e;
-                    else {
-                        Node<K, V> loHead = null, loTail = null;
-                        Node<K, V> hiHead = null, hiTail = null;
-                        Node<K, V> next;
-                        do {
-                            next = e.next;
-                            if ((e.hash & oldCap) == 0) {
-                                if (loTail == null)
-                                    loHead = e;
-                                else
-                                    loTail.next = e;
-                                loTail = e;
-                            }
-                            else {
-                                if (hiTail == null)
-                                    hiHead = e;
-                                else
-                                    hiTail.next = e;
-                                hiTail = e;
-                            }
-                        } while ((e = next) != null);
-                        if (loTail != null) {
-                            loTail.next = null;
-                            newTab[j] = loHead;
-                        }
-                        if (hiTail != null) {
-                            hiTail.next = null;
-                            newTab[j + oldCap] = hiHead;
-                        }
-                    }
+            ++resizeCount;
+            if (incrementalResize) {
+                oldTable = oldTab;
+                transferIndex = 0;
+            }
+            else {
+                for (int j = 0; j < oldCap; ++j) {
+                    if (oldTab[j] != null)
+                        transferBin(oldTab, newTab, j);
                 }
             }
         }
         return newTab;
     }
 
+    /*
+     * Moves bucket j of oldTab into newTab, which is twice as large: each
+     * node either stays at j or moves to j + oldCap.
+     */
+    private void transferBin(Node<K, V>[] oldTab, Node<K, V>[] newTab, int j) {
+        int oldCap = oldTab.length, newCap = newTab.length;
+        Node<K, V> e = oldTab[j];
+        oldTab[j] = null;
+        if (e.next == null)
+            newTab[e.hash & (newCap - 1)] = e;
+        else if (e instanceof TreeNode<K, V> t)
+            t.split(this, newTab, j, oldCap);
+        else {
+            Node<K, V> loHead = null, loTail = null;
+            Node<K, V> hiHead = null, hiTail = null;
+            Node<K, V> next;
+            do {
+                next = e.next;
+                if ((e.hash & oldCap) == 0) {
+                    if (loTail == null)
+                        loHead = e;
+                    else
+                        loTail.next = e;
+                    loTail = e;
+                }
+                else {
+                    if (hiTail == null)
+                        hiHead = e;
+                    else
+                        hiTail.next = e;
+                    hiTail = e;
+                }
+            } while ((e = next) != null);
+            if (loTail != null) {
+                loTail.next = null;
+                newTab[j] = loHead;
+            }
+            if (hiTail != null) {
+                hiTail.next = null;
+                newTab[j + oldCap] = hiHead;
+            }
+        }
+    }
+
+    /*
+     * One unit of incremental resize work. The old bucket of hash is moved
+     * first, so the caller only has to look at table; then at most
+     * RESIZE_STEP further buckets are moved in index order.
+     */
+    private void transferStep(int hash) {
+        Node<K, V>[] oldTab = oldTable, newTab = table;
+        int j = hash & (oldTab.length - 1);
+        if (oldTab[j] != null)
+            transferBin(oldTab, newTab, j);
+        int i = transferIndex, end = Math.min(i + RESIZE_STEP, oldTab.length);
+        for (; i < end; ++i) {
+            if (oldTab[i] != null)
+                transferBin(oldTab, newTab, i);
+        }
+        if ((transferIndex = i) >= oldTab.length)
+            oldTable = null;
+    }
+
+    private void completeResize() {
+        Node<K, V>[] oldTab = oldTable, newTab = table;
+        for (int i = transferIndex; i < oldTab.length; ++i) {
+            if (oldTab[i] != null)
+                transferBin(oldTab, newTab, i);
+        }
+        oldTable = null;
+    }
+
+    boolean isResizing() {
+        return oldTable != null;
+    }
+
+    int capacity() {
+        return table == null ? 0 : table.length;
+    }
+
+    @SuppressWarnings("unchecked")
     public V remove(Object key) {
         Node<K,V> e;
-        return (e = removeNode(hash(key), key, null, false, true)) == null ?
+        if (compact != null) {
+            int i = compactIndexOf(key);
+            if (i < 0)
+                return null;
+            V oldValue = (V) compact[i + 1];
+            compactRemoveAt(i);
+            return oldValue;
+        }
+        return (e = removeNode(hashOf(key), key, null, false, true)) == null ?
                 null : e.value;
     }
 
-    private Node<K, V> removeNode(int hash, Object key, Object value,
+    final Node<K, V> removeNode(int hash, Object key, Object value,
                                 boolean matchValue, boolean movable) {
         Node<K,V>[] tab; Node<K,V> p; int n, index;
+        if (oldTable != null)
+            transferStep(hash);
         if ((tab = table) != null && (n = tab.length) > 0 &&
                 (p = tab[index = (n - 1) & hash]) != null) {
             Node<K,V> node = null, e; K k; V v;
             if (p.hash == hash &&
                     ((k = p.key) == key ||
-                            (key != null && key.equals(k))))
+                            (key != null && keyEquals(key, k))))
                 node = p;
             else if ((e = p.next) != null) {
-                do {
-                    if (e.hash == hash &&
-                            ((k = e.key) == key ||
-                                    (key != null && key.equals(k)))) {
-                        node = e;
-                        break;
-                    }
-                } while ((e = e.next) != null);
+                if (p instanceof TreeNode<K, V> t)
+                    node = t.getTreeNode(hash, key);
+                else {
+                    do {
+                        if (e.hash == hash &&
+                                ((k = e.key) == key ||
+                                        (key != null && keyEquals(key, k)))) {
+                            node = e;
+                            break;
+                        }
+                        p = e;
+                    } while ((e = e.next) != null);
+                }
             }
             if (node != null && (!matchValue || (v = node.value) == value ||
                     (value != null && value.equals(v)))) {
-                if (node == p)
+                if (node instanceof TreeNode<K, V> t)
+                    t.removeTreeNode(this, tab, movable);
+                else if (node == p)
                     tab[index] = node.next;
                 else
                     p.next = node.next;
                 ++modCount;
                 --size;
+                afterNodeRemoval(node);
+                if (autoShrink && movable)
+                    shrinkIfSparse();
                 return node;
             }
         }
         return null;
     }
 
-    @Override
-    public String toString() {
-        if (size == 0) return "{}";
-        StringBuilder sb = new StringBuilder("{");
-        boolean first = true;
-        for (Node<K,V> bucket : table) {
-            Node<K,V> current = bucket;
-            while (current != null) {
-                if (!first) sb.append(", ");
-                sb.append(current.key).append("=").append(current.value);
-                first = false;
-                current = current.next;
+    static Class<?> comparableClassFor(Object x) {
+        if (x instanceof Comparable) {
+            Class<?> c; Type[] ts, as; ParameterizedType p;
+            if ((c = x.getClass()) == String.class) // bypass checks
+                return c;
+            if ((ts = c.getGenericInterfaces()) != null) {
+                for (Type t : ts) {
+                    if ((t instanceof ParameterizedType) &&
+                            ((p = (ParameterizedType) t).getRawType() ==
+                                    Comparable.class) &&
+                            (as = p.getActualTypeArguments()) != null &&
+                            as.length == 1 && as[0] == c) // type arg is c
+                        return c;
+                }
             }
         }
-        return sb.append("}").toString();
+        return null;
     }
 
-    public void printBuckets() {
+    @SuppressWarnings({"rawtypes", "unchecked"}) // for cast to Comparable
+    static int compareComparables(Class<?> kc, Object k, Object x) {
+        return (x == null || x.getClass() != kc ? 0 :
+                ((Comparable) k).compareTo(x));
+    }
+
+    Node<K, V> newNode(int hash, K key, V value, Node<K, V> next) {
+        return new Node<>(hash, key, value, next);
+    }
+
+    Node<K, V> replacementNode(Node<K, V> p, Node<K, V> next) {
+        return new Node<>(p.hash, p.key, p.value, next);
+    }
+
+    TreeNode<K, V> newTreeNode(int hash, K key, V value, Node<K, V> next) {
+        return new TreeNode<>(hash, key, value, next);
+    }
+
+    TreeNode<K, V> replacementTreeNode(Node<K, V> p, Node<K, V> next) {
+        return new TreeNode<>(p.hash, p.key, p.value, next);
+    }
+
+    // Callbacks to allow MyLinkedHashMap post-actions
+    void afterNodeAccess(Node<K, V> p) { }
+    void afterNodeInsertion() { }
+    void afterNodeRemoval(Node<K, V> p) { }
+
+    /*
+     * With RANDOMIZED_HASH a String bin long enough to treeify in a table
+     * this large is taken as a flooding attempt: the map switches to seeded
+     * hashing once and rehashes in place instead.
+     */
+    private void treeifyBin(Node<K, V>[] tab, int hash) {
+        int n, index; Node<K, V> e;
+        if (tab == null || (n = tab.length) < MIN_TREEIFY_CAPACITY)
+            resize();
+        else if (strategy != null)
+            return; // tree bins order keys by compareTo, which may disagree with the strategy
+        else if (randomizedHash && !seeded &&
+                (e = tab[(n - 1) & hash]) != null && e.key instanceof String) {
+            SecureRandom random = SEED_GENERATOR;
+            synchronized (random) {
+                hashSeed0 = random.nextLong();
+                hashSeed1 = random.nextLong();
+            }
+            seeded = true;
+            rehashTo(n, true);
+        }
+        else if ((e = tab[index = (n - 1) & hash]) != null) {
+            TreeNode<K, V> hd = null, tl = null;
+            do {
+                TreeNode<K, V> p = replacementTreeNode(e, null);
+                if (tl == null)
+                    hd = p;
+                else {
+                    p.prev = tl;
+                    tl.next = p;
+                }
+                tl = p;
+            } while ((e = e.next) != null);
+            if ((tab[index] = hd) != null)
+                hd.treeify(tab);
+        }
+    }
+
+    // extends MyLinkedHashMap.Entry so it can be used as either a plain or linked node
+    static final class TreeNode<K, V> extends MyLinkedHashMap.Entry<K, V> {
+        TreeNode<K, V> parent; // red-black tree links
+        TreeNode<K, V> left;
+        TreeNode<K, V> right;
+        TreeNode<K, V> prev; // needed to unlink next upon deletion
+        boolean red;
+
+        TreeNode(int hash, K key, V value, Node<K, V> next) {
+            super(hash, key, value, next);
+        }
+
+        TreeNode<K, V> root() {
+            for (TreeNode<K, V> r = this, p; ; ) {
+                if ((p = r.parent) == null)
+                    return r;
+                r = p;
+            }
+        }
+
+        static <K, V> void moveRootToFront(Node<K, V>[] tab, TreeNode<K, V> root) {
+            int n;
+            if (root != null && tab != null && (n = tab.length) > 0) {
+                int index = (n - 1) & root.hash;
+                TreeNode<K, V> first = (TreeNode<K, V>) tab[index];
+                if (root != first) {
+                    Node<K, V> rn;
+                    tab[index] = root;
+                    TreeNode<K, V> rp = root.prev;
+                    if ((rn = root.next) != null)
+                        ((TreeNode<K, V>) rn).prev = rp;
+                    if (rp != null)
+                        rp.next = rn;
+                    if (first != null)
+                        first.prev = root;
+                    root.next = first;
+                    root.prev = null;
+                }
+            }
+        }
+
+        TreeNode<K, V> find(int h, Object k, Class<?> kc) {
+            TreeNode<K, V> p = this;
+            do {
+                int ph, dir; K pk;
+                TreeNode<K, V> pl = p.left, pr = p.right, q;
+                if ((ph = p.hash) > h)
+                    p = pl;
+                else if (ph < h)
+                    p = pr;
+                else if ((pk = p.key) == k || (k != null && k.equals(pk)))
+                    return p;
+                else if (pl == null)
+                    p = pr;
+                else if (pr == null)
+                    p = pl;
+                else if ((kc != null ||
+                        (kc = comparableClassFor(k)) != null) &&
+                        (dir = compareComparables(kc, k, pk)) != 0)
+                    p = (dir < 0) ? pl : pr;
+                else if ((q = pr.find(h, k, kc)) != null)
+                    return q;
+                else
+                    p = pl;
+            } while (p != null);
+            return null;
+        }
+
+        TreeNode<K, V> getTreeNode(int h, Object k) {
+            return ((parent != null) ? root() : this).find(h, k, null);
+        }
+
+        /*
+         * Keys with equal hashes that are not mutually comparable still need
+         * a consistent insertion order, so fall back to class name and then
+         * identity hash. Lookups do not rely on it: find() searches both
+         * subtrees when compareTo cannot decide.
+         */
+        static int tieBreakOrder(Object a, Object b) {
+            int d;
+            if (a == null || b == null ||
+                    (d = a.getClass().getName().
+                            compareTo(b.getClass().getName())) == 0)
+                d = (System.identityHashCode(a) <= System.identityHashCode(b) ?
+                        -1 : 1);
+            return d;
+        }
+
+        void treeify(Node<K, V>[] tab) {
+            TreeNode<K, V> root = null;
+            for (TreeNode<K, V> x = this, next; x != null; x = next) {
+                next = (TreeNode<K, V>) x.next;
+                x.left = x.right = null;
+                if (root == null) {
+                    x.parent = null;
+                    x.red = false;
+                    root = x;
+                }
+                else {
+                    K k = x.key;
+                    int h = x.hash;
+                    Class<?> kc = null;
+                    for (TreeNode<K, V> p = root; ; ) {
+                        int dir, ph;
+                        K pk = p.key;
+                        if ((ph = p.hash) > h)
+                            dir = -1;
+                        else if (ph < h)
+                            dir = 1;
+                        else if ((kc == null &&
+                                (kc = comparableClassFor(k)) == null) ||
+                                (dir = compareComparables(kc, k, pk)) == 0)
+                            dir = tieBreakOrder(k, pk);
+
+                        TreeNode<K, V> xp = p;
+                        if ((p = (dir <= 0) ? p.left : p.right) == null) {
+                            x.parent = xp;
+                            if (dir <= 0)
+                                xp.left = x;
+                            else
+                                xp.right = x;
+                            root = balanceInsertion(root, x);
+                            break;
+                        }
+                    }
+                }
+            }
+            moveRootToFront(tab, root);
+        }
+
+        Node<K, V> untreeify(MyHashMap<K, V> map) {
+            Node<K, V> hd = null, tl = null;
+            for (Node<K, V> q = this; q != null; q = q.next) {
+                Node<K, V> p = map.replacementNode(q, null);
+                if (tl == null)
+                    hd = p;
+                else
+                    tl.next = p;
+                tl = p;
+            }
+            return hd;
+        }
+
+        TreeNode<K, V> putTreeVal(MyHashMap<K, V> map, Node<K, V>[] tab,
+                                  int h, K k, V v) {
+            Class<?> kc = null;
+            boolean searched = false;
+            TreeNode<K, V> root = (parent != null) ? root() : this;
+            for (TreeNode<K, V> p = root; ; ) {
+                int dir, ph; K pk;
+                if ((ph = p.hash) > h)
+                    dir = -1;
+                else if (ph < h)
+                    dir = 1;
+                else if ((pk = p.key) == k || (k != null && k.equals(pk)))
+                    return p;
+                else if ((kc == null &&
+                        (kc = comparableClassFor(k)) == null) ||
+                        (dir = compareComparables(kc, k, pk)) == 0) {
+                    if (!searched) {
+                        TreeNode<K, V> q, ch;
+                        searched = true;
+                        if (((ch = p.left) != null &&
+                                (q = ch.find(h, k, kc)) != null) ||
+                                ((ch = p.right) != null &&
+                                        (q = ch.find(h, k, kc)) != null))
+                            return q;
+                    }
+                    dir = tieBreakOrder(k, pk);
+                }
+
+                TreeNode<K, V> xp = p;
+                if ((p = (dir <= 0) ? p.left : p.right) == null) {
+                    Node<K, V> xpn = xp.next;
+                    TreeNode<K, V> x = map.newTreeNode(h, k, v, xpn);
+                    if (dir <= 0)
+                        xp.left = x;
+                    else
+                        xp.right = x;
+                    xp.next = x;
+                    x.parent = x.prev = xp;
+                    if (xpn != null)
+                        ((TreeNode<K, V>) xpn).prev = x;
+                    moveRootToFront(tab, balanceInsertion(root, x));
+                    return null;
+                }
+            }
+        }
+
+        void removeTreeNode(MyHashMap<K, V> map, Node<K, V>[] tab,
+                            boolean movable) {
+            int n;
+            if (tab == null || (n = tab.length) == 0)
+                return;
+            int index = (n - 1) & hash;
+            TreeNode<K, V> first = (TreeNode<K, V>) tab[index], root = first, rl;
+            TreeNode<K, V> succ = (TreeNode<K, V>) next, pred = prev;
+            if (pred == null)
+                tab[index] = first = succ;
+            else
+                pred.next = succ;
+            if (succ != null)
+                succ.prev = pred;
+            if (first == null)
+                return;
+            if (root.parent != null)
+                root = root.root();
+            if (root == null
+                    || (movable
+                    && (root.right == null
+                    || (rl = root.left) == null
+                    || rl.left == null))) {
+                tab[index] = first.untreeify(map); // too small
+                return;
+            }
+            TreeNode<K, V> p = this, pl = left, pr = right, replacement;
+            if (pl != null && pr != null) {
+                TreeNode<K, V> s = pr, sl;
+                while ((sl = s.left) != null) // find successor
+                    s = sl;
+                boolean c = s.red; s.red = p.red; p.red = c; // swap colors
+                TreeNode<K, V> sr = s.right;
+                TreeNode<K, V> pp = p.parent;
+                if (s == pr) { // p was s's direct parent
+                    p.parent = s;
+                    s.right = p;
+                }
+                else {
+                    TreeNode<K, V> sp = s.parent;
+                    if ((p.parent = sp) != null) {
+                        if (s == sp.left)
+                            sp.left = p;
+                        else
+                            sp.right = p;
+                    }
+                    if ((s.right = pr) != null)
+                        pr.parent = s;
+                }
+                p.left = null;
+                if ((p.right = sr) != null)
+                    sr.parent = p;
+                if ((s.left = pl) != null)
+                    pl.parent = s;
+                if ((s.parent = pp) == null)
+                    root = s;
+                else if (p == pp.left)
+                    pp.left = s;
+                else
+                    pp.right = s;
+                if (sr != null)
+                    replacement = sr;
+                else
+                    replacement = p;
+            }
+            else if (pl != null)
+                replacement = pl;
+            else if (pr != null)
+                replacement = pr;
+            else
+                replacement = p;
+            if (replacement != p) {
+                TreeNode<K, V> pp = replacement.parent = p.parent;
+                if (pp == null)
+                    (root = replacement).red = false;
+                else if (p == pp.left)
+                    pp.left = replacement;
+                else
+                    pp.right = replacement;
+                p.left = p.right = p.parent = null;
+            }
+
+            TreeNode<K, V> r = p.red ? root : balanceDeletion(root, replacement);
+
+            if (replacement == p) { // detach
+                TreeNode<K, V> pp = p.parent;
+                p.parent = null;
+                if (pp != null) {
+                    if (p == pp.left)
+                        pp.left = null;
+                    else if (p == pp.right)
+                        pp.right = null;
+                }
+            }
+            if (movable)
+                moveRootToFront(tab, r);
+        }
+
+        void split(MyHashMap<K, V> map, Node<K, V>[] tab, int index, int bit) {
+            TreeNode<K, V> loHead = null, loTail = null;
+            TreeNode<K, V> hiHead = null, hiTail = null;
+            int lc = 0, hc = 0;
+            for (TreeNode<K, V> e = this, next; e != null; e = next) {
+                next = (TreeNode<K, V>) e.next;
+                e.next = null;
+                if ((e.hash & bit) == 0) {
+                    if ((e.prev = loTail) == null)
+                        loHead = e;
+                    else
+                        loTail.next = e;
+                    loTail = e;
+                    ++lc;
+                }
+                else {
+                    if ((e.prev = hiTail) == null)
+                        hiHead = e;
+                    else
+                        hiTail.next = e;
+                    hiTail = e;
+                    ++hc;
+                }
+            }
+
+            if (loHead != null) {
+                if (lc <= UNTREEIFY_THRESHOLD)
+                    tab[index] = loHead.untreeify(map);
+                else {
+                    tab[index] = loHead;
+                    if (hiHead != null) // (else is already treeified)
+                        loHead.treeify(tab);
+                }
+            }
+            if (hiHead != null) {
+                if (hc <= UNTREEIFY_THRESHOLD)
+                    tab[index + bit] = hiHead.untreeify(map);
+                else {
+                    tab[index + bit] = hiHead;
+                    if (loHead != null)
+                        hiHead.treeify(tab);
+                }
+            }
+        }
+
+        static <K, V> TreeNode<K, V> rotateLeft(TreeNode<K, V> root,
+                                                TreeNode<K, V> p) {
+            TreeNode<K, V> r, pp, rl;
+            if (p != null && (r = p.right) != null) {
+                if ((rl = p.right = r.left) != null)
+                    rl.parent = p;
+                if ((pp = r.parent = p.parent) == null)
+                    (root = r).red = false;
+                else if (pp.left == p)
+                    pp.left = r;
+                else
+                    pp.right = r;
+                r.left = p;
+                p.parent = r;
+            }
+            return root;
+        }
+
+        static <K, V> TreeNode<K, V> rotateRight(TreeNode<K, V> root,
+                                                 TreeNode<K, V> p) {
+            TreeNode<K, V> l, pp, lr;
+            if (p != null && (l = p.left) != null) {
+                if ((lr = p.left = l.right) != null)
+                    lr.parent = p;
+                if ((pp = l.parent = p.parent) == null)
+                    (root = l).red = false;
+                else if (pp.right == p)
+                    pp.right = l;
+                else
+                    pp.left = l;
+                l.right = p;
+                p.parent = l;
+            }
+            return root;
+        }
+
+        static <K, V> TreeNode<K, V> balanceInsertion(TreeNode<K, V> root,
+                                                      TreeNode<K, V> x) {
+            x.red = true;
+            for (TreeNode<K, V> xp, xpp, xppl, xppr; ; ) {
+                if ((xp = x.parent) == null) {
+                    x.red = false;
+                    return x;
+                }
+                else if (!xp.red || (xpp = xp.parent) == null)
+                    return root;
+                if (xp == (xppl = xpp.left)) {
+                    if ((xppr = xpp.right) != null && xppr.red) {
+                        xppr.red = false;
+                        xp.red = false;
+                        xpp.red = true;
+                        x = xpp;
+                    }
+                    else {
+                        if (x == xp.right) {
+                            root = rotateLeft(root, x = xp);
+                            xpp = (xp = x.parent) == null ? null : xp.parent;
+                        }
+                        if (xp != null) {
+                            xp.red = false;
+                            if (xpp != null) {
+                                xpp.red = true;
+                                root = rotateRight(root, xpp);
+                            }
+                        }
+                    }
+                }
+                else {
+                    if (xppl != null && xppl.red) {
+                        xppl.red = false;
+                        xp.red = false;
+                        xpp.red = true;
+                        x = xpp;
+                    }
+                    else {
+                        if (x == xp.left) {
+                            root = rotateRight(root, x = xp);
+                            xpp = (xp = x.parent) == null ? null : xp.parent;
+                        }
+                        if (xp != null) {
+                            xp.red = false;
+                            if (xpp != null) {
+                                xpp.red = true;
+                                root = rotateLeft(root, xpp);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        static <K, V> TreeNode<K, V> balanceDeletion(TreeNode<K, V> root,
+                                                     TreeNode<K, V> x) {
+            for (TreeNode<K, V> xp, xpl, xpr; ; ) {
+                if (x == null || x == root)
+                    return root;
+                else if ((xp = x.parent) == null) {
+                    x.red = false;
+                    return x;
+                }
+                else if (x.red) {
+                    x.red = false;
+                    return root;
+                }
+                else if ((xpl = xp.left) == x) {
+                    if ((xpr = xp.right) != null && xpr.red) {
+                        xpr.red = false;
+                        xp.red = true;
+                        root = rotateLeft(root, xp);
+                        xpr = (xp = x.parent) == null ? null : xp.right;
+                    }
+                    if (xpr == null)
+                        x = xp;
+                    else {
+                        TreeNode<K, V> sl = xpr.left, sr = xpr.right;
+                        if ((sr == null || !sr.red) &&
+                                (sl == null || !sl.red)) {
+                            xpr.red = true;
+                            x = xp;
+                        }
+                        else {
+                            if (sr == null || !sr.red) {
+                                if (sl != null)
+                                    sl.red = false;
+                                xpr.red = true;
+                                root = rotateRight(root, xpr);
+                                xpr = (xp = x.parent) == null ?
+                                        null : xp.right;
+                            }
+                            if (xpr != null) {
+                                xpr.red = (xp != null) && xp.red;
+                                if ((sr = xpr.right) != null)
+                                    sr.red = false;
+                            }
+                            if (xp != null) {
+                                xp.red = false;
+                                root = rotateLeft(root, xp);
+                            }
+                            x = root;
+                        }
+                    }
+                }
+                else { // symmetric
+                    if (xpl != null && xpl.red) {
+                        xpl.red = false;
+                        xp.red = true;
+                        root = rotateRight(root, xp);
+                        xpl = (xp = x.parent) == null ? null : xp.left;
+                    }
+                    if (xpl == null)
+                        x = xp;
+                    else {
+                        TreeNode<K, V> sl = xpl.left, sr = xpl.right;
+                        if ((sl == null || !sl.red) &&
+                                (sr == null || !sr.red)) {
+                            xpl.red = true;
+                            x = xp;
+                        }
+                        else {
+                            if (sl == null || !sl.red) {
+                                if (sr != null)
+                                    sr.red = false;
+                                xpl.red = true;
+                                root = rotateLeft(root, xpl);
+                                xpl = (xp = x.parent) == null ?
+                                        null : xp.left;
+                            }
+                            if (xpl != null) {
+                                xpl.red = (xp != null) && xp.red;
+                                if ((sl = xpl.left) != null)
+                                    sl.red = false;
+                            }
+                            if (xp != null) {
+                                xp.red = false;
+                                root = rotateRight(root, xp);
+                            }
+                            x = root;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        Node<K, V>[] tab; Object[] a;
+        modCount++;
+        oldTable = null;
+        if ((a = compact) != null) {
+            Arrays.fill(a, 0, size << 1, null);
+            size = 0;
+        }
+        else if (autoShrink) { // release the table, a COMPACT map goes back inline
+            table = null;
+            threshold = 0;
+            size = 0;
+            if (compactMode)
+                emptyCompact();
+        }
+        else if ((tab = table) != null && size > 0) {
+            size = 0;
+            Arrays.fill(tab, null);
+        }
+    }
+
+    /* ---------------- Compact storage -------------- */
+
+    /*
+     * A COMPACT map keeps up to COMPACT_THRESHOLD mappings in compact, with
+     * their hashes alongside in compactHashes, and finds a key by scanning
+     * the hashes: no table and no nodes, and equals() only runs on a hash
+     * match. The arrays grow 2, 4, 8 mappings at a time; the next insertion
+     * moves everything into a table. Entries keep insertion order while
+     * inline, and removal shifts the later ones down.
+     */
+
+    private void emptyCompact() {
+        compact = EMPTY_COMPACT;
+        compactHashes = EMPTY_COMPACT_HASHES;
+    }
+
+    // slot of key in compact, or -1
+    @SuppressWarnings("unchecked")
+    private int compactIndexOf(Object key) {
+        Object[] a = compact;
+        int[] hs = compactHashes;
+        int h = hashOf(key);
+        for (int j = 0, n = size; j < n; j++) {
+            Object k;
+            if (hs[j] == h &&
+                    ((k = a[j << 1]) == key || (key != null && keyEquals(key, (K) k))))
+                return j << 1;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V compactGet(Object key, V defaultValue) {
+        int i = compactIndexOf(key);
+        return i < 0 ? defaultValue : (V) compact[i + 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V compactPut(K key, V value, boolean onlyIfAbsent) {
+        int i = compactIndexOf(key);
+        if (i < 0) {
+            compactInsert(key, value);
+            return null;
+        }
+        V oldValue = (V) compact[i + 1];
+        if (!onlyIfAbsent || oldValue == null)
+            compact[i + 1] = value;
+        return oldValue;
+    }
+
+    // adds a mapping the caller did not find
+    private void compactInsert(K key, V value) {
+        int n = size << 1;
+        if (size == COMPACT_THRESHOLD) {
+            inflate(size + 1);
+            putVal(hashOf(key), key, value, false);
+            return;
+        }
+        Object[] a = compact;
+        int[] hs = compactHashes;
+        if (n == a.length) {
+            compact = a = Arrays.copyOf(a, Math.max(4, n << 1));
+            compactHashes = hs = Arrays.copyOf(hs, a.length >>> 1);
+        }
+        a[n] = key;
+        a[n + 1] = value;
+        hs[size] = hashOf(key);
+        ++modCount;
+        ++size;
+    }
+
+    private void compactRemoveAt(int i) {
+        Object[] a = compact;
+        int n = size << 1;
+        System.arraycopy(a, i + 2, a, i, n - i - 2);
+        System.arraycopy(compactHashes, (i >> 1) + 1, compactHashes, i >> 1, size - (i >> 1) - 1);
+        a[n - 2] = a[n - 1] = null;
+        ++modCount;
+        --size;
+    }
+
+    // moves the inline mappings into a table sized for expectedSize
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void inflate(int expectedSize) {
+        Object[] a = compact;
+        int[] hs = compactHashes;
+        float ft = ((float) expectedSize / loadFactor) + 1.0F;
+        int cap = tableSizeFor(ft < (float) MAXIMUM_CAPACITY ? (int) ft : MAXIMUM_CAPACITY);
+        Node<K, V>[] tab = (Node<K, V>[]) new Node[cap];
+        for (int i = 0; i < size; i++) {
+            int h = hs[i], j = h & (cap - 1);
+            tab[j] = newNode(h, (K) a[i << 1], (V) a[(i << 1) + 1], tab[j]);
+        }
+        float thr = (float) cap * loadFactor;
+        threshold = (cap < MAXIMUM_CAPACITY && thr < (float) MAXIMUM_CAPACITY ?
+                (int) thr : Integer.MAX_VALUE);
+        table = tab;
+        compact = null;
+        compactHashes = null;
+        ++resizeCount;
+        ++modCount;
+    }
+
+    // moves all mappings of the table into the inline array
+    private void deflate() {
+        if (oldTable != null)
+            completeResize();
+        if (size == 0)
+            emptyCompact();
+        else {
+            Object[] a = new Object[Math.max(4, size << 1)];
+            int[] hs = new int[a.length >>> 1];
+            int i = 0;
+            for (Node<K, V> b : table) {
+                for (Node<K, V> e = b; e != null; e = e.next) {
+                    hs[i >> 1] = e.hash;
+                    a[i++] = e.key;
+                    a[i++] = e.value;
+                }
+            }
+            compact = a;
+            compactHashes = hs;
+        }
+        table = null;
+        threshold = 0;
+        ++modCount;
+    }
+
+    /*
+     * AUTO_SHRINK after a removal: a table less than a quarter full is
+     * halved, which keeps a drain linear overall, and a COMPACT map that is
+     * down to half the threshold goes back inline. Tables are not shrunk
+     * below the default capacity, so a map that keeps a few mappings does
+     * not reallocate its table on every put and remove.
+     */
+    private void shrinkIfSparse() {
+        Node<K, V>[] tab;
+        if (oldTable != null || (tab = table) == null)
+            return;
+        if (compactMode && size <= COMPACT_THRESHOLD / 2)
+            deflate();
+        else if (tab.length > DEFAULT_INITIAL_CAPACITY && size < threshold >>> 2) {
+            rehashTo(tab.length >>> 1, false);
+            ++modCount;
+        }
+    }
+
+    /*
+     * Shrinks the storage to fit the current mappings: the smallest table
+     * that holds them under the load factor, the inline array for a COMPACT
+     * map that is small enough, and no storage at all for an empty map.
+     */
+    public void trimToSize() {
+        if (oldTable != null)
+            completeResize();
+        Object[] a;
+        if ((a = compact) != null) {
+            int n = size << 1;
+            if (a.length > n) {
+                if (n == 0)
+                    emptyCompact();
+                else {
+                    compact = Arrays.copyOf(a, n);
+                    compactHashes = Arrays.copyOf(compactHashes, size);
+                }
+                ++modCount;
+            }
+        }
+        else if (table != null) {
+            if (size == 0) {
+                table = null;
+                threshold = 0;
+                if (compactMode)
+                    emptyCompact();
+                ++modCount;
+            }
+            else if (compactMode && size <= COMPACT_THRESHOLD) {
+                deflate();
+                trimToSize();
+            }
+            else {
+                float ft = ((float) size / loadFactor) + 1.0F;
+                int cap = tableSizeFor(ft < (float) MAXIMUM_CAPACITY ? (int) ft : MAXIMUM_CAPACITY);
+                if (cap < table.length) {
+                    rehashTo(cap, false);
+                    ++modCount;
+                }
+            }
+        }
+    }
+
+    boolean isCompact() {
+        return compact != null;
+    }
+
+    /* ---------------- Views -------------- */
+
+    /*
+     * The views are backed by the map and created once. Their iterators and
+     * spliterators are fail-fast: a structural change made other than
+     * through the iterator itself makes the next step throw
+     * ConcurrentModificationException.
+     */
+
+    public Set<K> keySet() {
+        Set<K> ks;
+        return (ks = keySet) == null ? (keySet = new KeySet()) : ks;
+    }
+
+    public Collection<V> values() {
+        Collection<V> vs;
+        return (vs = values) == null ? (values = new Values()) : vs;
+    }
+
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> es;
+        return (es = entrySet) == null ? (entrySet = new EntrySet()) : es;
+    }
+
+    /*
+     * Iterators and spliterators walk table directly, so a resize still in
+     * progress is finished before they start.
+     */
+    private Node<K, V>[] tableForTraversal() {
+        if (compact != null)
+            return compactNodes();
+        if (oldTable != null)
+            completeResize();
+        return table;
+    }
+
+    // a throwaway table of copies of the inline mappings, for read-only walks
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Node<K, V>[] compactNodes() {
+        Object[] a = compact;
+        Node<K, V>[] tab = (Node<K, V>[]) new Node[size];
+        for (int i = 0; i < tab.length; i++)
+            tab[i] = new Node<>(0, (K) a[i << 1], (V) a[(i << 1) + 1], null);
+        return tab;
+    }
+
+    final class KeySet extends AbstractSet<K> {
+        public int size()                 { return size; }
+        public void clear()               { MyHashMap.this.clear(); }
+        public Iterator<K> iterator() {
+            return compact != null ? new CompactKeyIterator() : new KeyIterator();
+        }
+        public boolean contains(Object o) { return containsKey(o); }
+        public boolean remove(Object key) {
+            if (compact != null) {
+                int i = compactIndexOf(key);
+                if (i >= 0)
+                    compactRemoveAt(i);
+                return i >= 0;
+            }
+            return removeNode(hashOf(key), key, null, false, true) != null;
+        }
+        public Spliterator<K> spliterator() {
+            if (compact != null)
+                return Spliterators.spliterator(this, Spliterator.DISTINCT);
+            return new KeySpliterator<>(MyHashMap.this, 0, -1, 0, 0);
+        }
+        public void forEach(Consumer<? super K> action) {
+            if (action == null)
+                throw new NullPointerException();
+            MyHashMap.this.forEach((k, v) -> action.accept(k));
+        }
+    }
+
+    final class Values extends AbstractCollection<V> {
+        public int size()                 { return size; }
+        public void clear()               { MyHashMap.this.clear(); }
+        public Iterator<V> iterator() {
+            return compact != null ? new CompactValueIterator() : new ValueIterator();
+        }
+        public boolean contains(Object o) { return containsValue(o); }
+        public Spliterator<V> spliterator() {
+            if (compact != null)
+                return Spliterators.spliterator(this, 0);
+            return new ValueSpliterator<>(MyHashMap.this, 0, -1, 0, 0);
+        }
+        public void forEach(Consumer<? super V> action) {
+            if (action == null)
+                throw new NullPointerException();
+            MyHashMap.this.forEach((k, v) -> action.accept(v));
+        }
+    }
+
+    final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+        public int size()                 { return size; }
+        public void clear()               { MyHashMap.this.clear(); }
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return compact != null ? new CompactEntryIterator() : new EntryIterator();
+        }
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry<?, ?> e))
+                return false;
+            if (compact != null) {
+                int i = compactIndexOf(e.getKey());
+                return i >= 0 && Objects.equals(compact[i + 1], e.getValue());
+            }
+            Node<K, V> candidate = getNode(e.getKey());
+            return candidate != null && Objects.equals(candidate.value, e.getValue());
+        }
+        public boolean remove(Object o) {
+            if (o instanceof Map.Entry<?, ?> e) {
+                Object key = e.getKey();
+                Object value = e.getValue();
+                if (compact != null) {
+                    int i = compactIndexOf(key);
+                    if (i < 0 || !Objects.equals(compact[i + 1], value))
+                        return false;
+                    compactRemoveAt(i);
+                    return true;
+                }
+                return removeNode(hashOf(key), key, value, true, true) != null;
+            }
+            return false;
+        }
+        public Spliterator<Map.Entry<K, V>> spliterator() {
+            if (compact != null)
+                return Spliterators.spliterator(this, Spliterator.DISTINCT);
+            return new EntrySpliterator<>(MyHashMap.this, 0, -1, 0, 0);
+        }
+        public void forEach(Consumer<? super Map.Entry<K, V>> action) {
+            Node<K, V>[] tab;
+            if (action == null)
+                throw new NullPointerException();
+            if (compact != null) {
+                int mc = modCount;
+                for (int i = 0, n = size << 1; i < n && modCount == mc; i += 2)
+                    action.accept(new CompactEntry(i));
+                if (modCount != mc)
+                    throw new ConcurrentModificationException();
+                return;
+            }
+            if (size > 0 && (tab = tableForTraversal()) != null) {
+                int mc = modCount;
+                for (Node<K, V> e : tab) {
+                    for (; e != null; e = e.next)
+                        action.accept(e);
+                }
+                if (modCount != mc)
+                    throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /* ---------------- Iterators -------------- */
+
+    abstract class HashIterator {
+        Node<K, V> next;        // next entry to return
+        Node<K, V> current;     // current entry
+        int expectedModCount;   // for fast-fail
+        int index;              // current slot
+
+        HashIterator() {
+            Node<K, V>[] t = tableForTraversal();
+            expectedModCount = modCount;
+            current = next = null;
+            index = 0;
+            if (t != null && size > 0) { // advance to first entry
+                do {} while (index < t.length && (next = t[index++]) == null);
+            }
+        }
+
+        public final boolean hasNext() {
+            return next != null;
+        }
+
+        final Node<K, V> nextNode() {
+            Node<K, V>[] t;
+            Node<K, V> e = next;
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (e == null)
+                throw new NoSuchElementException();
+            if ((next = (current = e).next) == null && (t = table) != null) {
+                do {} while (index < t.length && (next = t[index++]) == null);
+            }
+            return e;
+        }
+
+        public final void remove() {
+            Node<K, V> p = current;
+            if (p == null)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            current = null;
+            // not movable: the iterator's position must stay valid in tree bins
+            removeNode(p.hash, p.key, null, false, false);
+            expectedModCount = modCount;
+        }
+    }
+
+    final class KeyIterator extends HashIterator implements Iterator<K> {
+        public K next() { return nextNode().key; }
+    }
+
+    final class ValueIterator extends HashIterator implements Iterator<V> {
+        public V next() { return nextNode().value; }
+    }
+
+    final class EntryIterator extends HashIterator implements Iterator<Map.Entry<K, V>> {
+        public Map.Entry<K, V> next() { return nextNode(); }
+    }
+
+    // walks the inline array of a COMPACT map
+    abstract class CompactIterator {
+        int next;               // slot of the next key
+        int current = -1;       // slot of the last returned key
+        int expectedModCount = modCount;
+
+        public final boolean hasNext() {
+            return next < size << 1;
+        }
+
+        final int nextSlot() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (next >= size << 1)
+                throw new NoSuchElementException();
+            current = next;
+            next += 2;
+            return current;
+        }
+
+        public final void remove() {
+            if (current < 0)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            compactRemoveAt(current); // the following entries move down one place
+            next = current;
+            current = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    final class CompactKeyIterator extends CompactIterator implements Iterator<K> {
+        @SuppressWarnings("unchecked")
+        public K next() { return (K) compact[nextSlot()]; }
+    }
+
+    final class CompactValueIterator extends CompactIterator implements Iterator<V> {
+        @SuppressWarnings("unchecked")
+        public V next() { return (V) compact[nextSlot() + 1]; }
+    }
+
+    final class CompactEntryIterator extends CompactIterator implements Iterator<Map.Entry<K, V>> {
+        public Map.Entry<K, V> next() { return new CompactEntry(nextSlot()); }
+    }
+
+    // entry of an inline mapping; setValue writes through while the key is still inline
+    final class CompactEntry extends AbstractMap.SimpleEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        @SuppressWarnings("unchecked")
+        CompactEntry(int slot) {
+            super((K) compact[slot], (V) compact[slot + 1]);
+        }
+
+        public V setValue(V value) {
+            int i;
+            if (compact != null && (i = compactIndexOf(getKey())) >= 0)
+                compact[i + 1] = value;
+            return super.setValue(value);
+        }
+    }
+
+    /* ---------------- Spliterators -------------- */
+
+    /*
+     * Splits the bucket range in halves, so parallel streams partition the
+     * table without copying it. The size estimate halves with each split.
+     */
+    static class HashMapSpliterator<K, V> {
+        final MyHashMap<K, V> map;
+        Node<K, V> current;     // current node
+        int index;              // current index, modified on advance/split
+        int fence;              // one past last index
+        int est;                // size estimate
+        int expectedModCount;   // for comodification checks
+
+        HashMapSpliterator(MyHashMap<K, V> m, int origin,
+                           int fence, int est,
+                           int expectedModCount) {
+            this.map = m;
+            this.index = origin;
+            this.fence = fence;
+            this.est = est;
+            this.expectedModCount = expectedModCount;
+        }
+
+        final int getFence() { // initialize fence and size on first use
+            int hi;
+            if ((hi = fence) < 0) {
+                MyHashMap<K, V> m = map;
+                Node<K, V>[] tab = m.tableForTraversal();
+                est = m.size;
+                expectedModCount = m.modCount;
+                hi = fence = (tab == null) ? 0 : tab.length;
+            }
+            return hi;
+        }
+
+        public final long estimateSize() {
+            getFence(); // force init
+            return (long) est;
+        }
+
+        final int characteristics(boolean distinct) {
+            return (fence < 0 || est == map.size ? Spliterator.SIZED : 0) |
+                    (distinct ? Spliterator.DISTINCT : 0);
+        }
+    }
+
+    static final class KeySpliterator<K, V>
+            extends HashMapSpliterator<K, V>
+            implements Spliterator<K> {
+        KeySpliterator(MyHashMap<K, V> m, int origin, int fence, int est,
+                       int expectedModCount) {
+            super(m, origin, fence, est, expectedModCount);
+        }
+
+        public KeySpliterator<K, V> trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid || current != null) ? null :
+                    new KeySpliterator<>(map, lo, index = mid, est >>>= 1,
+                            expectedModCount);
+        }
+
+        public void forEachRemaining(Consumer<? super K> action) {
+            int i, hi, mc;
+            if (action == null)
+                throw new NullPointerException();
+            MyHashMap<K, V> m = map;
+            Node<K, V>[] tab = m.table;
+            if ((hi = fence) < 0) {
+                tab = m.tableForTraversal();
+                mc = expectedModCount = m.modCount;
+                hi = fence = (tab == null) ? 0 : tab.length;
+            }
+            else
+                mc = expectedModCount;
+            if (tab != null && tab.length >= hi &&
+                    (i = index) >= 0 && (i < (index = hi) || current != null)) {
+                Node<K, V> p = current;
+                current = null;
+                do {
+                    if (p == null)
+                        p = tab[i++];
+                    else {
+                        action.accept(p.key);
+                        p = p.next;
+                    }
+                } while (p != null || i < hi);
+                if (m.modCount != mc)
+                    throw new ConcurrentModificationException();
+            }
+        }
+
+        public boolean tryAdvance(Consumer<? super K> action) {
+            int hi;
+            if (action == null)
+                throw new NullPointerException();
+            Node<K, V>[] tab = map.table;
+            if (tab != null && tab.length >= (hi = getFence()) && index >= 0) {
+                while (current != null || index < hi) {
+                    if (current == null)
+                        current = tab[index++];
+                    else {
+                        K k = current.key;
+                        current = current.next;
+                        action.accept(k);
+                        if (map.modCount != expectedModCount)
+                            throw new ConcurrentModificationException();
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        public int characteristics() {
+            return characteristics(true);
+        }
+    }
+
+    static final class ValueSpliterator<K, V>
+            extends HashMapSpliterator<K, V>
+            implements Spliterator<V> {
+        ValueSpliterator(MyHashMap<K, V> m, int origin, int fence, int est,
+                         int expectedModCount) {
+            super(m, origin, fence, est, expectedModCount);
+        }
+
+        public ValueSpliterator<K, V> trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid || current != null) ? null :
+                    new ValueSpliterator<>(map, lo, index = mid, est >>>= 1,
+                            expectedModCount);
+        }
+
+        public void forEachRemaining(Consumer<? super V> action) {
+            int i, hi, mc;
+            if (action == null)
+                throw new NullPointerException();
+            MyHashMap<K, V> m = map;
+            Node<K, V>[] tab = m.table;
+            if ((hi = fence) < 0) {
+                tab = m.tableForTraversal();
+                mc = expectedModCount = m.modCount;
+                hi = fence = (tab == null) ? 0 : tab.length;
+            }
+            else
+                mc = expectedModCount;
+            if (tab != null && tab.length >= hi &&
+                    (i = index) >= 0 && (i < (index = hi) || current != null)) {
+                Node<K, V> p = current;
+                current = null;
+                do {
+                    if (p == null)
+                        p = tab[i++];
+                    else {
+                        action.accept(p.value);
+                        p = p.next;
+                    }
+                } while (p != null || i < hi);
+                if (m.modCount != mc)
+                    throw new ConcurrentModificationException();
+            }
+        }
+
+        public boolean tryAdvance(Consumer<? super V> action) {
+            int hi;
+            if (action == null)
+                throw new NullPointerException();
+            Node<K, V>[] tab = map.table;
+            if (tab != null && tab.length >= (hi = getFence()) && index >= 0) {
+                while (current != null || index < hi) {
+                    if (current == null)
+                        current = tab[index++];
+                    else {
+                        V v = current.value;
+                        current = current.next;
+                        action.accept(v);
+                        if (map.modCount != expectedModCount)
+                            throw new ConcurrentModificationException();
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        public int characteristics() {
+            return characteristics(false);
+        }
+    }
+
+    static final class EntrySpliterator<K, V>
+            extends HashMapSpliterator<K, V>
+            implements Spliterator<Map.Entry<K, V>> {
+        EntrySpliterator(MyHashMap<K, V> m, int origin, int fence, int est,
+                         int expectedModCount) {
+            super(m, origin, fence, est, expectedModCount);
+        }
+
+        public EntrySpliterator<K, V> trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid || current != null) ? null :
+                    new EntrySpliterator<>(map, lo, index = mid, est >>>= 1,
+                            expectedModCount);
+        }
+
+        public void forEachRemaining(Consumer<? super Map.Entry<K, V>> action) {
+            int i, hi, mc;
+            if (action == null)
+                throw new NullPointerException();
+            MyHashMap<K, V> m = map;
+            Node<K, V>[] tab = m.table;
+            if ((hi = fence) < 0) {
+                tab = m.tableForTraversal();
+                mc = expectedModCount = m.modCount;
+                hi = fence = (tab == null) ? 0 : tab.length;
+            }
+            else
+                mc = expectedModCount;
+            if (tab != null && tab.length >= hi &&
+                    (i = index) >= 0 && (i < (index = hi) || current != null)) {
+                Node<K, V> p = current;
+                current = null;
+                do {
+                    if (p == null)
+                        p = tab[i++];
+                    else {
+                        action.accept(p);
+                        p = p.next;
+                    }
+                } while (p != null || i < hi);
+                if (m.modCount != mc)
+                    throw new ConcurrentModificationException();
+            }
+        }
+
+        public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+            int hi;
+            if (action == null)
+                throw new NullPointerException();
+            Node<K, V>[] tab = map.table;
+            if (tab != null && tab.length >= (hi = getFence()) && index >= 0) {
+                while (current != null || index < hi) {
+                    if (current == null)
+                        current = tab[index++];
+                    else {
+                        Node<K, V> e = current;
+                        current = current.next;
+                        action.accept(e);
+                        if (map.modCount != expectedModCount)
+                            throw new ConcurrentModificationException();
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        public int characteristics() {
+            return characteristics(true);
+        }
+    }
+
+    /* ---------------- Parallel bulk operations -------------- */
+
+    /*
+     * The bucket array is split into ranges that are processed as ForkJoin
+     * tasks in the common pool. Maps with fewer than parallelismThreshold
+     * mappings are processed in the calling thread; Long.MAX_VALUE turns
+     * parallelism off and 1 gives the most parallelism. The map itself is
+     * not thread-safe: it must not be modified while an operation runs, and
+     * a modification is reported by ConcurrentModificationException. Null
+     * results from transformers are skipped by the reductions, and the basis
+     * of the ToLong reductions must be the identity of the reducer, since
+     * every range starts from it.
+     */
+
+    public void parallelForEach(long parallelismThreshold,
+                                BiConsumer<? super K, ? super V> action) {
+        if (action == null)
+            throw new NullPointerException();
+        invokeBulk(new ForEachTask<>(tableForTraversal(), 0, -1,
+                batchFor(parallelismThreshold), action));
+    }
+
+    /*
+     * Returns a non-null result of searchFunction for some mapping, or null
+     * if there is none. Once a result is found the remaining ranges are
+     * skipped, so which mapping wins is unspecified.
+     */
+    public <U> U search(long parallelismThreshold,
+                        BiFunction<? super K, ? super V, ? extends U> searchFunction) {
+        if (searchFunction == null)
+            throw new NullPointerException();
+        return invokeBulk(new SearchTask<>(tableForTraversal(), 0, -1,
+                batchFor(parallelismThreshold), searchFunction,
+                new AtomicReference<>()));
+    }
+
+    public <U> U reduce(long parallelismThreshold,
+                        BiFunction<? super K, ? super V, ? extends U> transformer,
+                        BiFunction<? super U, ? super U, ? extends U> reducer) {
+        if (transformer == null || reducer == null)
+            throw new NullPointerException();
+        return invokeBulk(new MapReduceTask<>(tableForTraversal(), 0, -1,
+                batchFor(parallelismThreshold), transformer, reducer));
+    }
+
+    public V reduceValues(long parallelismThreshold,
+                          BiFunction<? super V, ? super V, ? extends V> reducer) {
+        if (reducer == null)
+            throw new NullPointerException();
+        return invokeBulk(new MapReduceTask<K, V, V>(tableForTraversal(), 0, -1,
+                batchFor(parallelismThreshold), (k, v) -> v, reducer));
+    }
+
+    public long reduceKeysToLong(long parallelismThreshold,
+                                 ToLongFunction<? super K> transformer,
+                                 long basis,
+                                 LongBinaryOperator reducer) {
+        if (transformer == null || reducer == null)
+            throw new NullPointerException();
+        return invokeBulk(new MapReduceToLongTask<K, V>(tableForTraversal(), 0, -1,
+                batchFor(parallelismThreshold), e -> transformer.applyAsLong(e.key),
+                basis, reducer));
+    }
+
+    public long reduceValuesToLong(long parallelismThreshold,
+                                   ToLongFunction<? super V> transformer,
+                                   long basis,
+                                   LongBinaryOperator reducer) {
+        if (transformer == null || reducer == null)
+            throw new NullPointerException();
+        return invokeBulk(new MapReduceToLongTask<K, V>(tableForTraversal(), 0, -1,
+                batchFor(parallelismThreshold), e -> transformer.applyAsLong(e.value),
+                basis, reducer));
+    }
+
+    /*
+     * Number of times a task may still split in halves, roughly size /
+     * threshold but capped at four tasks per pool thread.
+     */
+    final int batchFor(long b) {
+        long n;
+        if (b == Long.MAX_VALUE || (n = size) <= 1L || n < b)
+            return 0;
+        int sp = ForkJoinPool.getCommonPoolParallelism() << 2; // slack of 4
+        return (b <= 0L || (n /= b) >= sp) ? sp : (int) n;
+    }
+
+    private <R> R invokeBulk(BulkTask<K, V, R> task) {
+        int mc = modCount;
+        R result = task.batch > 0 ? ForkJoinPool.commonPool().invoke(task) : task.invoke();
+        if (modCount != mc)
+            throw new ConcurrentModificationException();
+        return result;
+    }
+
+    @SuppressWarnings("serial")
+    abstract static class BulkTask<K, V, R> extends RecursiveTask<R> {
+        final Node<K, V>[] tab;
+        final int lo;
+        final int hi;
+        final int batch;
+
+        BulkTask(Node<K, V>[] tab, int lo, int hi, int batch) {
+            this.tab = tab;
+            this.lo = lo;
+            this.hi = (hi < 0) ? (tab == null ? 0 : tab.length) : hi;
+            this.batch = batch;
+        }
+
+        abstract BulkTask<K, V, R> subtask(int lo, int hi, int batch);
+
+        abstract R scan(); // processes buckets lo..hi in this thread
+
+        abstract R combine(R left, R right);
+
+        @Override
+        protected final R compute() {
+            int mid;
+            if (batch > 0 && (mid = (lo + hi) >>> 1) > lo) {
+                BulkTask<K, V, R> left = subtask(lo, mid, batch >>> 1);
+                BulkTask<K, V, R> right = subtask(mid, hi, batch >>> 1);
+                left.fork();
+                R r = right.compute();
+                return combine(left.join(), r);
+            }
+            return scan();
+        }
+    }
+
+    @SuppressWarnings("serial")
+    static final class ForEachTask<K, V> extends BulkTask<K, V, Void> {
+        final BiConsumer<? super K, ? super V> action;
+
+        ForEachTask(Node<K, V>[] tab, int lo, int hi, int batch,
+                    BiConsumer<? super K, ? super V> action) {
+            super(tab, lo, hi, batch);
+            this.action = action;
+        }
+
+        ForEachTask<K, V> subtask(int lo, int hi, int batch) {
+            return new ForEachTask<>(tab, lo, hi, batch, action);
+        }
+
+        Void scan() {
+            for (int i = lo; i < hi; ++i) {
+                for (Node<K, V> e = tab[i]; e != null; e = e.next)
+                    action.accept(e.key, e.value);
+            }
+            return null;
+        }
+
+        Void combine(Void left, Void right) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    static final class SearchTask<K, V, U> extends BulkTask<K, V, U> {
+        final BiFunction<? super K, ? super V, ? extends U> searchFunction;
+        final AtomicReference<U> result; // shared by all subtasks
+
+        SearchTask(Node<K, V>[] tab, int lo, int hi, int batch,
+                   BiFunction<? super K, ? super V, ? extends U> searchFunction,
+                   AtomicReference<U> result) {
+            super(tab, lo, hi, batch);
+            this.searchFunction = searchFunction;
+            this.result = result;
+        }
+
+        SearchTask<K, V, U> subtask(int lo, int hi, int batch) {
+            return new SearchTask<>(tab, lo, hi, batch, searchFunction, result);
+        }
+
+        U scan() {
+            for (int i = lo; i < hi && result.get() == null; ++i) {
+                for (Node<K, V> e = tab[i]; e != null; e = e.next) {
+                    U u;
+                    if ((u = searchFunction.apply(e.key, e.value)) != null) {
+                        result.compareAndSet(null, u);
+                        break;
+                    }
+                }
+            }
+            return result.get();
+        }
+
+        U combine(U left, U right) {
+            return result.get();
+        }
+    }
+
+    @SuppressWarnings("serial")
+    static final class MapReduceTask<K, V, U> extends BulkTask<K, V, U> {
+        final BiFunction<? super K, ? super V, ? extends U> transformer;
+        final BiFunction<? super U, ? super U, ? extends U> reducer;
+
+        MapReduceTask(Node<K, V>[] tab, int lo, int hi, int batch,
+                      BiFunction<? super K, ? super V, ? extends U> transformer,
+                      BiFunction<? super U, ? super U, ? extends U> reducer) {
+            super(tab, lo, hi, batch);
+            this.transformer = transformer;
+            this.reducer = reducer;
+        }
+
+        MapReduceTask<K, V, U> subtask(int lo, int hi, int batch) {
+            return new MapReduceTask<>(tab, lo, hi, batch, transformer, reducer);
+        }
+
+        U scan() {
+            U r = null;
+            for (int i = lo; i < hi; ++i) {
+                for (Node<K, V> e = tab[i]; e != null; e = e.next) {
+                    U u;
+                    if ((u = transformer.apply(e.key, e.value)) != null)
+                        r = (r == null) ? u : reducer.apply(r, u);
+                }
+            }
+            return r;
+        }
+
+        U combine(U left, U right) {
+            return left == null ? right : right == null ? left : reducer.apply(left, right);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    static final class MapReduceToLongTask<K, V> extends BulkTask<K, V, Long> {
+        final ToLongFunction<Node<K, V>> transformer;
+        final long basis;
+        final LongBinaryOperator reducer;
+
+        MapReduceToLongTask(Node<K, V>[] tab, int lo, int hi, int batch,
+                            ToLongFunction<Node<K, V>> transformer,
+                            long basis, LongBinaryOperator reducer) {
+            super(tab, lo, hi, batch);
+            this.transformer = transformer;
+            this.basis = basis;
+            this.reducer = reducer;
+        }
+
+        MapReduceToLongTask<K, V> subtask(int lo, int hi, int batch) {
+            return new MapReduceToLongTask<>(tab, lo, hi, batch, transformer, basis, reducer);
+        }
+
+        Long scan() {
+            long r = basis;
+            for (int i = lo; i < hi; ++i) {
+                for (Node<K, V> e = tab[i]; e != null; e = e.next)
+                    r = reducer.applyAsLong(r, transformer.applyAsLong(e));
+            }
+            return r;
+        }
+
+        Long combine(Long left, Long right) {
+            return reducer.applyAsLong(left, right);
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) return "{}";
+        if (compact != null) {
+            StringBuilder sb = new StringBuilder("{");
+            for (int i = 0, n = size << 1; i < n; i += 2) {
+                if (i > 0) sb.append(", ");
+                sb.append(compact[i]).append("=").append(compact[i + 1]);
+            }
+            return sb.append("}").toString();
+        }
+        if (oldTable != null)
+            completeResize();
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (Node<K,V> bucket : table) {
+            Node<K,V> current = bucket;
+            while (current != null) {
+                if (!first) sb.append(", ");
+                sb.append(current.key).append("=").append(current.value);
+                first = false;
+                current = current.next;
+            }
+        }
+        return sb.append("}").toString();
+    }
+
+    /* ---------------- Statistics -------------- */
+
+    static final int CHAIN_HISTOGRAM_SIZE = 16; // last slot counts chains of 15 or more
+
+    // shallow sizes with compressed oops, keys and values are not included
+    static final int ARRAY_HEADER_BYTES = 16;
+    static final int REFERENCE_BYTES = 4;
+    static final int NODE_BYTES = 32;
+    static final int LINKED_ENTRY_BYTES = 40;
+    static final int TREE_NODE_BYTES = 56;
+
+    /*
+     * Describes how well the keys spread over the table. Probe counts are the
+     * key comparisons a lookup needs, averaged over all mappings for hits
+     * and over all buckets for misses (a tree bin of n nodes counts as
+     * log2(n) + 1 for a miss). Like every other method it reads the table
+     * without synchronization, so only the thread that owns the map may call
+     * it; MyHashMapStatisticsMonitor hands the result to other threads.
+     * During an incremental resize a bucket still waiting in the old table
+     * is counted as one bucket, and the new buckets it will split into are
+     * left out until it has moved.
+     */
+    public MyHashMapStatistics statistics() {
+        Object[] a = compact;
+        if (a != null) { // no buckets: a hit scans half the hashes on average, a miss all of them
+            int n = size;
+            return new MyHashMapStatistics(n, 0, new int[CHAIN_HISTOGRAM_SIZE], 0, 0,
+                    n == 0 ? 0.0 : (n + 1) / 2.0, n, 1.0, resizeCount,
+                    2L * ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * a.length +
+                            Integer.BYTES * (a.length >>> 1));
+        }
+        Node<K, V>[] tab = table, oldTab = oldTable;
+        int from = transferIndex;
+        int[] histogram = new int[CHAIN_HISTOGRAM_SIZE];
+        long[] totals = new long[3]; // hit probes, miss probes, bytes of nodes
+        long mappings = 0L, bytes = 0L;
+        int buckets = 0, maxChain = 0, treeBins = 0;
+        if (tab != null) {
+            bytes += ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * tab.length;
+            int pendingMask = oldTab == null ? 0 : oldTab.length - 1;
+            for (int i = 0; i < tab.length; ++i) {
+                if (oldTab != null && oldTab[i & pendingMask] != null)
+                    continue; // still in the old table, counted below
+                Node<K, V> b = tab[i];
+                int n = scanBin(b, histogram, totals);
+                ++buckets;
+                mappings += n;
+                maxChain = Math.max(maxChain, n);
+                if (b instanceof TreeNode)
+                    ++treeBins;
+            }
+        }
+        if (oldTab != null) {
+            bytes += ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * oldTab.length;
+            for (int j = from; j < oldTab.length; ++j) {
+                Node<K, V> b = oldTab[j];
+                if (b == null)
+                    continue; // empty or moved early, its new buckets were counted above
+                int n = scanBin(b, histogram, totals);
+                ++buckets;
+                mappings += n;
+                maxChain = Math.max(maxChain, n);
+                if (b instanceof TreeNode)
+                    ++treeBins;
+            }
+        }
+        return new MyHashMapStatistics(
+                size,
+                tab == null ? 0 : tab.length,
+                histogram,
+                maxChain,
+                treeBins,
+                mappings == 0 ? 0.0 : (double) totals[0] / mappings,
+                buckets == 0 ? 0.0 : (double) totals[1] / buckets,
+                buckets == 0 ? 1.0 : (double) histogram[0] / buckets,
+                resizeCount,
+                bytes + totals[2]);
+    }
+
+    // adds one bucket to the histogram and totals, returns its length
+    private static int scanBin(Node<?, ?> b, int[] histogram, long[] totals) {
+        int n = 0;
+        long hitProbes = 0L, nodeBytes = 0L;
+        if (b instanceof TreeNode<?, ?>) {
+            for (Node<?, ?> e = b; e != null; e = e.next) {
+                ++n;
+                int depth = 1;
+                for (TreeNode<?, ?> p = ((TreeNode<?, ?>) e).parent; p != null; p = p.parent)
+                    ++depth;
+                hitProbes += depth;
+                nodeBytes += TREE_NODE_BYTES;
+            }
+            totals[1] += 32 - Integer.numberOfLeadingZeros(n); // log2(n) + 1
+        }
+        else {
+            for (Node<?, ?> e = b; e != null; e = e.next) {
+                hitProbes += ++n; // the n-th node is found after n comparisons
+                nodeBytes += (e instanceof MyLinkedHashMap.Entry) ? LINKED_ENTRY_BYTES : NODE_BYTES;
+            }
+            totals[1] += n;
+        }
+        totals[0] += hitProbes;
+        totals[2] += nodeBytes;
+        ++histogram[Math.min(n, CHAIN_HISTOGRAM_SIZE - 1)];
+        return n;
+    }
+
+    /*
+     * Prints every bucket. Only meant for small maps while debugging, use
+     * statistics() to look at the distribution of a large map.
+     */
+    public void printBuckets() {
+        if (compact != null) {
+            System.out.println("Inline: " + this);
+            return;
+        }
+        if (oldTable != null)
+            completeResize();
         for (int i = 0; i < table.length; i++) {
             System.out.print("Bucket " + i + ": ");
             Node<K, V> node = table[i];
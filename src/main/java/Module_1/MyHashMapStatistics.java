@@ -0,0 +1,48 @@
+package Module_1;
+
+import java.util.Arrays;
+
+/*
+ * Snapshot returned by MyHashMap.statistics().
+ *
+ * chainLengthHistogram[i] is the number of buckets holding i entries, the
+ * last slot counts all longer chains. A good hash function keeps most
+ * buckets in the first few slots and treeBins at zero; long chains and
+ * average probes well above 1 point at a weak hashCode().
+ */
+public record MyHashMapStatistics(int size,
+                                  int capacity,
+                                  int[] chainLengthHistogram,
+                                  int maxChainLength,
+                                  int treeBins,
+                                  double averageProbesHit,
+                                  double averageProbesMiss,
+                                  double emptyBucketRatio,
+                                  int resizeCount,
+                                  long approximateBytes) {
+
+    public MyHashMapStatistics {
+        chainLengthHistogram = chainLengthHistogram.clone();
+    }
+
+    @Override
+    public int[] chainLengthHistogram() {
+        return chainLengthHistogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "MyHashMapStatistics{" +
+                "size=" + size +
+                ", capacity=" + capacity +
+                ", chainLengthHistogram=" + Arrays.toString(chainLengthHistogram) +
+                ", maxChainLength=" + maxChainLength +
+                ", treeBins=" + treeBins +
+                ", averageProbesHit=" + averageProbesHit +
+                ", averageProbesMiss=" + averageProbesMiss +
+                ", emptyBucketRatio=" + emptyBucketRatio +
+                ", resizeCount=" + resizeCount +
+                ", approximateBytes=" + approximateBytes +
+                '}';
+    }
+}
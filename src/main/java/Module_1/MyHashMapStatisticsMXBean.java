@@ -0,0 +1,27 @@
+package Module_1;
+
+/*
+ * JMX view of MyHashMap.statistics(), see MyHashMapStatisticsMonitor.
+ */
+public interface MyHashMapStatisticsMXBean {
+
+    int getSize();
+
+    int getCapacity();
+
+    int[] getChainLengthHistogram();
+
+    int getMaxChainLength();
+
+    int getTreeBins();
+
+    double getAverageProbesHit();
+
+    double getAverageProbesMiss();
+
+    double getEmptyBucketRatio();
+
+    int getResizeCount();
+
+    long getApproximateBytes();
+}
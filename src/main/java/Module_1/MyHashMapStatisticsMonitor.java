@@ -0,0 +1,116 @@
+package Module_1;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/*
+ * Exports the statistics of one map as MBean attributes under
+ * Module_1:type=MyHashMap,name=<name>. MyHashMap is not thread-safe, so the
+ * JMX threads never walk its table: the thread that owns the map calls
+ * refresh() whenever it suits it (e.g. every few thousand operations or from
+ * its own timer) and the attributes show the snapshot published last.
+ */
+public class MyHashMapStatisticsMonitor implements MyHashMapStatisticsMXBean {
+
+    private final MyHashMap<?, ?> map;
+    private volatile MyHashMapStatistics snapshot;
+
+    // takes the first snapshot, so it must be called by the owner of the map
+    public MyHashMapStatisticsMonitor(MyHashMap<?, ?> map) {
+        if (map == null)
+            throw new NullPointerException("Map must not be null");
+        this.map = map;
+        refresh();
+    }
+
+    public static ObjectName objectName(String name) {
+        try {
+            return new ObjectName("Module_1:type=MyHashMap,name=" + ObjectName.quote(name));
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Illegal MBean name: " + name, e);
+        }
+    }
+
+    // registers a monitor of map; its owner keeps the monitor to refresh it
+    public static MyHashMapStatisticsMonitor register(MyHashMap<?, ?> map, String name) {
+        ObjectName objectName = objectName(name);
+        MyHashMapStatisticsMonitor monitor = new MyHashMapStatisticsMonitor(map);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(monitor, objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register MBean " + objectName, e);
+        }
+        return monitor;
+    }
+
+    public static void unregister(String name) {
+        ObjectName objectName = objectName(name);
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to unregister MBean " + objectName, e);
+        }
+    }
+
+    // walks the map, so only the thread that owns it may call this
+    public void refresh() {
+        snapshot = map.statistics();
+    }
+
+    MyHashMapStatistics statistics() {
+        return snapshot;
+    }
+
+    @Override
+    public int getSize() {
+        return statistics().size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return statistics().capacity();
+    }
+
+    @Override
+    public int[] getChainLengthHistogram() {
+        return statistics().chainLengthHistogram();
+    }
+
+    @Override
+    public int getMaxChainLength() {
+        return statistics().maxChainLength();
+    }
+
+    @Override
+    public int getTreeBins() {
+        return statistics().treeBins();
+    }
+
+    @Override
+    public double getAverageProbesHit() {
+        return statistics().averageProbesHit();
+    }
+
+    @Override
+    public double getAverageProbesMiss() {
+        return statistics().averageProbesMiss();
+    }
+
+    @Override
+    public double getEmptyBucketRatio() {
+        return statistics().emptyBucketRatio();
+    }
+
+    @Override
+    public int getResizeCount() {
+        return statistics().resizeCount();
+    }
+
+    @Override
+    public long getApproximateBytes() {
+        return statistics().approximateBytes();
+    }
+}
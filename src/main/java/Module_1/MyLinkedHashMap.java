@@ -0,0 +1,477 @@
+package Module_1;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+
+/*
+ * MyHashMap that also keeps its entries in a doubly linked list, in
+ * insertion order or, with accessOrder, from least to most recently used.
+ * The list is maintained through the afterNode* callbacks of MyHashMap.
+ *
+ * Given a maxSize the map is a bounded cache: every insertion that takes the
+ * size past maxSize evicts one entry in O(1) and reports it to the eviction
+ * listener. EvictionPolicy.LRU evicts the least recently used entry.
+ * EvictionPolicy.TINY_LFU (W-TinyLFU) puts new entries in a small LRU
+ * window (1% of maxSize); an entry leaving the window only stays if a
+ * FrequencySketch says it is used more often than the LRU entry of the main
+ * region, which is evicted instead. One-hit wonders thus cannot flush the
+ * popular entries out of the cache.
+ */
+public class MyLinkedHashMap<K, V> extends MyHashMap<K, V> {
+
+    public enum EvictionPolicy {
+        LRU,
+        TINY_LFU
+    }
+
+    static class Entry<K, V> extends MyHashMap.Node<K, V> {
+        Entry<K, V> before, after;
+        boolean window; // linked in the admission window rather than the main list
+
+        Entry(int hash, K key, V value, Node<K, V> next) {
+            super(hash, key, value, next);
+        }
+    }
+
+    // head (eldest) and tail (youngest) of one access-ordered list
+    static final class Links<K, V> {
+        Entry<K, V> head;
+        Entry<K, V> tail;
+        int size;
+
+        void linkLast(Entry<K, V> p) {
+            Entry<K, V> last = tail;
+            tail = p;
+            p.after = null;
+            if (last == null) {
+                head = p;
+                p.before = null;
+            }
+            else {
+                p.before = last;
+                last.after = p;
+            }
+            ++size;
+        }
+
+        void unlink(Entry<K, V> p) {
+            Entry<K, V> b = p.before, a = p.after;
+            p.before = p.after = null;
+            if (b == null)
+                head = a;
+            else
+                b.after = a;
+            if (a == null)
+                tail = b;
+            else
+                a.before = b;
+            --size;
+        }
+
+        void moveToLast(Entry<K, V> p) {
+            if (tail != p) {
+                unlink(p);
+                linkLast(p);
+            }
+        }
+
+        // puts dst in the place of src
+        void replace(Entry<K, V> src, Entry<K, V> dst) {
+            Entry<K, V> b = dst.before = src.before;
+            Entry<K, V> a = dst.after = src.after;
+            if (b == null)
+                head = dst;
+            else
+                b.after = dst;
+            if (a == null)
+                tail = dst;
+            else
+                a.before = dst;
+        }
+
+        void clear() {
+            head = tail = null;
+            size = 0;
+        }
+    }
+
+    private final Links<K, V> main = new Links<>();
+    private final Links<K, V> window = new Links<>(); // TINY_LFU only
+    private final boolean accessOrder;
+    private final int maxSize; // 0 when unbounded
+    private final int windowMax;
+    private final EvictionPolicy policy;
+    private final FrequencySketch sketch;
+    private final BiConsumer<? super K, ? super V> evictionListener;
+    private transient Set<K> keySet;
+    private transient Collection<V> values;
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    public MyLinkedHashMap(int initialCapacity, float loadFactor, boolean accessOrder) {
+        super(initialCapacity, loadFactor);
+        this.accessOrder = accessOrder;
+        this.maxSize = 0;
+        this.windowMax = 0;
+        this.policy = null;
+        this.sketch = null;
+        this.evictionListener = null;
+    }
+
+    public MyLinkedHashMap(int initialCapacity, float loadFactor) {
+        this(initialCapacity, loadFactor, false);
+    }
+
+    public MyLinkedHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR, false);
+    }
+
+    public MyLinkedHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, false);
+    }
+
+    /*
+     * Bounded cache in access order. The listener, which may be null, is
+     * called after an entry has been evicted; it is not called for entries
+     * removed or replaced by the caller.
+     */
+    public MyLinkedHashMap(int maxSize, EvictionPolicy policy,
+                           BiConsumer<? super K, ? super V> evictionListener) {
+        super(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("Illegal max size: " + maxSize);
+        if (policy == null)
+            throw new NullPointerException("Eviction policy must not be null");
+        this.accessOrder = true;
+        this.maxSize = maxSize;
+        this.policy = policy;
+        this.evictionListener = evictionListener;
+        if (policy == EvictionPolicy.TINY_LFU) {
+            this.windowMax = Math.max(1, maxSize / 100);
+            this.sketch = new FrequencySketch(maxSize);
+        }
+        else {
+            this.windowMax = 0;
+            this.sketch = null;
+        }
+    }
+
+    public MyLinkedHashMap(int maxSize, EvictionPolicy policy) {
+        this(maxSize, policy, null);
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    private Links<K, V> linksOf(Entry<K, V> p) {
+        return p.window ? window : main;
+    }
+
+    // first entry in iteration order: the main list, then the window
+    private Entry<K, V> first() {
+        return main.head != null ? main.head : window.head;
+    }
+
+    private Entry<K, V> successor(Entry<K, V> e) {
+        Entry<K, V> a = e.after;
+        return (a == null && !e.window) ? window.head : a;
+    }
+
+    private void linkNodeLast(Entry<K, V> p) {
+        if (sketch != null) {
+            sketch.increment(p.hash);
+            p.window = true;
+            window.linkLast(p);
+        }
+        else
+            main.linkLast(p);
+    }
+
+    // apply src's links to dst
+    private void transferLinks(Entry<K, V> src, Entry<K, V> dst) {
+        dst.window = src.window;
+        linksOf(src).replace(src, dst);
+    }
+
+    // overrides of MyHashMap hook methods
+
+    @Override
+    Node<K, V> newNode(int hash, K key, V value, Node<K, V> e) {
+        Entry<K, V> p = new Entry<>(hash, key, value, e);
+        linkNodeLast(p);
+        return p;
+    }
+
+    @Override
+    Node<K, V> replacementNode(Node<K, V> p, Node<K, V> next) {
+        Entry<K, V> q = (Entry<K, V>) p;
+        Entry<K, V> t = new Entry<>(q.hash, q.key, q.value, next);
+        transferLinks(q, t);
+        return t;
+    }
+
+    @Override
+    TreeNode<K, V> newTreeNode(int hash, K key, V value, Node<K, V> next) {
+        TreeNode<K, V> p = new TreeNode<>(hash, key, value, next);
+        linkNodeLast(p);
+        return p;
+    }
+
+    @Override
+    TreeNode<K, V> replacementTreeNode(Node<K, V> p, Node<K, V> next) {
+        Entry<K, V> q = (Entry<K, V>) p;
+        TreeNode<K, V> t = new TreeNode<>(q.hash, q.key, q.value, next);
+        transferLinks(q, t);
+        return t;
+    }
+
+    @Override
+    void afterNodeRemoval(Node<K, V> e) { // unlink
+        Entry<K, V> p = (Entry<K, V>) e;
+        linksOf(p).unlink(p);
+    }
+
+    @Override
+    void afterNodeInsertion() { // possibly evict
+        if (maxSize == 0)
+            return;
+        if (sketch == null) {
+            Entry<K, V> eldest;
+            while (size() > maxSize && (eldest = main.head) != null)
+                evict(eldest);
+            return;
+        }
+        while (window.size > windowMax) { // oldest window entry becomes a candidate
+            Entry<K, V> candidate = window.head;
+            window.unlink(candidate);
+            candidate.window = false;
+            main.linkLast(candidate);
+        }
+        while (size() > maxSize) {
+            Entry<K, V> victim = main.head, candidate = main.tail;
+            if (victim == null)
+                victim = candidate = window.head;
+            if (victim == candidate ||
+                    sketch.frequency(candidate.hash) > sketch.frequency(victim.hash))
+                evict(victim);
+            else
+                evict(candidate);
+        }
+    }
+
+    @Override
+    void afterNodeAccess(Node<K, V> e) { // move node to last
+        Entry<K, V> p = (Entry<K, V>) e;
+        if (sketch != null)
+            sketch.increment(p.hash);
+        if (accessOrder) {
+            Links<K, V> links = linksOf(p);
+            if (links.tail != p) {
+                links.moveToLast(p);
+                ++modCount;
+            }
+        }
+    }
+
+    private void evict(Entry<K, V> e) {
+        K key = e.key;
+        V value = e.value;
+        removeNode(e.hash, key, null, false, true);
+        if (evictionListener != null)
+            evictionListener.accept(key, value);
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> e;
+        if ((e = getNode(key)) == null) {
+            if (sketch != null) // misses count towards the frequency too
+                sketch.increment(hashOf(key));
+            return null;
+        }
+        afterNodeAccess(e);
+        return e.value;
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        Node<K, V> e;
+        if ((e = getNode(key)) == null) {
+            if (sketch != null)
+                sketch.increment(hashOf(key));
+            return defaultValue;
+        }
+        afterNodeAccess(e);
+        return e.value;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (Entry<K, V> e = first(); e != null; e = successor(e)) {
+            V v = e.value;
+            if (v == value || (value != null && value.equals(v)))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        main.clear();
+        window.clear();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null)
+            throw new NullPointerException();
+        int mc = modCount;
+        for (Entry<K, V> e = first(); e != null; e = successor(e))
+            action.accept(e.key, e.value);
+        if (modCount != mc)
+            throw new ConcurrentModificationException();
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> ks;
+        return (ks = keySet) == null ? (keySet = new LinkedKeySet()) : ks;
+    }
+
+    @Override
+    public Collection<V> values() {
+        Collection<V> vs;
+        return (vs = values) == null ? (values = new LinkedValues()) : vs;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> es;
+        return (es = entrySet) == null ? (entrySet = new LinkedEntrySet()) : es;
+    }
+
+    final class LinkedKeySet extends AbstractSet<K> {
+        public int size()                 { return MyLinkedHashMap.this.size(); }
+        public void clear()               { MyLinkedHashMap.this.clear(); }
+        public Iterator<K> iterator()     { return new LinkedKeyIterator(); }
+        public boolean contains(Object o) { return containsKey(o); }
+        public boolean remove(Object key) {
+            return removeNode(hashOf(key), key, null, false, true) != null;
+        }
+        public Spliterator<K> spliterator() {
+            return Spliterators.spliterator(this, Spliterator.SIZED |
+                    Spliterator.ORDERED | Spliterator.DISTINCT);
+        }
+    }
+
+    final class LinkedValues extends AbstractCollection<V> {
+        public int size()                 { return MyLinkedHashMap.this.size(); }
+        public void clear()               { MyLinkedHashMap.this.clear(); }
+        public Iterator<V> iterator()     { return new LinkedValueIterator(); }
+        public boolean contains(Object o) { return containsValue(o); }
+        public Spliterator<V> spliterator() {
+            return Spliterators.spliterator(this, Spliterator.SIZED |
+                    Spliterator.ORDERED);
+        }
+    }
+
+    final class LinkedEntrySet extends AbstractSet<Map.Entry<K, V>> {
+        public int size()                 { return MyLinkedHashMap.this.size(); }
+        public void clear()               { MyLinkedHashMap.this.clear(); }
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new LinkedEntryIterator();
+        }
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry<?, ?> e))
+                return false;
+            Node<K, V> candidate = getNode(e.getKey());
+            return candidate != null && Objects.equals(candidate.value, e.getValue());
+        }
+        public boolean remove(Object o) {
+            if (o instanceof Map.Entry<?, ?> e) {
+                Object key = e.getKey();
+                Object value = e.getValue();
+                return removeNode(hashOf(key), key, value, true, true) != null;
+            }
+            return false;
+        }
+        public Spliterator<Map.Entry<K, V>> spliterator() {
+            return Spliterators.spliterator(this, Spliterator.SIZED |
+                    Spliterator.ORDERED | Spliterator.DISTINCT);
+        }
+    }
+
+    abstract class LinkedHashIterator {
+        Entry<K, V> next;
+        Entry<K, V> current;
+        int expectedModCount;
+
+        LinkedHashIterator() {
+            next = first();
+            expectedModCount = modCount;
+            current = null;
+        }
+
+        public final boolean hasNext() {
+            return next != null;
+        }
+
+        final Entry<K, V> nextNode() {
+            Entry<K, V> e = next;
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (e == null)
+                throw new NoSuchElementException();
+            current = e;
+            next = successor(e);
+            return e;
+        }
+
+        public final void remove() {
+            Node<K, V> p = current;
+            if (p == null)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            current = null;
+            removeNode(p.hash, p.key, null, false, false);
+            expectedModCount = modCount;
+        }
+    }
+
+    final class LinkedKeyIterator extends LinkedHashIterator implements Iterator<K> {
+        public K next() { return nextNode().getKey(); }
+    }
+
+    final class LinkedValueIterator extends LinkedHashIterator implements Iterator<V> {
+        public V next() { return nextNode().value; }
+    }
+
+    final class LinkedEntryIterator extends LinkedHashIterator implements Iterator<Map.Entry<K, V>> {
+        public Map.Entry<K, V> next() { return nextNode(); }
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) return "{}";
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (Entry<K, V> e = first(); e != null; e = successor(e)) {
+            if (!first) sb.append(", ");
+            sb.append(e.key).append("=").append(e.value);
+            first = false;
+        }
+        return sb.append("}").toString();
+    }
+}
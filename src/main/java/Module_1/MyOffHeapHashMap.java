@@ -0,0 +1,284 @@
+package Module_1;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/*
+ * Hash map whose entries live in direct (native) memory, so the collector
+ * only sees a few objects however many entries there are. Slots are
+ * [int hash][key bytes][value bytes] in fixed-width encoding (OffHeapCodec),
+ * probed linearly; a stored hash of 0 marks a free slot. The table is split
+ * into power-of-two chunks of at most 1 GiB, each its own direct buffer, so
+ * it can grow past the 2 GiB limit of a single ByteBuffer.
+ *
+ * Memory is released by close() and, for the old table, on every resize.
+ */
+public class MyOffHeapHashMap<K, V> implements AutoCloseable {
+    static final int DEFAULT_INITIAL_CAPACITY = MyHashMap.DEFAULT_INITIAL_CAPACITY;
+    static final int MAXIMUM_CAPACITY = MyHashMap.MAXIMUM_CAPACITY;
+    static final float DEFAULT_LOAD_FACTOR = MyHashMap.DEFAULT_LOAD_FACTOR;
+    static final int MAX_CHUNK_BYTES = 1 << 30;
+    static final int HASH_BYTES = Integer.BYTES;
+
+    private final OffHeapCodec<K> keyCodec;
+    private final OffHeapCodec<V> valueCodec;
+    private final int keyWidth;
+    private final int slotSize;
+    private final ByteBuffer keyScratch; // encoded form of the key being looked up
+    private final float loadFactor;
+
+    private ByteBuffer[] chunks;
+    private int chunkShift; // log2 of slots per chunk
+    private int capacity;
+    private int size;
+    private int threshold;
+
+    public MyOffHeapHashMap(OffHeapCodec<K> keyCodec, OffHeapCodec<V> valueCodec,
+                            int initialCapacity, float loadFactor) {
+        if (keyCodec == null || valueCodec == null)
+            throw new NullPointerException("Codecs must not be null");
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                    initialCapacity);
+        if (initialCapacity > MAXIMUM_CAPACITY)
+            initialCapacity = MAXIMUM_CAPACITY;
+        if (loadFactor <= 0 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                    loadFactor);
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.keyWidth = keyCodec.width();
+        this.slotSize = HASH_BYTES + keyWidth + valueCodec.width();
+        if (slotSize > MAX_CHUNK_BYTES)
+            throw new IllegalArgumentException("Entry too wide: " + slotSize);
+        this.keyScratch = ByteBuffer.allocate(keyWidth).order(ByteOrder.nativeOrder());
+        this.loadFactor = loadFactor;
+        allocate(MyHashMap.tableSizeFor(Math.max(initialCapacity, 2)));
+    }
+
+    public MyOffHeapHashMap(OffHeapCodec<K> keyCodec, OffHeapCodec<V> valueCodec) {
+        this(keyCodec, valueCodec, DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long offHeapBytes() {
+        return chunks == null ? 0L : (long) capacity * slotSize;
+    }
+
+    public V get(K key) {
+        int i = findSlot(encodeKey(key));
+        return i < 0 ? null : valueCodec.read(chunk(i), offset(i) + HASH_BYTES + keyWidth);
+    }
+
+    public boolean containsKey(K key) {
+        return findSlot(encodeKey(key)) >= 0;
+    }
+
+    public V put(K key, V value) {
+        if (value == null)
+            throw new NullPointerException("Null values are not supported");
+        int h = encodeKey(key);
+        int i = findSlot(h);
+        if (i >= 0) { // existing mapping for key
+            ByteBuffer c = chunk(i);
+            int valueOffset = offset(i) + HASH_BYTES + keyWidth;
+            V oldValue = valueCodec.read(c, valueOffset);
+            valueCodec.write(c, valueOffset, value);
+            return oldValue;
+        }
+        i = ~i;
+        ByteBuffer c = chunk(i);
+        int off = offset(i);
+        c.putInt(off, h);
+        c.put(off + HASH_BYTES, keyScratch, 0, keyWidth);
+        valueCodec.write(c, off + HASH_BYTES + keyWidth, value);
+        if (++size > threshold)
+            resize();
+        return null;
+    }
+
+    public V remove(K key) {
+        int i = findSlot(encodeKey(key));
+        if (i < 0)
+            return null;
+        V oldValue = valueCodec.read(chunk(i), offset(i) + HASH_BYTES + keyWidth);
+        shiftSlots(i);
+        --size;
+        return oldValue;
+    }
+
+    @Override
+    public void close() {
+        ByteBuffer[] cs = chunks;
+        if (cs != null) {
+            chunks = null;
+            size = 0;
+            for (ByteBuffer c : cs)
+                free(c);
+        }
+    }
+
+    /*
+     * Writes key into keyScratch and returns its hash, computed over the
+     * encoded bytes so it never calls hashCode() and never returns 0.
+     */
+    private int encodeKey(K key) {
+        if (chunks == null)
+            throw new IllegalStateException("Map is closed");
+        if (key == null)
+            throw new NullPointerException("Null keys are not supported");
+        ByteBuffer s = keyScratch;
+        keyCodec.write(s, 0, key);
+        long h = 0x9E3779B97F4A7C15L;
+        int i = 0;
+        for (; i + Long.BYTES <= keyWidth; i += Long.BYTES)
+            h = (h ^ s.getLong(i)) * 0xBF58476D1CE4E5B9L;
+        for (; i < keyWidth; i++)
+            h = (h ^ s.get(i)) * 0x94D049BB133111EBL;
+        int r = (int) (h ^ (h >>> 32));
+        r ^= r >>> 16;
+        return r == 0 ? 1 : r;
+    }
+
+    /*
+     * Returns the slot holding the key in keyScratch, or the bitwise
+     * complement of the free slot where it would be inserted.
+     */
+    private int findSlot(int h) {
+        int mask = capacity - 1;
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            ByteBuffer c = chunk(i);
+            int off = offset(i), sh = c.getInt(off);
+            if (sh == 0)
+                return ~i;
+            if (sh == h && keyEquals(c, off + HASH_BYTES))
+                return i;
+        }
+    }
+
+    private boolean keyEquals(ByteBuffer c, int off) {
+        ByteBuffer s = keyScratch;
+        int i = 0;
+        for (; i + Long.BYTES <= keyWidth; i += Long.BYTES) {
+            if (c.getLong(off + i) != s.getLong(i))
+                return false;
+        }
+        for (; i < keyWidth; i++) {
+            if (c.get(off + i) != s.get(i))
+                return false;
+        }
+        return true;
+    }
+
+    /*
+     * Backward-shift deletion: moves later slots of the same probe run into
+     * the gap so no tombstones are needed.
+     */
+    private void shiftSlots(int pos) {
+        int mask = capacity - 1;
+        for (int last; ; ) {
+            pos = ((last = pos) + 1) & mask;
+            int h;
+            for (; ; pos = (pos + 1) & mask) {
+                if ((h = chunk(pos).getInt(offset(pos))) == 0) {
+                    chunk(last).putInt(offset(last), 0);
+                    return;
+                }
+                int slot = h & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos)
+                    break;
+            }
+            chunk(last).put(offset(last), chunk(pos), offset(pos), slotSize);
+        }
+    }
+
+    private ByteBuffer chunk(int slot) {
+        return chunks[slot >>> chunkShift];
+    }
+
+    private int offset(int slot) {
+        return (slot & ((1 << chunkShift) - 1)) * slotSize;
+    }
+
+    private void allocate(int cap) {
+        int maxShift = 31 - Integer.numberOfLeadingZeros(MAX_CHUNK_BYTES / slotSize);
+        int shift = Math.min(maxShift, Integer.numberOfTrailingZeros(cap));
+        ByteBuffer[] cs = new ByteBuffer[cap >>> shift];
+        try {
+            for (int j = 0; j < cs.length; j++) // direct buffers are zeroed: all slots free
+                cs[j] = ByteBuffer.allocateDirect((1 << shift) * slotSize)
+                        .order(ByteOrder.nativeOrder());
+        } catch (OutOfMemoryError e) {
+            for (ByteBuffer c : cs)
+                free(c);
+            throw e;
+        }
+        chunks = cs;
+        chunkShift = shift;
+        capacity = cap;
+        // keep at least one free slot so that every probe terminates
+        threshold = (int) Math.min((float) cap * loadFactor, (float) (cap - 1));
+    }
+
+    private void resize() {
+        ByteBuffer[] oldChunks = chunks;
+        int oldCap = capacity, oldShift = chunkShift;
+        if (oldCap >= MAXIMUM_CAPACITY) {
+            if (size >= oldCap - 1)
+                throw new IllegalStateException("Map is full: " + size);
+            return;
+        }
+        allocate(oldCap << 1);
+        int mask = capacity - 1, oldPerChunk = 1 << oldShift;
+        for (int j = 0; j < oldCap; ++j) {
+            ByteBuffer oc = oldChunks[j >>> oldShift];
+            int oo = (j & (oldPerChunk - 1)) * slotSize, h;
+            if ((h = oc.getInt(oo)) != 0) {
+                int i = h & mask;
+                while (chunk(i).getInt(offset(i)) != 0)
+                    i = (i + 1) & mask;
+                chunk(i).put(offset(i), oc, oo, slotSize);
+            }
+        }
+        for (ByteBuffer c : oldChunks)
+            free(c);
+    }
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> c = Class.forName("sun.misc.Unsafe");
+            Field f = c.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            unsafe = f.get(null);
+            invokeCleaner = c.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // without it the memory is returned once the buffers are collected
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    static void free(ByteBuffer buffer) { // also unmaps a MappedByteBuffer
+        if (buffer == null || INVOKE_CLEANER == null)
+            return;
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to release direct buffer", e);
+        }
+    }
+}
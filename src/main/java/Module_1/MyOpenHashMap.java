@@ -0,0 +1,252 @@
+package Module_1;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/*
+ * Open-addressing counterpart of MyHashMap. Instead of a Node per entry the
+ * map keeps three flat arrays: keys, values and one control byte per slot.
+ * A control byte is EMPTY, DELETED or, for a full slot, the top 7 bits of the
+ * key's hash. Lookups read eight control bytes at once as a long and compare
+ * them against the hash fragment in a few arithmetic operations, so keys are
+ * only touched for slots whose fragment already matches.
+ */
+public class MyOpenHashMap<K, V> {
+    static final int DEFAULT_INITIAL_CAPACITY = MyHashMap.DEFAULT_INITIAL_CAPACITY;
+    static final int MAXIMUM_CAPACITY = MyHashMap.MAXIMUM_CAPACITY;
+    static final float DEFAULT_LOAD_FACTOR = 0.875f; // groups keep probes short up to 7/8 full
+    static final int GROUP_WIDTH = 8; // control bytes per long
+
+    static final byte EMPTY = (byte) 0x80;   // 1000_0000
+    static final byte DELETED = (byte) 0xFE; // 1111_1110
+    // full slots hold the 7-bit hash fragment: 0xxx_xxxx
+
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+    private static final Object NULL_KEY = new Object();
+
+    private static final VarHandle GROUP =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    static int hash(Object key) {
+        // the multiply pushes entropy into the high bits used for the fragment
+        return MyHashMap.hash(key) * 0x9E3779B9;
+    }
+
+    static byte fragment(int hash) {
+        return (byte) (hash >>> 25);
+    }
+
+    static long matchByte(long group, byte b) {
+        long x = group ^ (LSBS * (b & 0xFF));
+        // may report a false positive next to a real match; keys are compared anyway
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    static long matchEmpty(long group) {
+        // EMPTY is the only control value with the high bit set and bit 1 clear
+        return group & (~group << 6) & MSBS;
+    }
+
+    static long matchEmptyOrDeleted(long group) {
+        return group & MSBS;
+    }
+
+    private transient byte[] ctrl;
+    private transient Object[] keys;
+    private transient Object[] values;
+    private transient int size;
+    private transient int tombstones;
+    private int threshold;
+    private final float loadFactor;
+
+    public MyOpenHashMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                    initialCapacity);
+        if (initialCapacity > MAXIMUM_CAPACITY)
+            initialCapacity = MAXIMUM_CAPACITY;
+        if (loadFactor <= 0 || Float.isNaN(loadFactor))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                    loadFactor);
+        this.loadFactor = loadFactor;
+        this.threshold = Math.max(GROUP_WIDTH, MyHashMap.tableSizeFor(initialCapacity));
+    }
+
+    public MyOpenHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public MyOpenHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    int capacity() {
+        return ctrl == null ? 0 : ctrl.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Object k = maskNull(key);
+        int i = findSlot(k, hash(k));
+        return i < 0 ? null : (V) values[i];
+    }
+
+    public boolean containsKey(Object key) {
+        Object k = maskNull(key);
+        return findSlot(k, hash(k)) >= 0;
+    }
+
+    private int findSlot(Object key, int h) {
+        byte[] c;
+        if ((c = ctrl) == null)
+            return -1;
+        Object[] ks = keys;
+        int mask = c.length - 1;
+        byte h2 = fragment(h);
+        for (int g = h & mask & -GROUP_WIDTH; ; g = (g + GROUP_WIDTH) & mask) {
+            long group = (long) GROUP.get(c, g);
+            for (long m = matchByte(group, h2); m != 0; m &= m - 1) {
+                int i = g + (Long.numberOfTrailingZeros(m) >>> 3);
+                Object k = ks[i];
+                if (k == key || (k != null && key.equals(k)))
+                    return i;
+            }
+            if (matchEmpty(group) != 0) // the key would have been placed here
+                return -1;
+        }
+    }
+
+    /*
+     * Returns the first EMPTY or DELETED slot on the probe sequence of hash.
+     * It always lies at or before the first group that contains an EMPTY
+     * byte, which is where findSlot stops.
+     */
+    private static int findInsertSlot(byte[] c, int h) {
+        int mask = c.length - 1;
+        for (int g = h & mask & -GROUP_WIDTH; ; g = (g + GROUP_WIDTH) & mask) {
+            long m = matchEmptyOrDeleted((long) GROUP.get(c, g));
+            if (m != 0)
+                return g + (Long.numberOfTrailingZeros(m) >>> 3);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        Object k = maskNull(key);
+        if (ctrl == null)
+            allocate(threshold);
+        int h = hash(k), i;
+        if ((i = findSlot(k, h)) >= 0) { // existing mapping for key
+            V oldValue = (V) values[i];
+            values[i] = value;
+            return oldValue;
+        }
+
+        i = findInsertSlot(ctrl, h);
+        if (ctrl[i] == EMPTY) {
+            if (size + tombstones >= threshold) {
+                rehash();
+                if (size >= threshold)
+                    throw new IllegalStateException("Map is full: " + size);
+                i = findInsertSlot(ctrl, h);
+            }
+        }
+        else
+            --tombstones; // reusing a DELETED slot
+        ctrl[i] = fragment(h);
+        keys[i] = k;
+        values[i] = value;
+        ++size;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        Object k = maskNull(key);
+        int i;
+        if ((i = findSlot(k, hash(k))) < 0)
+            return null;
+        V oldValue = (V) values[i];
+        keys[i] = null;
+        values[i] = null;
+        --size;
+        // a group that still has an EMPTY byte never made a probe move on,
+        // so the slot can go back to EMPTY instead of leaving a tombstone
+        if (matchEmpty((long) GROUP.get(ctrl, i & -GROUP_WIDTH)) != 0)
+            ctrl[i] = EMPTY;
+        else {
+            ctrl[i] = DELETED;
+            ++tombstones;
+        }
+        return oldValue;
+    }
+
+    private void allocate(int capacity) {
+        ctrl = new byte[capacity];
+        Arrays.fill(ctrl, EMPTY);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        tombstones = 0;
+        // at least one EMPTY slot must remain so that every probe terminates
+        float ft = (float) capacity * loadFactor;
+        threshold = (int) Math.min(ft, (float) (capacity - 1));
+    }
+
+    /*
+     * Rebuilds the table, dropping all tombstones. The capacity only doubles
+     * when live entries fill more than half of the threshold; otherwise the
+     * table was mostly tombstones and is rebuilt at the same size.
+     */
+    private void rehash() {
+        byte[] oldCtrl = ctrl;
+        Object[] oldKeys = keys, oldValues = values;
+        int oldCap = oldCtrl.length;
+        int newCap = (size >= threshold >>> 1 && oldCap < MAXIMUM_CAPACITY) ?
+                oldCap << 1 : oldCap;
+        allocate(newCap);
+        byte[] c = ctrl;
+        for (int j = 0; j < oldCap; ++j) {
+            if (oldCtrl[j] >= 0) { // full
+                Object k = oldKeys[j];
+                int i = findInsertSlot(c, hash(k));
+                c[i] = oldCtrl[j];
+                keys[i] = k;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static Object unmaskNull(Object key) {
+        return key == NULL_KEY ? null : key;
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) return "{}";
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (int i = 0; i < ctrl.length; i++) {
+            if (ctrl[i] >= 0) {
+                if (!first) sb.append(", ");
+                sb.append(unmaskNull(keys[i])).append("=").append(values[i]);
+                first = false;
+            }
+        }
+        return sb.append("}").toString();
+    }
+}
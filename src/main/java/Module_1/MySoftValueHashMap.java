@@ -0,0 +1,111 @@
+package Module_1;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/*
+ * Memo table whose values are softly referenced: the collector clears them
+ * when memory runs short, rather than the map running the heap out. A
+ * cleared value reads as absent, and its entry is purged through the
+ * reference queue on the next call. Keys are held strongly.
+ */
+public class MySoftValueHashMap<K, V> {
+
+    private final MyHashMap<K, SoftValue<K, V>> map;
+    private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+    static final class SoftValue<K, V> extends SoftReference<V> {
+        final K key;
+
+        SoftValue(K key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    public MySoftValueHashMap(int initialCapacity) {
+        map = new MyHashMap<>(initialCapacity);
+    }
+
+    public MySoftValueHashMap() {
+        map = new MyHashMap<>();
+    }
+
+    // may still count values that were cleared but not yet purged
+    public int size() {
+        expungeStaleEntries();
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public V get(K key) {
+        expungeStaleEntries();
+        SoftValue<K, V> ref = map.get(key);
+        return ref == null ? null : ref.get();
+    }
+
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    public V put(K key, V value) {
+        if (value == null)
+            throw new NullPointerException("Null values are not supported");
+        expungeStaleEntries();
+        SoftValue<K, V> old = map.put(key, new SoftValue<>(key, value, queue));
+        return old == null ? null : old.get();
+    }
+
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V v = get(key);
+        if (v == null && (v = mappingFunction.apply(key)) != null)
+            put(key, v);
+        return v;
+    }
+
+    public V remove(K key) {
+        expungeStaleEntries();
+        SoftValue<K, V> old = map.remove(key);
+        return old == null ? null : old.get();
+    }
+
+    public void clear() {
+        map.clear();
+        while (queue.poll() != null)
+            ;
+    }
+
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        expungeStaleEntries();
+        map.forEach((k, ref) -> {
+            V v = ref.get();
+            if (v != null)
+                action.accept(k, v);
+        });
+    }
+
+    // only drops the entry if it still holds the cleared reference
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries() {
+        for (Object x; (x = queue.poll()) != null; ) {
+            SoftValue<K, V> ref = (SoftValue<K, V>) x;
+            if (map.get(ref.key) == ref)
+                map.remove(ref.key);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(k).append("=").append(v);
+        });
+        return sb.append("}").toString();
+    }
+}
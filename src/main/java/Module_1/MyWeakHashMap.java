@@ -0,0 +1,132 @@
+package Module_1;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.function.BiConsumer;
+
+/*
+ * Map with weakly referenced keys, for side tables keyed by objects whose
+ * lifetime belongs to someone else. Once a key is only reachable through
+ * this map the collector may clear it; its reference is then enqueued and
+ * the entry is purged on the next call. Keys are compared with equals(), as
+ * in java.util.WeakHashMap, and a value must not refer to its own key or the
+ * key can never be collected.
+ *
+ * The entries sit in a MyHashMap with a HashingStrategy that treats a stored
+ * WeakKey and the key it refers to alike, so lookups create no wrapper.
+ */
+public class MyWeakHashMap<K, V> {
+
+    private final MyHashMap<Object, V> map;
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    static final class WeakKey<K> extends WeakReference<K> {
+        final int hash;
+
+        WeakKey(K key, ReferenceQueue<Object> queue) {
+            super(key, queue);
+            this.hash = key.hashCode();
+        }
+    }
+
+    enum WeakKeyStrategy implements HashingStrategy<Object> {
+        INSTANCE;
+
+        static Object unwrap(Object o) {
+            return o instanceof WeakKey<?> w ? w.get() : o;
+        }
+
+        @Override
+        public int hashCode(Object key) {
+            return key instanceof WeakKey<?> w ? w.hash : key.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object key, Object other) {
+            Object a = unwrap(key), b;
+            // identity of the WeakKey itself is checked by MyHashMap first
+            return a != null && (b = unwrap(other)) != null && a.equals(b);
+        }
+    }
+
+    public MyWeakHashMap(int initialCapacity) {
+        map = new MyHashMap<>(initialCapacity, MyHashMap.DEFAULT_LOAD_FACTOR,
+                WeakKeyStrategy.INSTANCE);
+    }
+
+    public MyWeakHashMap() {
+        this(MyHashMap.DEFAULT_INITIAL_CAPACITY);
+    }
+
+    // may still count keys that were collected but not yet purged
+    public int size() {
+        expungeStaleEntries();
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public V get(K key) {
+        if (key == null)
+            throw new NullPointerException("Null keys are not supported");
+        expungeStaleEntries();
+        return map.get(key);
+    }
+
+    public boolean containsKey(K key) {
+        if (key == null)
+            throw new NullPointerException("Null keys are not supported");
+        expungeStaleEntries();
+        return map.containsKey(key);
+    }
+
+    public V put(K key, V value) {
+        if (key == null)
+            throw new NullPointerException("Null keys are not supported");
+        expungeStaleEntries();
+        if (map.containsKey(key)) // keep the WeakKey already stored
+            return map.put(key, value);
+        return map.put(new WeakKey<>(key, queue), value);
+    }
+
+    public V remove(K key) {
+        if (key == null)
+            throw new NullPointerException("Null keys are not supported");
+        expungeStaleEntries();
+        return map.remove(key);
+    }
+
+    public void clear() {
+        map.clear();
+        while (queue.poll() != null)
+            ;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        expungeStaleEntries();
+        map.forEach((k, v) -> {
+            K key = ((WeakKey<K>) k).get();
+            if (key != null)
+                action.accept(key, v);
+        });
+    }
+
+    // the cleared WeakKey is only equal to itself, so it removes just its own entry
+    private void expungeStaleEntries() {
+        for (Object x; (x = queue.poll()) != null; )
+            map.remove(x);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(k).append("=").append(v);
+        });
+        return sb.append("}").toString();
+    }
+}
@@ -0,0 +1,70 @@
+package Module_1;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Fixed-width encoding of keys or values for MyOffHeapHashMap. Keys are
+ * compared and hashed by their encoded bytes, so a key codec must write equal
+ * keys as identical bytes over the whole width, padding included.
+ */
+public interface OffHeapCodec<T> {
+
+    int width();
+
+    void write(ByteBuffer buffer, int offset, T value);
+
+    T read(ByteBuffer buffer, int offset);
+
+    OffHeapCodec<Integer> INT = new OffHeapCodec<>() {
+        @Override public int width() { return Integer.BYTES; }
+        @Override public void write(ByteBuffer buffer, int offset, Integer value) { buffer.putInt(offset, value); }
+        @Override public Integer read(ByteBuffer buffer, int offset) { return buffer.getInt(offset); }
+    };
+
+    OffHeapCodec<Long> LONG = new OffHeapCodec<>() {
+        @Override public int width() { return Long.BYTES; }
+        @Override public void write(ByteBuffer buffer, int offset, Long value) { buffer.putLong(offset, value); }
+        @Override public Long read(ByteBuffer buffer, int offset) { return buffer.getLong(offset); }
+    };
+
+    OffHeapCodec<Double> DOUBLE = new OffHeapCodec<>() {
+        @Override public int width() { return Double.BYTES; }
+        @Override public void write(ByteBuffer buffer, int offset, Double value) { buffer.putDouble(offset, value); }
+        @Override public Double read(ByteBuffer buffer, int offset) { return buffer.getDouble(offset); }
+    };
+
+    /*
+     * Strings of up to maxBytes UTF-8 bytes, stored as a two-byte length
+     * followed by the bytes and zero padding.
+     */
+    static OffHeapCodec<String> utf8(int maxBytes) {
+        if (maxBytes <= 0 || maxBytes > Short.MAX_VALUE)
+            throw new IllegalArgumentException("Illegal max bytes: " + maxBytes);
+        return new OffHeapCodec<>() {
+            @Override
+            public int width() {
+                return Short.BYTES + maxBytes;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, String value) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > maxBytes)
+                    throw new IllegalArgumentException("Value longer than " +
+                            maxBytes + " bytes: " + value);
+                buffer.putShort(offset, (short) bytes.length);
+                buffer.put(offset + Short.BYTES, bytes);
+                for (int i = offset + Short.BYTES + bytes.length; i < offset + width(); i++)
+                    buffer.put(i, (byte) 0);
+            }
+
+            @Override
+            public String read(ByteBuffer buffer, int offset) {
+                byte[] bytes = new byte[buffer.getShort(offset)];
+                buffer.get(offset + Short.BYTES, bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
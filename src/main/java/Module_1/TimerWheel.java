@@ -0,0 +1,160 @@
+package Module_1;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/*
+ * Hierarchical timer wheel for the expiry of MyExpiringHashMap. Each level is
+ * a ring of buckets, each bucket a doubly-linked list of the entries expiring
+ * in its time span: 64 buckets of ~1.07 s, 64 of ~1.14 min, 32 of ~1.22 h,
+ * 4 of ~1.63 d and one overflow bucket. Spans are powers of two, so finding a
+ * bucket is a shift and a mask.
+ *
+ * Scheduling and removal are O(1). Advancing the clock only visits the
+ * buckets whose span has passed; their entries are either expired or moved
+ * down to a finer level, so each entry is touched a few times at most over
+ * its life instead of on every scan. Times are nanoseconds from the map's
+ * start, so they never overflow in practice.
+ */
+final class TimerWheel<K, V> {
+    static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    static final long[] SPANS = {
+            ceilingPowerOfTwo(TimeUnit.SECONDS.toNanos(1)), // 1.07 s
+            ceilingPowerOfTwo(TimeUnit.MINUTES.toNanos(1)), // 1.14 min
+            ceilingPowerOfTwo(TimeUnit.HOURS.toNanos(1)),   // 1.22 h
+            ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)),    // 1.63 d
+            BUCKETS[3] * ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)), // 6.5 d
+            BUCKETS[3] * ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)),
+    };
+    static final int[] SHIFT = new int[BUCKETS.length];
+
+    static {
+        for (int i = 0; i < SHIFT.length; i++)
+            SHIFT[i] = Long.numberOfTrailingZeros(SPANS[i]);
+    }
+
+    static final class Node<K, V> {
+        final K key;
+        V value;
+        long time; // expiry, nanos from the start of the wheel
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, long time) {
+            this.key = key;
+            this.value = value;
+            this.time = time;
+        }
+    }
+
+    private final Node<K, V>[][] wheel;
+    private long nanos; // time of the last advance
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    TimerWheel() {
+        wheel = new Node[BUCKETS.length][];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Node[BUCKETS[i]];
+            for (int j = 0; j < wheel[i].length; j++)
+                wheel[i][j] = sentinel();
+        }
+    }
+
+    static long ceilingPowerOfTwo(long x) {
+        return 1L << -Long.numberOfLeadingZeros(x - 1);
+    }
+
+    private static <K, V> Node<K, V> sentinel() {
+        Node<K, V> s = new Node<>(null, null, 0L);
+        s.prev = s;
+        s.next = s;
+        return s;
+    }
+
+    long nanos() {
+        return nanos;
+    }
+
+    void schedule(Node<K, V> node) {
+        Node<K, V> sentinel = findBucket(node.time);
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    void reschedule(Node<K, V> node) {
+        deschedule(node);
+        schedule(node);
+    }
+
+    void deschedule(Node<K, V> node) {
+        if (node.next != null) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+    }
+
+    void clear() {
+        for (Node<K, V>[] level : wheel)
+            for (Node<K, V> sentinel : level) {
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+            }
+    }
+
+    /*
+     * Moves the clock to currentNanos and hands every entry that expired by
+     * then to evict, already unlinked from the wheel.
+     */
+    void advance(long currentNanos, Consumer<Node<K, V>> evict) {
+        long previous = nanos;
+        if (currentNanos <= previous)
+            return;
+        nanos = currentNanos;
+        for (int i = 0; i < SHIFT.length; i++) {
+            long previousTicks = previous >>> SHIFT[i];
+            long delta = (currentNanos >>> SHIFT[i]) - previousTicks;
+            if (delta <= 0)
+                break; // coarser levels have not ticked either
+            expire(i, previousTicks, delta, evict);
+        }
+    }
+
+    private void expire(int level, long previousTicks, long delta, Consumer<Node<K, V>> evict) {
+        Node<K, V>[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(1 + delta, buckets.length);
+        int start = (int) (previousTicks & mask);
+        for (int i = start; i < start + steps; i++) {
+            Node<K, V> sentinel = buckets[i & mask];
+            Node<K, V> node = sentinel.next;
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            while (node != sentinel) {
+                Node<K, V> next = node.next;
+                node.prev = null;
+                node.next = null;
+                if (node.time - nanos <= 0)
+                    evict.accept(node);
+                else
+                    schedule(node); // to a finer level, or back if not due yet
+                node = next;
+            }
+        }
+    }
+
+    private Node<K, V> findBucket(long time) {
+        long duration = time - nanos;
+        int last = wheel.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = time >>> SHIFT[i];
+                return wheel[i][(int) (ticks & (wheel[i].length - 1))];
+            }
+        }
+        return wheel[last][0];
+    }
+}
@@ -6,7 +6,6 @@ import Module_2.model.User;
 import Module_2.util.HibernateUtil;
 
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
 
@@ -103,15 +102,19 @@ public class Main {
     }
 
     private static void readAllUsers() {
-        List<User> users = userDao.readAll();
-        if (users.isEmpty()) {
+        long[] count = {0};
+        userDao.forEachUser(user -> {
+            if (count[0]++ == 0) {
+                System.out.println("\n=== Список пользователей ===");
+            }
+            printUser(user);
+        });
+        if (count[0] == 0) {
             System.out.println("Список пользователей пуст!");
             return;
         }
 
-        System.out.println("\n=== Список пользователей ===");
-        users.forEach(Main::printUser);
-        System.out.println("=== Всего: " + users.size() + " ===");
+        System.out.println("=== Всего: " + count[0] + " ===");
     }
 
     private static void updateUser() {
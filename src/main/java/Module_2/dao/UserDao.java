@@ -4,6 +4,8 @@ import Module_2.model.User;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface UserDao {
     void create(User user);
@@ -12,6 +14,24 @@ public interface UserDao {
 
     List<User> readAll();
 
+    // must be closed: holds a session and a database cursor until then
+    Stream<User> streamAll();
+
+    // fetchSize rows are read from the cursor per round trip
+    Stream<User> streamAll(int fetchSize);
+
+    default void forEachUser(Consumer<? super User> action) {
+        try (Stream<User> users = streamAll()) {
+            users.forEach(action);
+        }
+    }
+
+    default void forEachUser(int fetchSize, Consumer<? super User> action) {
+        try (Stream<User> users = streamAll(fetchSize)) {
+            users.forEach(action);
+        }
+    }
+
     boolean update(User user);
 
     boolean delete(Long id);
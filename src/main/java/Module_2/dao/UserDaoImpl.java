@@ -1,6 +1,7 @@
 package Module_2.dao;
 
 import Module_2.model.User;
+import Module_2.util.HibernateUtil;
 import Module_2.util.TransactionUtil;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -10,7 +11,14 @@ import jakarta.validation.ValidatorFactory;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.query.Query;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,6 +83,40 @@ public class UserDaoImpl implements UserDao {
         });
     }
 
+    @Override
+    public Stream<User> streamAll() {
+        return streamAll(HibernateUtil.FETCH_SIZE);
+    }
+
+    @Override
+    public Stream<User> streamAll(int fetchSize) {
+        if (fetchSize < 1) {
+            logger.error("Invalid fetch size: {}", fetchSize);
+            throw new IllegalArgumentException("Invalid fetch size: " + fetchSize);
+        }
+        return TransactionUtil.streamInTransaction(session -> {
+            ScrollableResults<User> results = session.createQuery("FROM User u ORDER BY u.id", User.class)
+                    .setReadOnly(true)
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+            Spliterator<User> users = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super User> action) {
+                    if (!results.next()) {
+                        return false;
+                    }
+                    User user = results.get();
+                    session.detach(user); // the session must not keep every row it has seen
+                    action.accept(user);
+                    return true;
+                }
+            };
+            logger.debug("Streaming users with fetch size {}", fetchSize);
+            return StreamSupport.stream(users, false).onClose(results::close);
+        });
+    }
+
     @Override
     public boolean update(User user) {
         validateUser(user);
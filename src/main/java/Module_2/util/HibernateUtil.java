@@ -7,6 +7,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class HibernateUtil {
+    /**
+     * Сколько строк потоковые запросы DAO по умолчанию получают из курсора
+     * за одно обращение к БД.
+     */
+    public static final int FETCH_SIZE = 500;
+
     private static final Logger logger = LoggerFactory.getLogger(HibernateUtil.class);
     private static final SessionFactory sessionFactory = buildSessionFactory();
 
@@ -2,6 +2,7 @@ package Module_2.util;
 
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
@@ -64,4 +65,50 @@ public class TransactionUtil {
             return null;
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Выполняет запрос, возвращающий поток, в транзакционном контексте.
+     *
+     * <p>В отличие от {@link #doInTransaction(Function)} сессия и транзакция
+     * остаются открытыми, пока поток читается, и закрываются вместе с ним,
+     * поэтому поток нужно закрывать (try-with-resources). Транзакция нужна
+     * драйверу PostgreSQL, чтобы читать результат курсором по fetch size
+     * строк, а не загружать его целиком.</p>
+     *
+     * @param function Функция, принимающая сессию Hibernate и возвращающая поток
+     * @param <T> Тип элементов потока
+     * @return Поток, при закрытии которого фиксируется транзакция и закрывается сессия
+     * @throws DatabaseException Если не удалось начать транзакцию или выполнить запрос
+     */
+    public static <T> Stream<T> streamInTransaction(Function<Session, Stream<T>> function) {
+        Session session = HibernateUtil.getSessionFactory().openSession();
+        Transaction transaction = null;
+        try {
+            transaction = session.beginTransaction();
+            Transaction tx = transaction;
+            return function.apply(session).onClose(() -> {
+                try {
+                    if (tx.isActive()) {
+                        tx.commit();
+                    }
+                } finally {
+                    session.close();
+                }
+            });
+        } catch (HibernateException e) {
+            if (transaction != null && transaction.isActive()) {
+                try {
+                    transaction.rollback();
+                } catch (Exception rollbackEx) {
+                    logger.error("Transaction rollback failed", rollbackEx);
+                }
+            }
+            session.close();
+            logger.error("Transaction error: {}", e.getMessage(), e);
+            throw new DatabaseException("Database operation failed", e);
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+}
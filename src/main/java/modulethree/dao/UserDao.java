@@ -1,8 +1,13 @@
 package modulethree.dao;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import modulethree.model.User;
+import modulethree.model.UserSummary;
 
 /**
  * Интерфейс для доступа к данным пользователей.
@@ -16,6 +21,17 @@ public interface UserDao {
      */
     void create(User user);
 
+    /**
+     * Создаёт сразу несколько пользователей за одну транзакцию.
+     *
+     * <p>Все пользователи проверяются до записи в БД; если хотя бы один
+     * некорректен или его email уже занят (в БД или в самой пачке),
+     * не сохраняется никто.</p>
+     *
+     * @param users пользователи для сохранения
+     */
+    void createAll(Collection<User> users);
+
     /**
      * Ищет пользователя по ID.
      *
@@ -32,6 +48,105 @@ public interface UserDao {
      */
     List<User> readAll();
 
+    /**
+     * Ищет проекцию пользователя по ID, не загружая сущность.
+     *
+     * @param id уникальный идентификатор пользователя
+     * @return {@link Optional} с найденным пользователем,
+     *     либо пустой {@link Optional}, если пользователь не найден
+     */
+    Optional<UserSummary> readSummary(Long id);
+
+    /**
+     * Возвращает проекции всех пользователей по порядку id.
+     *
+     * <p>Для списков, которые только показываются: записи не привязаны к
+     * сессии и обходятся дешевле, чем {@link #readAll()}.</p>
+     *
+     * @return список всех пользователей
+     */
+    List<UserSummary> readAllSummaries();
+
+    /**
+     * Возвращает всех пользователей потоком, по порядку id.
+     *
+     * <p>Строки читаются курсором БД порциями, а прочитанные пользователи
+     * отсоединяются от сессии, так что расход памяти не зависит от размера
+     * таблицы. Поток держит открытыми сессию и транзакцию, поэтому его нужно
+     * закрыть, например в try-with-resources.</p>
+     *
+     * @return поток всех пользователей
+     * @see #streamAll(int)
+     */
+    Stream<User> streamAll();
+
+    /**
+     * Как {@link #streamAll()}, но с заданным числом строк, которые курсор
+     * получает из БД за одно обращение.
+     *
+     * @param fetchSize строк за одно обращение к БД, больше нуля
+     * @return поток всех пользователей
+     */
+    Stream<User> streamAll(int fetchSize);
+
+    /**
+     * Передаёт всех пользователей по одному в {@code action}, не загружая их
+     * в память все сразу.
+     *
+     * @param action действие над каждым пользователем
+     * @see #streamAll()
+     */
+    default void forEachUser(Consumer<? super User> action) {
+        try (Stream<User> users = streamAll()) {
+            users.forEach(action);
+        }
+    }
+
+    /**
+     * Как {@link #forEachUser(Consumer)}, но с заданным числом строк за одно
+     * обращение к БД.
+     *
+     * @param fetchSize строк за одно обращение к БД, больше нуля
+     * @param action    действие над каждым пользователем
+     * @see #streamAll(int)
+     */
+    default void forEachUser(int fetchSize, Consumer<? super User> action) {
+        try (Stream<User> users = streamAll(fetchSize)) {
+            users.forEach(action);
+        }
+    }
+
+    /**
+     * Возвращает страницу пользователей по порядку id, начиная сразу после
+     * {@code afterId}.
+     *
+     * <p>Страница ищется условием {@code id > afterId} по первичному ключу, а
+     * не через {@code OFFSET}, поэтому любая страница читается так же быстро,
+     * как первая.</p>
+     *
+     * @param afterId {@link UserPage#nextId()} предыдущей страницы,
+     *                либо {@code null} для первой страницы
+     * @param limit   размер страницы, от 1 до {@link UserPage#MAX_LIMIT}
+     * @return страница пользователей
+     */
+    UserPage readPage(Long afterId, int limit);
+
+    /**
+     * Возвращает страницу пользователей по порядку даты создания (при равных
+     * датах — по id), начиная сразу после пользователя с ключом
+     * {@code (afterCreatedAt, afterId)}.
+     *
+     * <p>Страница ищется по индексу {@code (created_at, id)}.</p>
+     *
+     * @param afterCreatedAt {@link UserPage#nextCreatedAt()} предыдущей страницы,
+     *                       либо {@code null} для первой страницы
+     * @param afterId        {@link UserPage#nextId()} предыдущей страницы,
+     *                       либо {@code null} для первой страницы
+     * @param limit          размер страницы, от 1 до {@link UserPage#MAX_LIMIT}
+     * @return страница пользователей
+     */
+    UserPage readPage(LocalDateTime afterCreatedAt, Long afterId, int limit);
+
     /**
      * Обновляет информацию о существующем пользователе.
      *
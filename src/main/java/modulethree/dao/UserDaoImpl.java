@@ -4,14 +4,27 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
-import jakarta.validation.ValidatorFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import modulethree.model.User;
+import modulethree.model.UserSummary;
+import modulethree.util.HibernateUtil;
 import modulethree.util.TransactionUtil;
+import org.hibernate.Session;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.query.Query;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +50,14 @@ import org.slf4j.LoggerFactory;
 
 public class UserDaoImpl implements UserDao {
     private static final Logger logger = LoggerFactory.getLogger(UserDaoImpl.class);
+    /**
+     * Максимум email-ов в одном {@code IN}: PostgreSQL принимает не больше
+     * 32767 параметров на запрос.
+     */
+    private static final int MAX_IN_PARAMETERS = 10_000;
+    private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private static final String SELECT_SUMMARY =
+            "SELECT new modulethree.model.UserSummary(u.id, u.name, u.email, u.age, u.createdAt) FROM User u";
 
     @Override
     public void create(User user) {
@@ -52,10 +73,68 @@ public class UserDaoImpl implements UserDao {
         });
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Занятые email-ы ищутся одним запросом {@code IN} на каждые
+     * {@value #MAX_IN_PARAMETERS} адресов, а вставки уходят JDBC-пачками
+     * по {@link HibernateUtil#BATCH_SIZE} строк; после каждой пачки сессия
+     * сбрасывается и очищается, так что память не растёт с размером коллекции.</p>
+     */
+    @Override
+    public void createAll(Collection<User> users) {
+        if (users == null) {
+            logger.error("Users cannot be null");
+            throw new IllegalArgumentException("Users cannot be null");
+        }
+
+        Set<String> emails = new HashSet<>();
+        for (User user : users) {
+            validateUser(user);
+            if (!emails.add(user.getEmail())) {
+                logger.error("Duplicate email in batch: {}", user.getEmail());
+                throw new IllegalArgumentException("Duplicate email in batch: " + user.getEmail());
+            }
+        }
+        if (users.isEmpty()) {
+            return;
+        }
+
+        TransactionUtil.doInTransaction(session -> {
+            List<String> existing = findExistingEmails(session, new ArrayList<>(emails));
+            if (!existing.isEmpty()) {
+                logger.error("Emails already exist: {}", existing);
+                throw new IllegalArgumentException("Email already exists: " + existing);
+            }
+
+            int count = 0;
+            for (User user : users) {
+                session.persist(user);
+                if (++count % HibernateUtil.BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            logger.info("Created {} users", count);
+        });
+    }
+
+    private List<String> findExistingEmails(Session session, List<String> emails) {
+        List<String> existing = new ArrayList<>();
+        for (int from = 0; from < emails.size(); from += MAX_IN_PARAMETERS) {
+            List<String> chunk = emails.subList(from, Math.min(from + MAX_IN_PARAMETERS, emails.size()));
+            existing.addAll(session.createQuery(
+                            "SELECT u.email FROM User u WHERE u.email IN :emails", String.class)
+                    .setParameter("emails", chunk)
+                    .list());
+        }
+        return existing;
+    }
+
     @Override
     public Optional<User> read(Long id) {
         validateId(id);
-        return TransactionUtil.doInTransaction(session -> {
+        return TransactionUtil.doInReadOnlyTransaction(session -> {
             User user = session.get(User.class, id);
             if (user != null) {
                 logger.debug("Retrieved user with ID: {}", id);
@@ -68,7 +147,7 @@ public class UserDaoImpl implements UserDao {
 
     @Override
     public List<User> readAll() {
-        return TransactionUtil.doInTransaction(session -> {
+        return TransactionUtil.doInReadOnlyTransaction(session -> {
             Query<User> query = session.createQuery("FROM User", User.class);
             List<User> users = query.list();
             logger.info("Retrieved {} users", users.size());
@@ -76,6 +155,117 @@ public class UserDaoImpl implements UserDao {
         });
     }
 
+    @Override
+    public Optional<UserSummary> readSummary(Long id) {
+        validateId(id);
+        return TransactionUtil.doInReadOnlyTransaction(session -> {
+            Optional<UserSummary> user = session.createQuery(SELECT_SUMMARY + " WHERE u.id = :id", UserSummary.class)
+                    .setParameter("id", id)
+                    .uniqueResultOptional();
+            if (user.isPresent()) {
+                logger.debug("Retrieved user summary with ID: {}", id);
+            } else {
+                logger.warn("User with ID {} not found", id);
+            }
+            return user;
+        });
+    }
+
+    @Override
+    public List<UserSummary> readAllSummaries() {
+        return TransactionUtil.doInReadOnlyTransaction(session -> {
+            List<UserSummary> users = session.createQuery(SELECT_SUMMARY + " ORDER BY u.id", UserSummary.class)
+                    .list();
+            logger.info("Retrieved {} user summaries", users.size());
+            return users;
+        });
+    }
+
+    @Override
+    public Stream<User> streamAll() {
+        return streamAll(HibernateUtil.FETCH_SIZE);
+    }
+
+    @Override
+    public Stream<User> streamAll(int fetchSize) {
+        if (fetchSize < 1) {
+            logger.error("Invalid fetch size: {}", fetchSize);
+            throw new IllegalArgumentException("Invalid fetch size: " + fetchSize);
+        }
+        return TransactionUtil.streamInTransaction(session -> {
+            ScrollableResults<User> results = session.createQuery("FROM User u ORDER BY u.id", User.class)
+                    .setReadOnly(true)
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+            Spliterator<User> users = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super User> action) {
+                    if (!results.next()) {
+                        return false;
+                    }
+                    User user = results.get();
+                    session.detach(user); // the session must not keep every row it has seen
+                    action.accept(user);
+                    return true;
+                }
+            };
+            logger.debug("Streaming users with fetch size {}", fetchSize);
+            return StreamSupport.stream(users, false).onClose(results::close);
+        });
+    }
+
+    @Override
+    public UserPage readPage(Long afterId, int limit) {
+        validateLimit(limit);
+        return TransactionUtil.doInReadOnlyTransaction(session -> {
+            Query<User> query = afterId == null
+                    ? session.createQuery("FROM User u ORDER BY u.id", User.class)
+                    : session.createQuery("FROM User u WHERE u.id > :afterId ORDER BY u.id", User.class)
+                            .setParameter("afterId", afterId);
+            return readPage(query, limit);
+        });
+    }
+
+    @Override
+    public UserPage readPage(LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        validateLimit(limit);
+        if ((afterCreatedAt == null) != (afterId == null)) {
+            logger.error("Invalid page key: ({}, {})", afterCreatedAt, afterId);
+            throw new IllegalArgumentException("afterCreatedAt and afterId must both be set or both be null");
+        }
+        return TransactionUtil.doInReadOnlyTransaction(session -> {
+            // the redundant createdAt >= bound lets the planner seek the (created_at, id) index
+            Query<User> query = afterId == null
+                    ? session.createQuery("FROM User u ORDER BY u.createdAt, u.id", User.class)
+                    : session.createQuery("FROM User u WHERE u.createdAt >= :createdAt"
+                                    + " AND (u.createdAt > :createdAt OR u.id > :afterId)"
+                                    + " ORDER BY u.createdAt, u.id", User.class)
+                            .setParameter("createdAt", afterCreatedAt)
+                            .setParameter("afterId", afterId);
+            return readPage(query, limit);
+        });
+    }
+
+    // reads one row past the limit to learn whether another page follows
+    private UserPage readPage(Query<User> query, int limit) {
+        List<User> users = query.setMaxResults(limit + 1).list();
+        if (users.size() <= limit) {
+            logger.debug("Retrieved last page of {} users", users.size());
+            return new UserPage(users, null, null);
+        }
+        User last = users.get(limit - 1);
+        logger.debug("Retrieved page of {} users, next after ID {}", limit, last.getId());
+        return new UserPage(users.subList(0, limit), last.getCreatedAt(), last.getId());
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > UserPage.MAX_LIMIT) {
+            logger.error("Invalid page limit: {}", limit);
+            throw new IllegalArgumentException("Invalid page limit: " + limit);
+        }
+    }
+
     @Override
     public boolean update(User user) {
         validateUser(user);
@@ -104,8 +294,6 @@ public class UserDaoImpl implements UserDao {
             throw new IllegalArgumentException("User cannot be null");
         }
 
-        ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-        Validator validator = factory.getValidator();
         Set<ConstraintViolation<User>> violations = validator.validate(user);
 
         if (!violations.isEmpty()) {
@@ -151,7 +339,7 @@ public class UserDaoImpl implements UserDao {
      *         иначе {@code false}.
      */
     public boolean existsByEmail(String email) {
-        return TransactionUtil.doInTransaction(session ->
+        return TransactionUtil.doInReadOnlyTransaction(session ->
                 session.createQuery("SELECT COUNT(u) FROM User u WHERE u.email = :email", Long.class)
                         .setParameter("email", email)
                         .uniqueResult() > 0
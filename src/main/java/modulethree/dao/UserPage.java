@@ -0,0 +1,38 @@
+package modulethree.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import modulethree.model.User;
+
+/**
+ * Страница пользователей, прочитанная по ключу (keyset-пагинация).
+ *
+ * <p>Продолжением служит ключ последнего пользователя страницы: его
+ * {@code id} и {@code createdAt} передаются в следующий вызов
+ * {@code readPage}. На последней странице оба поля равны {@code null}.</p>
+ *
+ * @param users         пользователи страницы, не больше запрошенного лимита
+ * @param nextCreatedAt дата создания последнего пользователя страницы,
+ *                      либо {@code null}, если страница последняя
+ * @param nextId        id последнего пользователя страницы,
+ *                      либо {@code null}, если страница последняя
+ */
+public record UserPage(List<User> users, LocalDateTime nextCreatedAt, Long nextId) {
+    /**
+     * Наибольший допустимый размер страницы.
+     */
+    public static final int MAX_LIMIT = 1_000;
+
+    public UserPage {
+        users = List.copyOf(users);
+    }
+
+    /**
+     * Проверяет, есть ли за этой страницей ещё пользователи.
+     *
+     * @return {@code true}, если следующая страница не пуста
+     */
+    public boolean hasNext() {
+        return nextId != null;
+    }
+}
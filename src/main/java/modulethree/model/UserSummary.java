@@ -0,0 +1,20 @@
+package modulethree.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Неизменяемая проекция пользователя для чтения.
+ *
+ * <p>Заполняется прямо из строки запроса ({@code select new}), минуя
+ * сущность {@link User}: Hibernate не помещает её в сессию и не хранит
+ * снимок для проверки изменений, поэтому списки таких записей дешевле
+ * списков сущностей.</p>
+ *
+ * @param id        идентификатор пользователя
+ * @param name      имя пользователя
+ * @param email     электронная почта пользователя
+ * @param age       возраст пользователя
+ * @param createdAt дата и время создания записи
+ */
+public record UserSummary(Long id, String name, String email, Integer age, LocalDateTime createdAt) {
+}
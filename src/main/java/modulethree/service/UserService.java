@@ -5,12 +5,18 @@ import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import modulethree.dao.UserDao;
+import modulethree.dao.UserPage;
 import modulethree.model.User;
+import modulethree.model.UserSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,6 +59,28 @@ public class UserService {
         logger.info("User created successfully. ID: {}", user.getId());
     }
 
+    /**
+     * Создаёт пользователей одной пачкой.
+     *
+     * <p>Все пользователи проверяются заранее; если хотя бы один некорректен,
+     * в хранилище не попадает никто.</p>
+     *
+     * @param users пользователи для создания
+     * @throws IllegalArgumentException     если коллекция равна {@code null}
+     *                                      или email повторяется либо уже существует
+     * @throws ConstraintViolationException если данные пользователя некорректны
+     */
+    public void createUsers(Collection<User> users) {
+        if (users == null) {
+            throw new IllegalArgumentException("Users cannot be null");
+        }
+        users.forEach(this::validateUser);
+
+        logger.debug("Attempting to create {} user(s)", users.size());
+        userDao.createAll(users);
+        logger.info("Created {} user(s)", users.size());
+    }
+
     private void validateUser(User user) {
         Set<ConstraintViolation<User>> violations = validator.validate(user);
         if (!violations.isEmpty()) {
@@ -91,6 +119,96 @@ public class UserService {
         return users;
     }
 
+    /**
+     * Получает проекцию пользователя по идентификатору, только для чтения.
+     *
+     * @param id идентификатор пользователя
+     * @return {@link Optional} с пользователем, если найден
+     * @see UserDao#readSummary(Long)
+     */
+    public Optional<UserSummary> getUserSummaryById(Long id) {
+        logger.debug("Fetching user summary by ID: {}", id);
+        return userDao.readSummary(id);
+    }
+
+    /**
+     * Возвращает проекции всех пользователей, только для чтения.
+     *
+     * @return список пользователей по порядку id
+     * @see UserDao#readAllSummaries()
+     */
+    public List<UserSummary> getAllUserSummaries() {
+        logger.debug("Fetching all user summaries");
+        List<UserSummary> users = userDao.readAllSummaries();
+        logger.info("Retrieved {} user summary(ies)", users.size());
+        return users;
+    }
+
+    /**
+     * Возвращает всех пользователей потоком, не загружая их в память разом.
+     * Поток нужно закрыть после чтения.
+     *
+     * @return поток пользователей по порядку id
+     * @see UserDao#streamAll()
+     */
+    public Stream<User> streamAllUsers() {
+        logger.debug("Streaming all users");
+        return userDao.streamAll();
+    }
+
+    /**
+     * Как {@link #streamAllUsers()}, но с заданным числом строк за одно
+     * обращение к БД.
+     *
+     * @param fetchSize строк за одно обращение к БД, больше нуля
+     * @return поток пользователей по порядку id
+     * @see UserDao#streamAll(int)
+     */
+    public Stream<User> streamAllUsers(int fetchSize) {
+        logger.debug("Streaming all users with fetch size {}", fetchSize);
+        return userDao.streamAll(fetchSize);
+    }
+
+    /**
+     * Передаёт всех пользователей по одному в {@code action}.
+     *
+     * @param action действие над каждым пользователем
+     * @see UserDao#forEachUser(Consumer)
+     */
+    public void forEachUser(Consumer<? super User> action) {
+        logger.debug("Iterating over all users");
+        userDao.forEachUser(action);
+    }
+
+    /**
+     * Возвращает страницу пользователей по порядку id.
+     *
+     * @param afterId id, после которого начинается страница
+     *                ({@link UserPage#nextId()} предыдущей), либо {@code null}
+     * @param limit   размер страницы
+     * @return страница пользователей
+     * @see UserDao#readPage(Long, int)
+     */
+    public UserPage getUsersPage(Long afterId, int limit) {
+        logger.debug("Fetching page of {} users after ID {}", limit, afterId);
+        return userDao.readPage(afterId, limit);
+    }
+
+    /**
+     * Возвращает страницу пользователей по порядку даты создания.
+     *
+     * @param afterCreatedAt дата создания, после которой начинается страница
+     *                       ({@link UserPage#nextCreatedAt()} предыдущей), либо {@code null}
+     * @param afterId        {@link UserPage#nextId()} предыдущей страницы, либо {@code null}
+     * @param limit          размер страницы
+     * @return страница пользователей
+     * @see UserDao#readPage(LocalDateTime, Long, int)
+     */
+    public UserPage getUsersPage(LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        logger.debug("Fetching page of {} users after ({}, {})", limit, afterCreatedAt, afterId);
+        return userDao.readPage(afterCreatedAt, afterId, limit);
+    }
+
     /**
      * Обновляет данные пользователя.
      *
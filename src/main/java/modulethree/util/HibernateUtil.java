@@ -13,6 +13,18 @@ import org.hibernate.cfg.Configuration;
  * фабрику сессий. Используется в приложении как единая точка доступа к Hibernate.</p>
  */
 public class HibernateUtil {
+    /**
+     * Размер JDBC-пачки для вставок и обновлений; пакетные операции DAO
+     * сбрасывают сессию с тем же шагом.
+     */
+    public static final int BATCH_SIZE = 50;
+
+    /**
+     * Сколько строк потоковые запросы DAO по умолчанию получают из курсора
+     * за одно обращение к БД.
+     */
+    public static final int FETCH_SIZE = 500;
+
     private static SessionFactory sessionFactory;
     private static String jdbcUrl;
     private static String username;
@@ -53,6 +65,10 @@ public class HibernateUtil {
             configuration.setProperty("hibernate.connection.password", password);
             configuration.setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
             configuration.setProperty("hibernate.hbm2ddl.auto", "update");
+            configuration.setProperty("hibernate.jdbc.batch_size", String.valueOf(BATCH_SIZE));
+            configuration.setProperty("hibernate.order_inserts", "true");
+            configuration.setProperty("hibernate.order_updates", "true");
+            configuration.setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
 
             configuration.addAnnotatedClass(User.class);
 
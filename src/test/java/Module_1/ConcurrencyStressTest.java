@@ -0,0 +1,309 @@
+package Module_1;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Randomized multi-threaded workloads against the concurrent maps, each
+ * checked against invariants that any correct interleaving keeps: no lost
+ * keys or updates across resizes, exactly one winner per putIfAbsent, sizes
+ * that add up, per-key values that never go back in time.
+ *
+ * Every test runs for stress.millis milliseconds (300 by default), so the
+ * regular build stays quick; run longer before trusting a new map, e.g.
+ *
+ *   mvn test -Dtest=ConcurrencyStressTest -Dstress.millis=60000
+ */
+class ConcurrencyStressTest {
+
+    private static final long DURATION_MILLIS = Long.getLong("stress.millis", 300L);
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    @TempDir
+    Path dir;
+
+    interface Worker {
+        void run(int thread, long deadline) throws Exception;
+    }
+
+    // runs worker on every thread until the deadline, rethrowing the first failure
+    private static void runConcurrently(int threads, Worker worker) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    worker.run(thread, System.nanoTime() + DURATION_MILLIS * 1_000_000L);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures)
+                f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static boolean before(long deadline) {
+        return System.nanoTime() - deadline < 0;
+    }
+
+    @Test
+    void testConcurrentHashMapLosesNoKeysAcrossResizes() throws Exception {
+        long deadline = System.nanoTime() + DURATION_MILLIS * 1_000_000L;
+        int rounds = 0;
+        do {
+            // capacity 1, so every round goes through all the resizes
+            MyConcurrentHashMap<Integer, Integer> map = new MyConcurrentHashMap<>(1);
+            int perThread = 20_000;
+            runConcurrently(THREADS, (t, end) -> {
+                int base = t * perThread;
+                for (int i = 0; i < perThread; i++)
+                    assertNull(map.put(base + i, i));
+                for (int i = 0; i < perThread; i += 3)
+                    assertEquals(i, map.remove(base + i));
+            });
+            int removed = (perThread + 2) / 3;
+            assertEquals(THREADS * (perThread - removed), map.size());
+            for (int t = 0; t < THREADS; t++)
+                for (int i = 0; i < perThread; i++)
+                    assertEquals(i % 3 == 0 ? null : i, map.get(t * perThread + i));
+            rounds++;
+        } while (before(deadline));
+        assertTrue(rounds > 0);
+    }
+
+    @Test
+    void testConcurrentHashMapReadersSeeEveryPublishedKey() throws Exception {
+        // writers insert ascending keys and publish how far they got; readers
+        // must find every published key with its value, resize or not
+        MyConcurrentHashMap<Long, Long> map = new MyConcurrentHashMap<>(1);
+        int writers = THREADS / 2;
+        AtomicIntegerArray published = new AtomicIntegerArray(writers);
+        runConcurrently(THREADS, (t, end) -> {
+            if (t < writers) {
+                for (int i = 1; before(end); i++) {
+                    long key = (long) i * writers + t;
+                    map.put(key, -key);
+                    published.set(t, i);
+                }
+            } else {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (before(end)) {
+                    int w = random.nextInt(writers);
+                    int upTo = published.get(w);
+                    if (upTo == 0)
+                        continue;
+                    long key = (long) (1 + random.nextInt(upTo)) * writers + w;
+                    assertEquals(-key, map.get(key), "lost key " + key);
+                }
+            }
+        });
+        long total = 0;
+        for (int w = 0; w < writers; w++)
+            total += published.get(w);
+        assertEquals(total, map.size());
+    }
+
+    @Test
+    void testConcurrentHashMapPutIfAbsentAndRemoveHaveOneWinner() throws Exception {
+        long deadline = System.nanoTime() + DURATION_MILLIS * 1_000_000L;
+        do {
+            MyConcurrentHashMap<Integer, Integer> map = new MyConcurrentHashMap<>();
+            int keys = 10_000;
+            AtomicLong inserted = new AtomicLong();
+            AtomicLong removed = new AtomicLong();
+            CyclicBarrier phase = new CyclicBarrier(THREADS); // else a removed key may be inserted again
+            runConcurrently(THREADS, (t, end) -> {
+                for (int k = 0; k < keys; k++)
+                    if (map.putIfAbsent(k, t) == null)
+                        inserted.incrementAndGet();
+                phase.await();
+                for (int k = 0; k < keys; k++)
+                    if (map.remove(k) != null)
+                        removed.incrementAndGet();
+            });
+            assertEquals(keys, inserted.get());
+            assertEquals(keys, removed.get());
+            assertTrue(map.isEmpty());
+        } while (before(deadline));
+    }
+
+    @Test
+    void testConcurrentHashMapSizeNeverRunsBackwardsDuringInserts() throws Exception {
+        MyConcurrentHashMap<Integer, Integer> map = new MyConcurrentHashMap<>(1);
+        int writers = THREADS - 1;
+        int[] counts = new int[writers];
+        runConcurrently(THREADS, (t, end) -> {
+            if (t < writers) {
+                int i = 0;
+                for (; before(end); i++)
+                    map.put(i * writers + t, i);
+                counts[t] = i;
+            } else {
+                int last = 0;
+                while (before(end)) {
+                    int size = map.size();
+                    assertTrue(size >= last, size + " after " + last);
+                    last = size;
+                }
+            }
+        });
+        int expected = 0;
+        for (int c : counts)
+            expected += c;
+        assertEquals(expected, map.size());
+    }
+
+    @Test
+    void testCounterMapLosesNoIncrements() throws Exception {
+        MyConcurrentCounterMap<Integer> counts = new MyConcurrentCounterMap<>();
+        long[] done = new long[THREADS];
+        runConcurrently(THREADS, (t, end) -> {
+            Random random = new Random(t);
+            long n = 0;
+            while (before(end)) {
+                // half on one hot key, the rest spread out and growing the table
+                counts.increment(random.nextBoolean() ? 0 : random.nextInt(100_000));
+                n++;
+            }
+            done[t] = n;
+        });
+        long expected = 0;
+        for (long n : done)
+            expected += n;
+        assertEquals(expected, counts.total());
+        assertEquals(0, counts.topK(1).get(0).getKey());
+    }
+
+    @Test
+    void testHamtMapMergesAndSnapshotsStayConsistent() throws Exception {
+        // writers only add, so totals of later snapshots never shrink, and a
+        // snapshot keeps its total however much is written after it
+        MyHamtMap<Integer, Long> counters = new MyHamtMap<>();
+        long[] done = new long[THREADS];
+        runConcurrently(THREADS, (t, end) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long last = 0, n = 0;
+            while (before(end)) {
+                if (t == 0) {
+                    MyHamtMap<Integer, Long> snapshot = counters.snapshot();
+                    long total = total(snapshot);
+                    assertTrue(total >= last, total + " after " + last);
+                    assertEquals(total, total(snapshot));
+                    last = total;
+                } else {
+                    counters.merge(random.nextInt(1_000), 1L, Long::sum);
+                    n++;
+                }
+            }
+            done[t] = n;
+        });
+        long expected = 0;
+        for (long n : done)
+            expected += n;
+        assertEquals(expected, total(counters));
+    }
+
+    private static long total(MyHamtMap<Integer, Long> map) {
+        long[] sum = {0L};
+        map.forEach((k, v) -> sum[0] += v);
+        return sum[0];
+    }
+
+    @Test
+    void testBitcaskMapValuesNeverGoBackInTime() throws Exception {
+        // each writer owns its keys and writes increasing versions; readers
+        // must never see a version older than one they saw before
+        int writers = THREADS / 2, keysPerWriter = 64;
+        int recordSize = MyBitcaskMap.KEY_OFFSET + 2 * Long.BYTES;
+        try (MyBitcaskMap<Long, Long> map = new MyBitcaskMap<>(dir, OffHeapCodec.LONG, OffHeapCodec.LONG,
+                1_000 * recordSize, 0.5f)) {
+            long[] lastWritten = new long[writers * keysPerWriter];
+            runConcurrently(THREADS, (t, end) -> {
+                if (t < writers) {
+                    for (long version = 1; before(end); version++)
+                        for (int k = 0; k < keysPerWriter; k++) {
+                            int key = t * keysPerWriter + k;
+                            map.put((long) key, version);
+                            lastWritten[key] = version;
+                        }
+                } else {
+                    long[] seen = new long[writers * keysPerWriter];
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (before(end)) {
+                        int key = random.nextInt(seen.length);
+                        Long v = map.get((long) key);
+                        long version = v == null ? 0 : v;
+                        assertTrue(version >= seen[key], "key " + key + " went from " +
+                                seen[key] + " to " + version);
+                        seen[key] = version;
+                    }
+                }
+            });
+            map.compact();
+            for (int key = 0; key < lastWritten.length; key++)
+                if (lastWritten[key] > 0)
+                    assertEquals(lastWritten[key], map.get((long) key));
+        }
+    }
+
+    @Test
+    void testMyHashMapIterationDetectsModificationFromAnotherThread() throws Exception {
+        // MyHashMap is not thread-safe; what it does promise is that an
+        // iterator notices a change published to it, e.g. through a join
+        Random random = new Random(42);
+        long deadline = System.nanoTime() + DURATION_MILLIS * 1_000_000L;
+        int checks = 0;
+        do {
+            MyHashMap<Integer, Integer> map = new MyHashMap<>(1);
+            int size = 1 + random.nextInt(200);
+            for (int i = 0; i < size; i++)
+                map.put(i, i);
+            Iterator<Integer> it = map.keySet().iterator();
+            for (int i = random.nextInt(size); i > 0; i--)
+                it.next();
+
+            int key = random.nextBoolean() ? size : random.nextInt(size); // add, maybe resizing, or remove
+            Thread writer = new Thread(() -> {
+                if (key == size)
+                    map.put(key, key);
+                else
+                    map.remove(key);
+            });
+            writer.start();
+            writer.join();
+            assertThrows(ConcurrentModificationException.class, () -> {
+                while (it.hasNext())
+                    it.next();
+                throw new AssertionError("modification of " + key + " went unnoticed");
+            });
+            checks++;
+        } while (before(deadline));
+        assertTrue(checks > 0);
+    }
+}
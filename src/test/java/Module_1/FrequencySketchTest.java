@@ -0,0 +1,36 @@
+package Module_1;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrequencySketchTest {
+
+    @Test
+    void testCountsSaturateAtFifteen() {
+        FrequencySketch sketch = new FrequencySketch(1_000);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(42);
+        }
+        assertEquals(5, sketch.frequency(42));
+
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(42);
+        }
+        assertEquals(15, sketch.frequency(42));
+    }
+
+    @Test
+    void testCountsAreHalvedAfterSampleSize() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(7);
+        }
+        assertEquals(10, sketch.frequency(7));
+        for (int i = 0; i < 10 * 64 - 10; i++) { // reaches the sample size of 10 * 64
+            sketch.increment(1_000 + i);
+        }
+        assertTrue(sketch.frequency(7) < 10);
+    }
+}
@@ -0,0 +1,85 @@
+package Module_1;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashingStrategyTest {
+
+    private static final String[] SAMPLES = {
+            "", "a", "user@example.com", "Иван", "€uro", "😀", "mixed 😀 Ünïcödé 𝄞 text"
+    };
+
+    @Test
+    void testStringCharsAndBytesHashLikeString() {
+        HashingStrategy<String> s = HashingStrategy.STRING;
+        for (String sample : SAMPLES) {
+            byte[] utf8 = sample.getBytes(StandardCharsets.UTF_8);
+            assertEquals(sample.hashCode(), s.hashCode(sample));
+            assertEquals(sample.hashCode(), s.hashChars(new StringBuilder(sample)));
+            assertEquals(sample.hashCode(), s.hashBytes(utf8, 0, utf8.length));
+            assertTrue(s.equalsChars(sample, new StringBuilder(sample)));
+            assertTrue(s.equalsBytes(sample, utf8, 0, utf8.length));
+            assertFalse(s.equalsBytes(sample + "!", utf8, 0, utf8.length));
+        }
+    }
+
+    @Test
+    void testBytesInsideLargerBuffer() {
+        byte[] buffer = "[😀|Иван]".getBytes(StandardCharsets.UTF_8);
+        assertTrue(HashingStrategy.STRING.equalsBytes("😀", buffer, 1, 4));
+        assertTrue(HashingStrategy.STRING.equalsBytes("Иван", buffer, 6, 8));
+        assertEquals("Иван".hashCode(), HashingStrategy.STRING.hashBytes(buffer, 6, 8));
+        // cut in the middle of a multibyte character
+        assertFalse(HashingStrategy.STRING.equalsBytes("😀", buffer, 1, 3));
+    }
+
+    @Test
+    void testMalformedUtf8MatchesNothing() {
+        byte[][] malformed = {
+                {(byte) 0x80},                                  // stray continuation byte
+                {(byte) 0xC0, (byte) 0xAF},                     // overlong '/'
+                {(byte) 0xED, (byte) 0xA0, (byte) 0x80},        // encoded surrogate
+                {(byte) 0xF0, (byte) 0x9F, (byte) 0x98}         // truncated
+        };
+        for (byte[] bytes : malformed) {
+            String decoded = new String(bytes, StandardCharsets.UTF_8);
+            assertFalse(HashingStrategy.STRING.equalsBytes(decoded, bytes, 0, bytes.length));
+            assertFalse(HashingStrategy.STRING.equalsBytes("/", bytes, 0, bytes.length));
+        }
+    }
+
+    @Test
+    void testIgnoreAsciiCase() {
+        HashingStrategy<String> s = HashingStrategy.STRING_IGNORE_ASCII_CASE;
+        assertTrue(s.equals("Ivan@Example.COM", "ivan@example.com"));
+        assertEquals(s.hashCode("Ivan@Example.COM"), s.hashCode("ivan@example.com"));
+        byte[] upper = "IVAN@EXAMPLE.COM".getBytes(StandardCharsets.UTF_8);
+        assertTrue(s.equalsBytes("ivan@example.com", upper, 0, upper.length));
+        assertEquals(s.hashCode("ivan@example.com"), s.hashBytes(upper, 0, upper.length));
+        assertEquals(s.hashCode("ivan@example.com"), s.hashChars(new StringBuilder("IVAN@example.com")));
+        // only ASCII letters are folded, so hashing stays consistent with equality
+        assertFalse(s.equals("Иван", "иван"));
+        assertNotEquals(s.hashCode("a"), s.hashCode("b"));
+    }
+
+    @Test
+    void testByteArray() {
+        HashingStrategy<byte[]> s = HashingStrategy.BYTE_ARRAY;
+        byte[] key = {1, 2, 3};
+        byte[] buffer = {9, 1, 2, 3, 9};
+        assertTrue(s.equals(key, key.clone()));
+        assertEquals(Arrays.hashCode(key), s.hashCode(key.clone()));
+        assertEquals(Arrays.hashCode(key), s.hashBytes(buffer, 1, 3));
+        assertTrue(s.equalsBytes(key, buffer, 1, 3));
+        assertFalse(s.equalsBytes(key, buffer, 0, 3));
+        assertThrows(UnsupportedOperationException.class, () -> s.hashChars("abc"));
+    }
+}
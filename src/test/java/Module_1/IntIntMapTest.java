@@ -0,0 +1,64 @@
+package Module_1;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntIntMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        IntIntMap map = new IntIntMap();
+        assertEquals(IntIntMap.NO_ENTRY_VALUE, map.put(7, 1));
+        assertEquals(1, map.put(7, 2));
+        assertEquals(2, map.get(7));
+        assertEquals(-1, map.getOrDefault(8, -1));
+
+        assertEquals(2, map.remove(7));
+        assertFalse(map.containsKey(7));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testZeroKeyAndValue() {
+        IntIntMap map = new IntIntMap();
+        map.put(0, 0);
+        assertTrue(map.containsKey(0));
+        assertEquals(0, map.getOrDefault(0, -1));
+        assertEquals(1, map.size());
+
+        map.remove(0);
+        assertEquals(-1, map.getOrDefault(0, -1));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testAddToCountsWithSingleProbe() {
+        IntIntMap counts = new IntIntMap();
+        for (int i = 0; i < 100_000; i++) {
+            counts.addTo(i % 1_000, 1);
+        }
+        counts.addTo(0, 5);
+
+        assertEquals(1_000, counts.size());
+        assertEquals(105, counts.get(0));
+        assertEquals(100, counts.get(999));
+    }
+
+    @Test
+    void testRemovalKeepsProbeChainsIntact() {
+        IntIntMap map = new IntIntMap(2, 0.9f);
+        int count = 200_000;
+        for (int i = 1; i <= count; i++) {
+            map.put(i, -i);
+        }
+        for (int i = 1; i <= count; i += 3) {
+            assertEquals(-i, map.remove(i));
+        }
+        for (int i = 1; i <= count; i++) {
+            assertEquals((i - 1) % 3 != 0, map.containsKey(i));
+        }
+    }
+}
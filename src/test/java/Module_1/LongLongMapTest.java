@@ -0,0 +1,39 @@
+package Module_1;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongLongMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        LongLongMap map = new LongLongMap();
+        assertEquals(LongLongMap.NO_ENTRY_VALUE, map.put(Long.MAX_VALUE, 1L));
+        assertEquals(1L, map.put(Long.MAX_VALUE, 2L));
+        assertEquals(2L, map.get(Long.MAX_VALUE));
+        assertEquals(-1L, map.getOrDefault(Long.MIN_VALUE, -1L));
+
+        assertEquals(2L, map.remove(Long.MAX_VALUE));
+        assertFalse(map.containsKey(Long.MAX_VALUE));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testZeroKeyAndCounters() {
+        LongLongMap map = new LongLongMap();
+        assertEquals(3L, map.addTo(0L, 3L));
+        assertEquals(5L, map.addTo(0L, 2L));
+        assertTrue(map.containsKey(0L));
+
+        for (long id = 1; id <= 100_000; id++) {
+            map.addTo(id, id);
+        }
+        assertEquals(100_001, map.size());
+        assertEquals(100_000L, map.get(100_000L));
+        assertEquals(5L, map.remove(0L));
+        assertEquals(100_000, map.size());
+    }
+}
@@ -0,0 +1,59 @@
+package Module_1;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongObjectMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        assertNull(map.put(42L, "🐶"));
+        assertEquals("🐶", map.put(42L, "🍑"));
+        assertEquals("🍑", map.get(42L));
+        assertTrue(map.containsKey(42L));
+
+        assertEquals("🍑", map.remove(42L));
+        assertNull(map.get(42L));
+        assertFalse(map.containsKey(42L));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testZeroKeyUsesSentinelSlot() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        assertFalse(map.containsKey(0L));
+        assertNull(map.put(0L, "0️⃣"));
+        assertNull(map.put(-1L, "➖"));
+        assertEquals("0️⃣", map.get(0L));
+        assertEquals(2, map.size());
+
+        assertEquals("0️⃣", map.remove(0L));
+        assertFalse(map.containsKey(0L));
+        assertEquals("➖", map.get(-1L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testMassiveInsertionAndRemoval() {
+        LongObjectMap<String> map = new LongObjectMap<>(4, 0.5f);
+        int count = 1_000_000;
+
+        for (long i = 0; i < count; i++) {
+            assertNull(map.put(i * 31, "Персик" + i));
+        }
+        assertEquals(count, map.size());
+
+        for (long i = 0; i < count; i += 2) {
+            assertEquals("Персик" + i, map.remove(i * 31));
+        }
+        for (long i = 0; i < count; i++) {
+            assertEquals(i % 2 == 0 ? null : "Персик" + i, map.get(i * 31));
+        }
+        assertEquals(count / 2, map.size());
+    }
+}
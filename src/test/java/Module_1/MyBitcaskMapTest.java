@@ -0,0 +1,240 @@
+package Module_1;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MyBitcaskMapTest {
+
+    // 29-byte records of two longs, 100 records per segment
+    private static final int RECORD = MyBitcaskMap.KEY_OFFSET + 2 * Long.BYTES;
+    private static final int SEGMENT = 100 * RECORD;
+
+    @TempDir
+    Path dir;
+
+    private MyBitcaskMap<Long, Long> open(float compactionThreshold) {
+        return new MyBitcaskMap<>(dir, OffHeapCodec.LONG, OffHeapCodec.LONG, SEGMENT, compactionThreshold);
+    }
+
+    private long count(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.toString().endsWith(suffix)).count();
+        }
+    }
+
+    @Test
+    void testPutGetRemove() {
+        try (MyBitcaskMap<String, String> map =
+                     new MyBitcaskMap<>(dir, OffHeapCodec.utf8(32), OffHeapCodec.utf8(32))) {
+            assertNull(map.put("🐱", "🐶"));
+            assertEquals("🐶", map.put("🐱", "🐱🐶"));
+            assertEquals("🐱🐶", map.get("🐱"));
+            assertTrue(map.containsKey("🐱"));
+
+            assertEquals("🐱🐶", map.remove("🐱"));
+            assertNull(map.get("🐱"));
+            assertNull(map.remove("🐱"));
+            assertTrue(map.isEmpty());
+
+            assertThrows(NullPointerException.class, () -> map.put("🐱", null));
+            assertThrows(IllegalArgumentException.class, () -> map.put("x".repeat(33), "🐶"));
+            assertNull(map.get("x".repeat(33)));
+        }
+    }
+
+    @Test
+    void testClosedMapRejectsCalls() {
+        MyBitcaskMap<Long, Long> map = open(1f);
+        map.put(1L, 1L);
+        map.close();
+        map.close();
+        assertThrows(IllegalStateException.class, () -> map.get(1L));
+        assertThrows(IllegalStateException.class, () -> map.put(1L, 2L));
+    }
+
+    @Test
+    void testReopenKeepsDataAcrossSegments() throws IOException {
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        try (MyBitcaskMap<Long, Long> map = open(1f)) {
+            for (long i = 0; i < 5_000; i++) {
+                long key = random.nextInt(500);
+                if (random.nextInt(4) == 0)
+                    assertEquals(expected.remove(key), map.remove(key));
+                else
+                    assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            assertTrue(map.segmentCount() > 10);
+        }
+        assertEquals(count(".data"), count(".hint"));
+
+        try (MyBitcaskMap<Long, Long> map = open(1f)) {
+            assertEquals(expected.size(), map.size());
+            Map<Long, Long> seen = new HashMap<>();
+            map.forEach(seen::put);
+            assertEquals(expected, seen);
+        }
+    }
+
+    @Test
+    void testReopenAppendsToTheLastSegment() throws IOException {
+        for (long i = 0; i < 20; i++) {
+            try (MyBitcaskMap<Long, Long> map = open(1f)) {
+                map.put(i, i);
+                assertEquals(1, map.segmentCount());
+                assertEquals(SEGMENT, map.diskBytes());
+            }
+        }
+        assertEquals(1, count(".data"));
+        assertEquals(1, count(".hint"));
+
+        // the reopened segment lost its hint, so a crash before close scans it
+        MyBitcaskMap<Long, Long> crashed = open(1f);
+        crashed.put(20L, 20L);
+        crashed.sync();
+        assertEquals(0, count(".hint"));
+
+        try (MyBitcaskMap<Long, Long> map = open(1f)) {
+            assertEquals(21, map.size());
+            for (long i = 0; i <= 20; i++)
+                assertEquals(i, map.get(i));
+            for (long i = 21; i < 150; i++) // rolls over into a second segment
+                map.put(i, i);
+            assertEquals(2, map.segmentCount());
+        }
+        try (MyBitcaskMap<Long, Long> map = open(1f)) {
+            assertEquals(150, map.size());
+            assertEquals(149L, map.get(149L));
+        }
+    }
+
+    @Test
+    void testReopenWithoutHintsScansSegments() throws IOException {
+        try (MyBitcaskMap<Long, Long> map = open(1f)) {
+            for (long i = 0; i < 1_000; i++)
+                map.put(i % 300, i);
+            for (long i = 0; i < 300; i += 3)
+                map.remove(i);
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator)
+                if (p.toString().endsWith(".hint"))
+                    Files.delete(p);
+        }
+
+        try (MyBitcaskMap<Long, Long> map = open(1f)) {
+            assertEquals(200, map.size());
+            for (long i = 0; i < 300; i++)
+                assertEquals(i % 3 == 0 ? null : (i < 100 ? 900 : 600) + i, map.get(i));
+        }
+    }
+
+    @Test
+    void testTornTailIsIgnored() throws IOException {
+        // never closed: no hint for the active segment, like after a crash
+        MyBitcaskMap<Long, Long> crashed = open(1f);
+        for (long i = 0; i < 10; i++)
+            crashed.put(i, i);
+        crashed.sync();
+
+        Path data;
+        try (Stream<Path> files = Files.list(dir)) {
+            data = files.filter(p -> p.toString().endsWith(".data")).findFirst().orElseThrow();
+        }
+        try (FileChannel ch = FileChannel.open(data, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(new byte[] {0x7f}), 9L * RECORD + RECORD - 1);
+        }
+
+        try (MyBitcaskMap<Long, Long> map = open(1f)) {
+            assertEquals(9, map.size());
+            assertNull(map.get(9L));
+            assertEquals(8L, map.get(8L));
+            map.put(9L, 90L);
+        }
+        try (MyBitcaskMap<Long, Long> map = open(1f)) {
+            assertEquals(90L, map.get(9L));
+        }
+    }
+
+    @Test
+    void testCompactionReclaimsSpaceAndKeepsDeletes() throws IOException {
+        try (MyBitcaskMap<Long, Long> map = open(1f)) {
+            for (long round = 0; round < 20; round++)
+                for (long k = 0; k < 100; k++)
+                    map.put(k, round * 1000 + k);
+            for (long k = 0; k < 50; k++)
+                map.remove(k);
+            int before = map.segmentCount();
+
+            assertTrue(map.compact());
+            assertTrue(map.segmentCount() < before / 4,
+                    map.segmentCount() + " segments, " + before + " before");
+            assertEquals(50, map.size());
+            for (long k = 0; k < 100; k++)
+                assertEquals(k < 50 ? null : 19_000 + k, map.get(k));
+        }
+        assertEquals(count(".data"), count(".hint"));
+        assertFalse(Files.exists(dir.resolve(MyBitcaskMap.MANIFEST)));
+
+        try (MyBitcaskMap<Long, Long> map = open(1f)) {
+            assertEquals(50, map.size());
+            for (long k = 0; k < 100; k++)
+                assertEquals(k < 50 ? null : 19_000 + k, map.get(k));
+        }
+    }
+
+    @Test
+    void testBackgroundCompactionRunsWhileWriting() {
+        try (MyBitcaskMap<Long, Long> map = open(0.5f)) {
+            for (long i = 0; i < 50_000; i++) {
+                map.put(i % 50, i);
+                assertEquals(i, map.get(i % 50));
+            }
+            map.compactAsync().join();
+            assertTrue(map.segmentCount() <= 3, map.segmentCount() + " segments");
+            for (long k = 0; k < 50; k++)
+                assertEquals(49_950 + k, map.get(k));
+        }
+        try (MyBitcaskMap<Long, Long> map = open(0.5f)) {
+            assertEquals(50, map.size());
+            assertEquals(49_999L, map.get(49L));
+        }
+    }
+
+    @Test
+    void testUnfinishedCompactionIsCompletedOnOpen() throws IOException {
+        try (MyBitcaskMap<Long, Long> map = open(1f)) {
+            for (long i = 0; i < 150; i++)
+                map.put(i, i);
+            map.remove(0L);
+        }
+        // crash after the commit: segment 0 was copied to 9 and named in the manifest
+        Files.copy(dir.resolve("00000000.data"), dir.resolve("00000009.data"));
+        Files.writeString(dir.resolve(MyBitcaskMap.MANIFEST), "0\n");
+
+        try (MyBitcaskMap<Long, Long> map = open(1f)) {
+            assertEquals(149, map.size());
+            assertNull(map.get(0L));
+            assertEquals(149L, map.get(149L));
+        }
+        assertFalse(Files.exists(dir.resolve("00000000.data")));
+        assertFalse(Files.exists(dir.resolve(MyBitcaskMap.MANIFEST)));
+    }
+}
@@ -0,0 +1,88 @@
+package Module_1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MyConcurrentCounterMapTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void testIncrementAddSum() {
+        MyConcurrentCounterMap<String> counts = new MyConcurrentCounterMap<>();
+        assertEquals(0, counts.sum("🐱"));
+        counts.increment("🐱");
+        counts.increment("🐱");
+        counts.add("🐶", 40);
+        counts.decrement("🐶");
+
+        assertEquals(2, counts.sum("🐱"));
+        assertEquals(39, counts.sum("🐶"));
+        assertEquals(41, counts.total());
+        assertEquals(2, counts.size());
+
+        assertEquals(39, counts.remove("🐶"));
+        assertFalse(counts.containsKey("🐶"));
+        assertEquals(0, counts.remove("🐶"));
+        assertTrue(counts.containsKey("🐱"));
+    }
+
+    @Test
+    void testTopK() {
+        MyConcurrentCounterMap<Integer> counts = new MyConcurrentCounterMap<>();
+        for (int key = 0; key < 1000; key++)
+            counts.add(key, key % 100 == 0 ? 1_000_000 + key : key);
+
+        List<Map.Entry<Integer, Long>> top = counts.topK(3);
+        assertEquals(List.of(Map.entry(900, 1_000_900L), Map.entry(800, 1_000_800L),
+                Map.entry(700, 1_000_700L)), top);
+        assertEquals(1000, counts.topK(5000).size());
+        assertTrue(counts.topK(0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> counts.topK(-1));
+    }
+
+    @Test
+    void testConcurrentIncrementsAreNotLost() throws Exception {
+        MyConcurrentCounterMap<String> counts = new MyConcurrentCounterMap<>();
+        int perThread = 200_000;
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        counts.increment("hot"); // every thread on one key
+                        counts.increment("k" + (i % 500));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures)
+                f.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(THREADS * perThread, counts.sum("hot"));
+        assertEquals(501, counts.size());
+        for (int i = 0; i < 500; i++)
+            assertEquals(THREADS * perThread / 500, counts.sum("k" + i));
+        assertEquals(2L * THREADS * perThread, counts.total());
+        assertEquals("hot", counts.topK(1).get(0).getKey());
+    }
+}
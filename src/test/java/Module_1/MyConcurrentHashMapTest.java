@@ -0,0 +1,145 @@
+package Module_1;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MyConcurrentHashMapTest {
+
+    private static final int THREADS = 8;
+
+    private MyConcurrentHashMap<String, String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new MyConcurrentHashMap<>();
+    }
+
+    @Test
+    void testPutGetRemove() {
+        assertNull(map.put("🐱", "🐶"));
+        assertEquals("🐶", map.get("🐱"));
+
+        assertEquals("🐶", map.put("🐱", "🐱🐶"));
+        assertEquals("🐱🐶", map.get("🐱"));
+        assertEquals(1, map.size());
+
+        assertEquals("🐱🐶", map.remove("🐱"));
+        assertNull(map.get("🐱"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testPutIfAbsentAndConditionalRemove() {
+        assertNull(map.putIfAbsent("🍎", "1"));
+        assertEquals("1", map.putIfAbsent("🍎", "2"));
+        assertEquals("1", map.get("🍎"));
+
+        assertFalse(map.remove("🍎", "2"));
+        assertTrue(map.remove("🍎", "1"));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testNullKeysAndValuesAreRejected() {
+        assertThrows(NullPointerException.class, () -> map.put(null, "🍕"));
+        assertThrows(NullPointerException.class, () -> map.put("🍕", null));
+        assertThrows(NullPointerException.class, () -> map.get(null));
+    }
+
+    @Test
+    void testConcurrentInsertsAcrossResizes() throws Exception {
+        MyConcurrentHashMap<Integer, Integer> ints = new MyConcurrentHashMap<>(2);
+        int perThread = 50_000;
+
+        runConcurrently(t -> {
+            for (int i = t * perThread; i < (t + 1) * perThread; i++) {
+                assertNull(ints.put(i, i));
+            }
+        });
+
+        assertEquals(THREADS * perThread, ints.size());
+        for (int i = 0; i < THREADS * perThread; i++) {
+            assertEquals(i, ints.get(i));
+        }
+
+        AtomicInteger visited = new AtomicInteger();
+        ints.forEach((k, v) -> visited.incrementAndGet());
+        assertEquals(THREADS * perThread, visited.get());
+    }
+
+    @Test
+    void testConcurrentPutIfAbsentHasSingleWinner() throws Exception {
+        MyConcurrentHashMap<Integer, Integer> owners = new MyConcurrentHashMap<>();
+        AtomicInteger wins = new AtomicInteger();
+        int keys = 10_000;
+
+        runConcurrently(t -> {
+            for (int i = 0; i < keys; i++) {
+                if (owners.putIfAbsent(i, t) == null) {
+                    wins.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(keys, wins.get());
+        assertEquals(keys, owners.size());
+    }
+
+    @Test
+    void testConcurrentRemovesLeaveMapEmpty() throws Exception {
+        MyConcurrentHashMap<Integer, Integer> ints = new MyConcurrentHashMap<>();
+        int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            ints.put(i, i);
+        }
+
+        runConcurrently(t -> {
+            for (int i = t; i < count; i += THREADS) {
+                assertEquals(i, ints.remove(i));
+            }
+        });
+
+        assertEquals(0, ints.size());
+        assertNull(ints.get(0));
+    }
+
+    private interface Task {
+        void run(int threadIndex) throws Exception;
+    }
+
+    private static void runConcurrently(Task task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int index = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
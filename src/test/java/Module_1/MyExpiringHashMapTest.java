@@ -0,0 +1,100 @@
+package Module_1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MyExpiringHashMapTest {
+
+    // hand-driven clock, nanoseconds
+    private long now = 1_000_000_000L;
+
+    private <K, V> MyExpiringHashMap<K, V> create(long ttl, TimeUnit unit) {
+        return new MyExpiringHashMap<>(ttl, unit, () -> now);
+    }
+
+    private void sleep(long time, TimeUnit unit) {
+        now += unit.toNanos(time);
+    }
+
+    @Test
+    void testEntriesExpire() {
+        MyExpiringHashMap<String, String> map = create(10, TimeUnit.SECONDS);
+        assertNull(map.put("🐱", "🐶"));
+        sleep(9, TimeUnit.SECONDS);
+        assertEquals("🐶", map.get("🐱"));
+
+        sleep(1, TimeUnit.SECONDS);
+        assertNull(map.get("🐱"));
+        assertFalse(map.containsKey("🐱"));
+        assertTrue(map.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> create(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testPutRenewsDeadline() {
+        MyExpiringHashMap<String, String> map = create(10, TimeUnit.SECONDS);
+        map.put("🐱", "🐶");
+        sleep(8, TimeUnit.SECONDS);
+        assertEquals("🐶", map.put("🐱", "🐱🐶"));
+        sleep(8, TimeUnit.SECONDS);
+        assertEquals("🐱🐶", map.get("🐱"));
+        sleep(3, TimeUnit.SECONDS);
+        assertNull(map.put("🐱", "🦊")); // the expired value is not returned
+        assertEquals("🦊", map.remove("🐱"));
+        assertNull(map.remove("🐱"));
+    }
+
+    @Test
+    void testPerEntryTtlAndForEach() {
+        MyExpiringHashMap<String, Integer> map = create(1, TimeUnit.HOURS);
+        map.put("short", 1, 500, TimeUnit.MILLISECONDS);
+        map.put("long", 2);
+        map.put("days", 3, 3, TimeUnit.DAYS);
+        sleep(1, TimeUnit.SECONDS);
+
+        Map<String, Integer> seen = new HashMap<>();
+        map.forEach(seen::put);
+        assertEquals(Map.of("long", 2, "days", 3), seen);
+
+        sleep(2, TimeUnit.HOURS);
+        assertEquals(1, map.size());
+        sleep(3, TimeUnit.DAYS);
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testWheelReclaimsExpiredEntriesWithoutReads() {
+        MyExpiringHashMap<Integer, Integer> map = create(1, TimeUnit.MINUTES);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long ttl = 1 + random.nextInt(10 * 24 * 3600); // up to ten days, overflow bucket included
+            map.put(i, i, ttl, TimeUnit.SECONDS);
+            deadlines.put(i, now + TimeUnit.SECONDS.toNanos(ttl));
+            sleep(random.nextInt(50), TimeUnit.MILLISECONDS);
+        }
+
+        for (int step = 0; step < 400; step++) {
+            sleep(1 + random.nextInt(4000), TimeUnit.SECONDS);
+            map.cleanUp();
+            long alive = deadlines.values().stream().filter(d -> d > now).count();
+            // at most one level-0 bucket (~1.07 s) behind
+            long lagging = deadlines.values().stream()
+                    .filter(d -> d <= now && d > now - (1L << 31)).count();
+            assertTrue(map.size() >= alive && map.size() <= alive + lagging,
+                    map.size() + " entries, " + alive + " alive");
+        }
+        sleep(30, TimeUnit.DAYS);
+        assertEquals(0, map.size());
+    }
+}
@@ -0,0 +1,183 @@
+package Module_1;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MyHamtMapTest {
+
+    private static final int THREADS = 8;
+
+    private MyHamtMap<String, String> map;
+
+    // few distinct hash codes, so entries share long trie paths and collision nodes
+    record CollidingKey(int id) {
+        @Override
+        public int hashCode() {
+            return id % 7;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        map = new MyHamtMap<>();
+    }
+
+    @Test
+    void testPutGetRemove() {
+        assertNull(map.put("🐱", "🐶"));
+        assertEquals("🐶", map.get("🐱"));
+        assertEquals("🐶", map.put("🐱", "🐱🐶"));
+        assertEquals("🐱🐶", map.get("🐱"));
+        assertEquals(1, map.size());
+
+        assertEquals("🐱🐶", map.remove("🐱"));
+        assertNull(map.get("🐱"));
+        assertNull(map.remove("🐱"));
+        assertTrue(map.isEmpty());
+        assertEquals("🦊", map.getOrDefault("🐱", "🦊"));
+    }
+
+    @Test
+    void testNullsAreRejected() {
+        assertThrows(NullPointerException.class, () -> map.put(null, "🐶"));
+        assertThrows(NullPointerException.class, () -> map.put("🐱", null));
+        assertThrows(NullPointerException.class, () -> map.remove(null));
+    }
+
+    @Test
+    void testComputeMethods() {
+        assertEquals("🍎", map.computeIfAbsent("fruit", k -> "🍎"));
+        assertEquals("🍎", map.computeIfAbsent("fruit", k -> "🍐"));
+        assertNull(map.computeIfAbsent("none", k -> null));
+        assertFalse(map.containsKey("none"));
+
+        assertEquals("🍎🍐", map.merge("fruit", "🍐", String::concat));
+        assertEquals("🥕", map.merge("veg", "🥕", String::concat));
+        assertNull(map.compute("veg", (k, v) -> null));
+        assertNull(map.putIfAbsent("veg", "🥔"));
+        assertEquals("🥔", map.putIfAbsent("veg", "🥦"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testRandomOperationsMatchHashMap() {
+        MyHamtMap<Object, Integer> hamt = new MyHamtMap<>();
+        Map<Object, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            int id = random.nextInt(5_000);
+            Object key = (id & 1) == 0 ? id : new CollidingKey(id);
+            if (random.nextInt(3) == 0)
+                assertEquals(expected.remove(key), hamt.remove(key));
+            else
+                assertEquals(expected.put(key, i), hamt.put(key, i));
+        }
+
+        assertEquals(expected.size(), hamt.size());
+        Map<Object, Integer> seen = new HashMap<>();
+        hamt.forEach(seen::put);
+        assertEquals(expected, seen);
+
+        expected.keySet().forEach(hamt::remove);
+        assertTrue(hamt.isEmpty());
+        hamt.forEach((k, v) -> {
+            throw new AssertionError("left over " + k);
+        });
+    }
+
+    @Test
+    void testSnapshotIsIsolated() {
+        for (int i = 0; i < 1000; i++)
+            map.put("k" + i, "🍏");
+
+        MyHamtMap<String, String> snapshot = map.snapshot();
+        map.put("k0", "🍎");
+        map.remove("k1");
+        map.put("new", "🍋");
+        snapshot.put("k2", "🍇");
+
+        assertEquals("🍏", snapshot.get("k0"));
+        assertEquals("🍏", snapshot.get("k1"));
+        assertNull(snapshot.get("new"));
+        assertEquals(1000, snapshot.size());
+        assertEquals("🍎", map.get("k0"));
+        assertEquals("🍏", map.get("k2"));
+        assertEquals(1000, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(1000, snapshot.size());
+    }
+
+    @Test
+    void testConcurrentMergesAreNotLost() throws Exception {
+        MyHamtMap<Integer, Integer> counters = new MyHamtMap<>();
+        int perThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++)
+                        counters.merge(i % 100, 1, Integer::sum);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures)
+                f.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(100, counters.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(THREADS * perThread / 100, counters.get(i));
+    }
+
+    @Test
+    void testSnapshotsStayConsistentUnderWriters() throws Exception {
+        // the writer bumps a, then b: a snapshot sees them equal or a one ahead
+        MyHamtMap<String, Integer> pair = new MyHamtMap<>();
+        pair.put("a", 0);
+        pair.put("b", 0);
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = pool.submit(() -> {
+                for (int i = 1; !stop.get(); i++) {
+                    pair.put("a", i);
+                    pair.put("b", i);
+                }
+            });
+            for (int i = 0; i < 100_000; i++) {
+                MyHamtMap<String, Integer> s = pair.snapshot();
+                int a = s.get("a"), b = s.get("b");
+                assertTrue(a == b || a == b + 1, "a=" + a + " b=" + b);
+            }
+            stop.set(true);
+            writer.get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package Module_1;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MyHashMapStatisticsMonitorTest {
+
+    @Test
+    void testAttributesAreExportedOverJmx() throws Exception {
+        MyHashMap<String, String> map = new MyHashMap<>();
+        map.put("🍎", "1");
+        map.put("🍌", "2");
+
+        MyHashMapStatisticsMonitor monitor = MyHashMapStatisticsMonitor.register(map, "fruits");
+        ObjectName name = MyHashMapStatisticsMonitor.objectName("fruits");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertTrue(server.isRegistered(name));
+            assertEquals(2, server.getAttribute(name, "Size"));
+            assertEquals(16, server.getAttribute(name, "Capacity"));
+            assertEquals(0, server.getAttribute(name, "ResizeCount"));
+            int[] histogram = (int[]) server.getAttribute(name, "ChainLengthHistogram");
+            assertEquals(MyHashMap.CHAIN_HISTOGRAM_SIZE, histogram.length);
+
+            map.put("🍒", "3");
+            assertEquals(2, server.getAttribute(name, "Size"));
+            monitor.refresh();
+            assertEquals(3, server.getAttribute(name, "Size"));
+
+            assertThrows(IllegalStateException.class,
+                    () -> MyHashMapStatisticsMonitor.register(map, "fruits"));
+        } finally {
+            MyHashMapStatisticsMonitor.unregister("fruits");
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    void testAttributesShowTheLastRefresh() throws Exception {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>();
+        map.put(1, 1);
+
+        MyHashMapStatisticsMonitor monitor = new MyHashMapStatisticsMonitor(map);
+        assertEquals(1, monitor.getSize());
+        map.put(2, 2);
+        assertEquals(1, monitor.getSize());
+
+        monitor.refresh();
+        assertEquals(2, monitor.getSize());
+        assertArrayEquals(map.statistics().chainLengthHistogram(), monitor.getChainLengthHistogram());
+
+        // another thread only ever reads the published snapshot
+        int[] seen = new int[1];
+        Thread reader = new Thread(() -> seen[0] = monitor.getSize());
+        reader.start();
+        reader.join();
+        assertEquals(2, seen[0]);
+    }
+}
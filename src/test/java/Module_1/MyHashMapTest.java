@@ -3,8 +3,26 @@ package Module_1;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class MyHashMapTest {
 
@@ -214,4 +232,833 @@ class MyHashMapTest {
         assertEquals("🔓", stringMap.get("📦"));
     }
 
+    @Test
+    void testTreeifiedBucketWithComparableKeys() {
+        record CollidingKey(int id) implements Comparable<CollidingKey> {
+            @Override public int hashCode() { return 42; }
+            @Override public int compareTo(CollidingKey o) { return Integer.compare(id, o.id); }
+        }
+
+        MyHashMap<CollidingKey, Integer> map = new MyHashMap<>();
+        int count = 10_000;
+
+        for (int i = 0; i < count; i++) {
+            assertNull(map.put(new CollidingKey(i), i));
+        }
+        assertEquals(count, map.size());
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, map.get(new CollidingKey(i)));
+        }
+        assertNull(map.get(new CollidingKey(count)));
+
+        for (int i = 0; i < count; i += 2) {
+            assertEquals(i, map.remove(new CollidingKey(i)));
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 2 == 0 ? null : i, map.get(new CollidingKey(i)));
+        }
+        assertEquals(count / 2, map.size());
+    }
+
+    @Test
+    void testTreeifiedBucketWithNonComparableKeys() {
+        class CollisionKey {
+            final int id;
+            CollisionKey(int id) { this.id = id; }
+            @Override public int hashCode() { return 7; }
+            @Override public boolean equals(Object o) {
+                return o instanceof CollisionKey && ((CollisionKey) o).id == this.id;
+            }
+        }
+
+        MyHashMap<CollisionKey, String> map = new MyHashMap<>();
+        int count = 1_000;
+
+        for (int i = 0; i < count; i++) {
+            assertNull(map.put(new CollisionKey(i), "🍒" + i));
+        }
+        assertEquals("🍒" + 500, map.put(new CollisionKey(500), "🍋"));
+        assertEquals(count, map.size());
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(i == 500 ? "🍋" : "🍒" + i, map.get(new CollisionKey(i)));
+        }
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(i == 500 ? "🍋" : "🍒" + i, map.remove(new CollisionKey(i)));
+        }
+        assertEquals(0, map.size());
+        assertNull(map.get(new CollisionKey(0)));
+    }
+
+    @Test
+    void testRemoveFromMiddleOfCollisionChain() {
+        class CollisionKey {
+            final int id;
+            CollisionKey(int id) { this.id = id; }
+            @Override public int hashCode() { return 1; }
+            @Override public boolean equals(Object o) {
+                return o instanceof CollisionKey && ((CollisionKey) o).id == this.id;
+            }
+        }
+
+        MyHashMap<CollisionKey, String> map = new MyHashMap<>();
+        for (int i = 0; i < 4; i++) {
+            map.put(new CollisionKey(i), "🥝" + i);
+        }
+
+        assertEquals("🥝2", map.remove(new CollisionKey(2)));
+        assertEquals("🥝1", map.get(new CollisionKey(1)));
+        assertEquals("🥝3", map.get(new CollisionKey(3)));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void testIncrementalResizeSpreadsRehashOverOperations() {
+        MyHashMap<Integer, String> map =
+                new MyHashMap<>(16, 0.75f, MyHashMap.Option.INCREMENTAL_RESIZE);
+        int count = 1 << 16;
+
+        boolean sawResizeInProgress = false;
+        for (int i = 0; i < count; i++) {
+            assertNull(map.put(i, "🍊" + i));
+            sawResizeInProgress |= map.isResizing();
+        }
+        assertTrue(sawResizeInProgress);
+
+        for (int i = 0; i < count; i++) {
+            assertEquals("🍊" + i, map.get(i));
+        }
+        assertEquals(count, map.size());
+
+        for (int i = 0; i < count; i += 2) {
+            assertEquals("🍊" + i, map.remove(i));
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 2 == 0 ? null : "🍊" + i, map.get(i));
+        }
+        assertEquals(count / 2, map.size());
+    }
+
+    @Test
+    void testIncrementalResizeFinishesAfterBoundedSteps() {
+        MyHashMap<Integer, Integer> map =
+                new MyHashMap<>(1024, 0.75f, MyHashMap.Option.INCREMENTAL_RESIZE);
+        for (int i = 0; i <= 768; i++) {
+            map.put(i, i);
+        }
+        assertTrue(map.isResizing());
+
+        int steps = 0;
+        while (map.isResizing()) {
+            map.get(-1);
+            steps++;
+        }
+        assertEquals(1024 / MyHashMap.RESIZE_STEP, steps);
+        for (int i = 0; i <= 768; i++) {
+            assertEquals(i, map.get(i));
+        }
+    }
+
+    @Test
+    void testIncrementalResizeWithCollidingKeys() {
+        record CollidingKey(int id) implements Comparable<CollidingKey> {
+            @Override public int hashCode() { return id % 3; }
+            @Override public int compareTo(CollidingKey o) { return Integer.compare(id, o.id); }
+        }
+
+        MyHashMap<CollidingKey, Integer> map =
+                new MyHashMap<>(2, 0.75f, MyHashMap.Option.INCREMENTAL_RESIZE);
+        for (int i = 0; i < 3_000; i++) {
+            assertNull(map.put(new CollidingKey(i), i));
+        }
+        for (int i = 0; i < 3_000; i++) {
+            assertEquals(i, map.remove(new CollidingKey(i)));
+        }
+        assertEquals(0, map.size());
+        assertEquals("{}", map.toString());
+    }
+
+    @Test
+    void testPutIfAbsentAndGetOrDefault() {
+        assertNull(stringMap.putIfAbsent("🍇", "1"));
+        assertEquals("1", stringMap.putIfAbsent("🍇", "2"));
+        assertEquals("1", stringMap.get("🍇"));
+
+        stringMap.put("🥥", null);
+        assertNull(stringMap.putIfAbsent("🥥", "3"));
+        assertEquals("3", stringMap.get("🥥"));
+
+        assertEquals("🚫", stringMap.getOrDefault("🍈", "🚫"));
+        assertEquals("1", stringMap.getOrDefault("🍇", "🚫"));
+        assertTrue(stringMap.containsKey("🍇"));
+        assertFalse(stringMap.containsKey("🍈"));
+    }
+
+    @Test
+    void testComputeIfAbsent() {
+        assertEquals("🍓🍓", stringMap.computeIfAbsent("🍓", k -> k + k));
+        assertEquals("🍓🍓", stringMap.computeIfAbsent("🍓", k -> "never"));
+        assertNull(stringMap.computeIfAbsent("🫐", k -> null));
+        assertFalse(stringMap.containsKey("🫐"));
+        assertEquals(1, stringMap.size());
+    }
+
+    @Test
+    void testComputeAndMerge() {
+        MyHashMap<String, Integer> counts = new MyHashMap<>();
+        for (String s : new String[] {"🍎", "🍌", "🍎", "🍎"}) {
+            counts.merge(s, 1, Integer::sum);
+        }
+        assertEquals(3, counts.get("🍎"));
+        assertEquals(1, counts.get("🍌"));
+
+        assertEquals(4, counts.compute("🍎", (k, v) -> v == null ? 0 : v + 1));
+        assertEquals(0, counts.compute("🍐", (k, v) -> v == null ? 0 : v + 1));
+        assertNull(counts.compute("🍌", (k, v) -> null));
+        assertNull(counts.merge("🍐", 5, (a, b) -> null));
+        assertEquals(1, counts.size());
+    }
+
+    @Test
+    void testComputeOnTreeifiedBucket() {
+        record CollidingKey(int id) implements Comparable<CollidingKey> {
+            @Override public int hashCode() { return 42; }
+            @Override public int compareTo(CollidingKey o) { return Integer.compare(id, o.id); }
+        }
+
+        MyHashMap<CollidingKey, Integer> map = new MyHashMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(1, map.merge(new CollidingKey(i), 1, Integer::sum));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i, map.compute(new CollidingKey(i), (k, v) -> v + k.id() - 1));
+        }
+        for (int i = 0; i < 1_000; i += 2) {
+            assertNull(map.compute(new CollidingKey(i), (k, v) -> null));
+        }
+        assertEquals(500, map.size());
+        assertEquals(999, map.get(new CollidingKey(999)));
+    }
+
+    @Test
+    void testComputeRejectsModificationFromFunction() {
+        assertThrows(ConcurrentModificationException.class,
+                () -> stringMap.computeIfAbsent("🌶", k -> stringMap.put("🧄", "🧅")));
+    }
+
+    @Test
+    void testPutAllPresizesOnce() {
+        Map<Integer, String> source = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            source.put(i, "🥭" + i);
+        }
+
+        intKeyMap.putAll(source);
+        assertEquals(source.size(), intKeyMap.size());
+        assertEquals(16384, intKeyMap.capacity());
+
+        MyHashMap<Integer, String> copy = new MyHashMap<>();
+        copy.put(-1, "🥑");
+        copy.putAll(intKeyMap);
+        assertEquals(source.size() + 1, copy.size());
+        assertEquals(16384, copy.capacity());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("🥭" + i, copy.get(i));
+        }
+        assertEquals("🥑", copy.get(-1));
+    }
+
+    @Test
+    void testForEachVisitsEveryMapping() {
+        for (int i = 0; i < 100; i++) {
+            intKeyMap.put(i, "🥕" + i);
+        }
+        Map<Integer, String> seen = new HashMap<>();
+        intKeyMap.forEach(seen::put);
+        assertEquals(100, seen.size());
+        assertEquals("🥕42", seen.get(42));
+
+        assertThrows(ConcurrentModificationException.class,
+                () -> intKeyMap.forEach((k, v) -> intKeyMap.remove(k)));
+    }
+
+    @Test
+    void testViewsReflectMappings() {
+        stringMap.put("🍋", "1");
+        stringMap.put("🍊", "2");
+        stringMap.put(null, "3");
+
+        assertEquals(Set.of("🍋", "🍊"), stringMap.keySet().stream()
+                .filter(k -> k != null).collect(Collectors.toSet()));
+        assertTrue(stringMap.keySet().contains(null));
+        assertEquals(Set.of("1", "2", "3"), new HashSet<>(stringMap.values()));
+        assertTrue(stringMap.entrySet().contains(Map.entry("🍋", "1")));
+        assertFalse(stringMap.entrySet().contains(Map.entry("🍋", "2")));
+
+        assertTrue(stringMap.keySet().remove("🍋"));
+        assertFalse(stringMap.entrySet().remove(Map.entry("🍊", "1")));
+        assertTrue(stringMap.entrySet().remove(Map.entry("🍊", "2")));
+        assertEquals(1, stringMap.size());
+
+        stringMap.values().clear();
+        assertTrue(stringMap.isEmpty());
+    }
+
+    @Test
+    void testIteratorRemoveAndSetValue() {
+        for (int i = 0; i < 1_000; i++) {
+            intKeyMap.put(i, "🍍" + i);
+        }
+        for (Iterator<Map.Entry<Integer, String>> it = intKeyMap.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, String> e = it.next();
+            if (e.getKey() % 2 == 0)
+                it.remove();
+            else
+                e.setValue("🍑" + e.getKey());
+        }
+        assertEquals(500, intKeyMap.size());
+        assertNull(intKeyMap.get(10));
+        assertEquals("🍑11", intKeyMap.get(11));
+    }
+
+    @Test
+    void testIteratorRemoveOnTreeifiedBucket() {
+        record CollidingKey(int id) implements Comparable<CollidingKey> {
+            @Override public int hashCode() { return 42; }
+            @Override public int compareTo(CollidingKey o) { return Integer.compare(id, o.id); }
+        }
+
+        MyHashMap<CollidingKey, Integer> map = new MyHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            map.put(new CollidingKey(i), i);
+        }
+        int seen = 0;
+        for (Iterator<CollidingKey> it = map.keySet().iterator(); it.hasNext(); seen++) {
+            it.next();
+            it.remove();
+        }
+        assertEquals(200, seen);
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testIteratorsAreFailFast() {
+        intKeyMap.put(1, "🍏");
+        intKeyMap.put(2, "🍎");
+
+        Iterator<Integer> it = intKeyMap.keySet().iterator();
+        it.next();
+        intKeyMap.put(3, "🍐");
+        assertThrows(ConcurrentModificationException.class, it::next);
+
+        Iterator<String> values = intKeyMap.values().iterator();
+        values.next();
+        intKeyMap.put(1, "🍅"); // replacing a value is not a structural change
+        assertNotNull(values.next());
+        assertThrows(IllegalStateException.class, () -> {
+            Iterator<String> fresh = intKeyMap.values().iterator();
+            fresh.remove();
+        });
+    }
+
+    @Test
+    void testStreamsOverLargeMap() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>();
+        int count = 200_000;
+        for (int i = 0; i < count; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals((long) count * (count - 1) / 2,
+                map.values().stream().mapToLong(Integer::longValue).sum());
+        assertEquals((long) count * (count - 1) / 2,
+                map.keySet().parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(count, map.entrySet().parallelStream()
+                .filter(e -> e.getKey().equals(e.getValue())).count());
+
+        Spliterator<Integer> spliterator = map.keySet().spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.DISTINCT));
+        assertEquals(count, spliterator.estimateSize());
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        long[] total = new long[1];
+        prefix.forEachRemaining(k -> total[0]++);
+        spliterator.forEachRemaining(k -> total[0]++);
+        assertEquals(count, total[0]);
+    }
+
+    @Test
+    void testIterationDuringIncrementalResize() {
+        MyHashMap<Integer, Integer> map =
+                new MyHashMap<>(1024, 0.75f, MyHashMap.Option.INCREMENTAL_RESIZE);
+        for (int i = 0; i <= 768; i++) {
+            map.put(i, i);
+        }
+        assertTrue(map.isResizing());
+
+        assertEquals(769, map.keySet().stream().distinct().count());
+        assertFalse(map.isResizing());
+    }
+
+    @Test
+    void testParallelBulkOperations() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>();
+        int count = 300_000;
+        for (int i = 0; i < count; i++) {
+            map.put(i, i * 2);
+        }
+        long keySum = (long) count * (count - 1) / 2;
+
+        for (long threshold : new long[] {1, 1_000, Long.MAX_VALUE}) {
+            assertEquals(keySum, map.reduceKeysToLong(threshold, Integer::longValue, 0L, Long::sum));
+            assertEquals(2 * keySum, map.reduceValuesToLong(threshold, Integer::longValue, 0L, Long::sum));
+            assertEquals((count - 1) * 2, map.reduceValues(threshold, Math::max));
+            assertEquals(count, map.<Integer>reduce(threshold, (k, v) -> 1, Integer::sum));
+            assertEquals(12_345, map.<Integer>search(threshold, (k, v) -> v == 24_690 ? k : null));
+            assertNull(map.search(threshold, (k, v) -> v < 0 ? k : null));
+
+            LongAdder visited = new LongAdder();
+            Set<Thread> threads = ConcurrentHashMap.newKeySet();
+            map.parallelForEach(threshold, (k, v) -> {
+                visited.increment();
+                threads.add(Thread.currentThread());
+            });
+            assertEquals(count, visited.sum());
+            if (threshold == Long.MAX_VALUE)
+                assertEquals(Set.of(Thread.currentThread()), threads);
+        }
+    }
+
+    @Test
+    void testParallelBulkOperationsOnEmptyMap() {
+        assertNull(intKeyMap.reduceValues(1, (a, b) -> a + b));
+        assertEquals(7L, intKeyMap.reduceKeysToLong(1, Integer::longValue, 7L, Long::sum));
+        assertNull(intKeyMap.search(1, (k, v) -> k));
+    }
+
+    @Test
+    void testStatisticsOfWellSpreadKeys() {
+        MyHashMapStatistics empty = intKeyMap.statistics();
+        assertEquals(0, empty.size());
+        assertEquals(0, empty.capacity());
+        assertEquals(0, empty.maxChainLength());
+
+        for (int i = 0; i < 768; i++) {
+            intKeyMap.put(i, "🍋");
+        }
+        MyHashMapStatistics stats = intKeyMap.statistics();
+        assertEquals(768, stats.size());
+        assertEquals(1024, stats.capacity());
+        assertEquals(6, stats.resizeCount()); // 16 -> 32 -> ... -> 1024
+        assertEquals(1, stats.maxChainLength());
+        assertEquals(1.0, stats.averageProbesHit());
+        assertEquals(0.75, stats.averageProbesMiss());
+        assertEquals(0.25, stats.emptyBucketRatio());
+        assertEquals(0, stats.treeBins());
+
+        int[] histogram = stats.chainLengthHistogram();
+        assertEquals(256, histogram[0]);
+        assertEquals(768, histogram[1]);
+        assertEquals(16 + 4 * 1024 + 768 * 32, stats.approximateBytes());
+    }
+
+    @Test
+    void testStatisticsRevealBadHashFunction() {
+        class CollisionKey {
+            final int id;
+            CollisionKey(int id) { this.id = id; }
+            @Override public int hashCode() { return id & 1; }
+            @Override public boolean equals(Object o) {
+                return o instanceof CollisionKey && ((CollisionKey) o).id == this.id;
+            }
+        }
+
+        MyHashMap<CollisionKey, Integer> map = new MyHashMap<>(64);
+        for (int i = 0; i < 6; i++) {
+            map.put(new CollisionKey(2 * i), i); // all in bucket 0, below the treeify threshold
+        }
+        MyHashMapStatistics chained = map.statistics();
+        assertEquals(6, chained.maxChainLength());
+        assertEquals(1, chained.chainLengthHistogram()[6]);
+        assertEquals(3.5, chained.averageProbesHit()); // (1 + 2 + ... + 6) / 6
+        assertEquals(0, chained.treeBins());
+
+        for (int i = 0; i < 1_000; i++) {
+            map.put(new CollisionKey(i), i);
+        }
+        MyHashMapStatistics treeified = map.statistics();
+        assertEquals(2, treeified.treeBins());
+        assertEquals(500, treeified.maxChainLength());
+        assertEquals(2, treeified.chainLengthHistogram()[MyHashMap.CHAIN_HISTOGRAM_SIZE - 1]);
+        assertTrue(treeified.averageProbesHit() < 10);
+        assertTrue(treeified.emptyBucketRatio() > 0.9);
+    }
+
+    private static String[] collidingStrings(int blocks) {
+        String[] keys = {""};
+        for (int b = 0; b < blocks; b++) { // "Aa" and "BB" share a hashCode
+            String[] next = new String[keys.length * 2];
+            for (int i = 0; i < keys.length; i++) {
+                next[2 * i] = keys[i] + "Aa";
+                next[2 * i + 1] = keys[i] + "BB";
+            }
+            keys = next;
+        }
+        return keys;
+    }
+
+    @Test
+    void testRandomizedHashSpreadsCollidingStrings() {
+        String[] keys = collidingStrings(12);
+        assertEquals(1, Arrays.stream(keys).mapToInt(String::hashCode).distinct().count());
+
+        MyHashMap<String, Integer> plain = new MyHashMap<>();
+        MyHashMap<String, Integer> randomized =
+                new MyHashMap<>(16, 0.75f, MyHashMap.Option.RANDOMIZED_HASH);
+        for (int i = 0; i < keys.length; i++) {
+            plain.put(keys[i], i);
+            randomized.put(keys[i], i);
+        }
+
+        assertEquals(keys.length, plain.statistics().maxChainLength());
+        MyHashMapStatistics stats = randomized.statistics();
+        assertTrue(stats.maxChainLength() < 10, stats.toString());
+        assertEquals(0, stats.treeBins());
+
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, randomized.get(keys[i]));
+        }
+        assertNull(randomized.get("AaAa"));
+        assertEquals(0, randomized.remove(keys[0]));
+        assertFalse(randomized.containsKey(keys[0]));
+        assertTrue(randomized.keySet().remove(keys[1]));
+        assertEquals(keys.length - 2, randomized.size());
+    }
+
+    @Test
+    void testRandomizedHashWithOtherKeys() {
+        MyHashMap<Object, String> map = new MyHashMap<>(16, 0.75f,
+                MyHashMap.Option.RANDOMIZED_HASH, MyHashMap.Option.INCREMENTAL_RESIZE);
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, "🍏" + i);
+            map.put("🍎" + i, "🍎");
+        }
+        map.put(null, "🫙");
+
+        assertEquals(20_001, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("🍏" + i, map.get(i));
+            assertEquals("🍎", map.get("🍎" + i));
+        }
+        assertEquals("🫙", map.get(null));
+        assertNull(map.merge(42, "x", (a, b) -> null));
+        assertNull(map.get(42));
+    }
+
+    @Test
+    void testSipHashMatchesByteOrientedReference() {
+        long k0 = 0x0706050403020100L, k1 = 0x0f0e0d0c0b0a0908L; // key bytes 00..0f
+        assertEquals(0xabac0158050fc4dcL, MyHashMap.sipHash13(k0, k1, ""));
+        // chars are hashed as little-endian UTF-16, so this is the message 00..0d
+        assertEquals(0x605aa111c0f95d34L, MyHashMap.sipHash13(k0, k1,
+                "\u0100\u0302\u0504\u0706\u0908\u0b0a\u0d0c"));
+    }
+
+    @Test
+    void testLookupByCharsAndBytesWithoutStrategy() {
+        stringMap.put("user@example.com", "🙂");
+        stringMap.put("😀 smile", "🙃");
+
+        String line = "from: user@example.com;";
+        assertEquals("🙂", stringMap.getByChars(CharBuffer.wrap(line, 6, 22)));
+        assertEquals("🙃", stringMap.getByChars(new StringBuilder("😀").append(" smile")));
+        assertNull(stringMap.getByChars("user@example.co"));
+
+        byte[] buffer = ("GET 😀 smile\n").getBytes(StandardCharsets.UTF_8);
+        assertEquals("🙃", stringMap.getByBytes(buffer, 4, buffer.length - 5));
+        assertNull(stringMap.getByBytes(buffer, 4, buffer.length - 6));
+        assertNull(stringMap.getByBytes(new byte[]{(byte) 0xC0, (byte) 0x80}, 0, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> stringMap.getByBytes(buffer, 4, buffer.length));
+    }
+
+    @Test
+    void testLookupByCharsAfterSwitchToSeededHash() {
+        MyHashMap<String, Integer> randomized = new MyHashMap<>(64, 0.75f,
+                MyHashMap.Option.RANDOMIZED_HASH);
+        String[] keys = new String[256];
+        for (int i = 0; i < keys.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int bit = 7; bit >= 0; bit--)
+                sb.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+            keys[i] = sb.toString();
+            randomized.put(keys[i], i);
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, randomized.getByChars(new StringBuilder(keys[i])));
+            assertEquals(i, randomized.getByBytes(keys[i].getBytes(StandardCharsets.UTF_8), 0, keys[i].length()));
+        }
+    }
+
+    @Test
+    void testIgnoreAsciiCaseStrategy() {
+        MyHashMap<String, String> emails = new MyHashMap<>(HashingStrategy.STRING_IGNORE_ASCII_CASE);
+        emails.put("Ivan@Example.com", "🐻");
+
+        assertEquals("🐻", emails.get("ivan@example.COM"));
+        assertEquals("🐻", emails.put("IVAN@EXAMPLE.COM", "🐼"));
+        assertEquals(1, emails.size());
+        assertEquals("Ivan@Example.com", emails.keySet().iterator().next());
+        assertEquals("🐼", emails.getByChars(new StringBuilder("ivan@example.com")));
+        byte[] bytes = "<IVAN@example.com>".getBytes(StandardCharsets.US_ASCII);
+        assertEquals("🐼", emails.getByBytes(bytes, 1, bytes.length - 2));
+        assertTrue(emails.entrySet().contains(Map.entry("ivan@example.com", "🐼")));
+        assertEquals("🐼", emails.remove("ivan@EXAMPLE.com"));
+        assertTrue(emails.isEmpty());
+    }
+
+    @Test
+    void testByteArrayKeys() {
+        MyHashMap<byte[], Integer> map = new MyHashMap<>(HashingStrategy.BYTE_ARRAY);
+        for (int i = 0; i < 1000; i++)
+            map.put(("key-" + i).getBytes(StandardCharsets.US_ASCII), i);
+
+        assertEquals(1000, map.size());
+        assertEquals(42, map.get("key-42".getBytes(StandardCharsets.US_ASCII)));
+        byte[] packet = "##key-999##".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(999, map.getByBytes(packet, 2, 7));
+        assertEquals(99, map.getByBytes(packet, 2, 6));
+        assertNull(map.getByBytes(packet, 0, 7));
+        assertEquals(7, map.merge("key-7".getBytes(StandardCharsets.US_ASCII), 1, (a, b) -> a));
+        assertThrows(UnsupportedOperationException.class, () -> map.getByChars("key-1"));
+    }
+
+    @Test
+    void testStrategyWithCollidingHashesKeepsListBins() {
+        HashingStrategy<Integer> mod10 = new HashingStrategy<>() {
+            @Override
+            public int hashCode(Integer key) {
+                return key % 10;
+            }
+
+            @Override
+            public boolean equals(Integer key, Integer other) {
+                return key % 1000 == other % 1000; // 1005 and 5 are the same key
+            }
+        };
+        MyHashMap<Integer, String> map = new MyHashMap<>(64, 0.75f, mod10,
+                MyHashMap.Option.RANDOMIZED_HASH, MyHashMap.Option.INCREMENTAL_RESIZE);
+        for (int i = 0; i < 1000; i++)
+            map.put(i, "🍋" + i);
+
+        assertEquals(1000, map.size());
+        assertEquals(0, map.statistics().treeBins());
+        assertEquals("🍋5", map.get(1005));
+        assertEquals("🍋5", map.put(2005, "🍊"));
+        assertEquals("🍊", map.get(5));
+        assertEquals("🍊", map.remove(3005));
+        assertFalse(map.containsKey(5));
+        assertEquals(999, map.size());
+    }
+
+    @Test
+    void testCompactModeStaysInlineUpToThreshold() {
+        MyHashMap<String, Integer> map = new MyHashMap<>(4, 0.75f, MyHashMap.Option.COMPACT);
+        for (int i = 0; i < MyHashMap.COMPACT_THRESHOLD - 1; i++)
+            assertNull(map.put("🍒" + i, i));
+        map.put(null, -1);
+
+        assertTrue(map.isCompact());
+        assertEquals(0, map.capacity());
+        assertEquals(MyHashMap.COMPACT_THRESHOLD, map.size());
+        assertEquals(3, map.get("🍒3"));
+        assertEquals(-1, map.get(null));
+        assertTrue(map.containsKey("🍒0"));
+        assertTrue(map.containsValue(6));
+        assertFalse(map.containsValue(42));
+        assertEquals(42, map.getOrDefault("🍓", 42));
+        assertEquals(6, map.getByChars(new StringBuilder("🍒6")));
+        assertTrue(map.toString().startsWith("{🍒0=0, 🍒1=1"));
+
+        map.put("🍓", 100);
+        assertFalse(map.isCompact());
+        assertEquals(16, map.capacity());
+        for (int i = 0; i < MyHashMap.COMPACT_THRESHOLD - 1; i++)
+            assertEquals(i, map.get("🍒" + i));
+        assertEquals(-1, map.get(null));
+        assertEquals(100, map.get("🍓"));
+    }
+
+    @Test
+    void testCompactModeOperations() {
+        MyHashMap<String, Integer> map = new MyHashMap<>(0, 0.75f, MyHashMap.Option.COMPACT);
+        assertEquals(1, map.computeIfAbsent("a", k -> 1));
+        assertEquals(1, map.computeIfAbsent("a", k -> 2));
+        assertEquals(5, map.merge("a", 4, Integer::sum));
+        assertEquals(7, map.merge("b", 7, Integer::sum));
+        assertEquals(8, map.compute("c", (k, v) -> v == null ? 8 : v + 1));
+        assertNull(map.compute("b", (k, v) -> null));
+        assertNull(map.putIfAbsent("d", 9));
+        assertEquals(9, map.putIfAbsent("d", 10));
+        assertEquals(3, map.size());
+        assertTrue(map.isCompact());
+
+        assertEquals(Set.of("a", "c", "d"), new HashSet<>(map.keySet()));
+        assertEquals(22, map.values().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(22L, map.reduceValuesToLong(1, Integer::longValue, 0L, Long::sum));
+        assertTrue(map.entrySet().contains(Map.entry("c", 8)));
+        assertFalse(map.entrySet().remove(Map.entry("c", 9)));
+
+        for (Map.Entry<String, Integer> e : map.entrySet())
+            e.setValue(e.getValue() * 10);
+        assertEquals(80, map.get("c"));
+
+        Iterator<String> it = map.keySet().iterator();
+        assertEquals("a", it.next());
+        it.remove();
+        assertEquals("c", it.next());
+        assertEquals("d", it.next());
+        assertFalse(it.hasNext());
+        assertEquals(Map.of("c", 80, "d", 90),
+                map.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+
+        assertTrue(map.keySet().remove("c"));
+        assertTrue(map.entrySet().remove(Map.entry("d", 90)));
+        assertTrue(map.isEmpty());
+        map.put("e", 1);
+        assertThrows(ConcurrentModificationException.class,
+                () -> map.forEach((k, v) -> map.put("f", 2)));
+    }
+
+    @Test
+    void testStatisticsDuringIncrementalResizeCountEachBucketOnce() {
+        MyHashMap<Integer, String> map =
+                new MyHashMap<>(1024, 0.75f, MyHashMap.Option.INCREMENTAL_RESIZE);
+        for (int i = 0; i <= 768; i++) {
+            map.put(i, "🍋");
+        }
+        assertTrue(map.isResizing());
+
+        MyHashMapStatistics resizing = map.statistics();
+        int[] histogram = resizing.chainLengthHistogram();
+        assertEquals(769, histogram[1]); // every key once, from whichever table holds it
+        assertEquals(1.0, resizing.averageProbesHit());
+        // new buckets waiting for their old bucket are not counted as empty
+        assertTrue(resizing.emptyBucketRatio() < 0.5, "ratio " + resizing.emptyBucketRatio());
+
+        map.toString(); // completes the resize
+        assertFalse(map.isResizing());
+        MyHashMapStatistics done = map.statistics();
+        assertEquals(769, done.chainLengthHistogram()[1]);
+        assertEquals((2048 - 769) / 2048.0, done.emptyBucketRatio());
+    }
+
+    @Test
+    void testCompactModeStatistics() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(8, 0.75f, MyHashMap.Option.COMPACT);
+        for (int i = 0; i < 4; i++)
+            map.put(i, i);
+
+        MyHashMapStatistics stats = map.statistics();
+        assertEquals(4, stats.size());
+        assertEquals(0, stats.capacity());
+        assertEquals(2.5, stats.averageProbesHit());
+        assertTrue(stats.approximateBytes() < map.size() * MyHashMap.NODE_BYTES);
+    }
+
+    @Test
+    void testAutoShrinkDrainsBackToCompact() {
+        MyHashMap<Integer, String> map = new MyHashMap<>(16, 0.75f,
+                MyHashMap.Option.COMPACT, MyHashMap.Option.AUTO_SHRINK);
+        assertFalse(map.isCompact()); // sized past the threshold up front
+        for (int i = 0; i < 10_000; i++)
+            map.put(i, "🍑" + i);
+        assertEquals(16_384, map.capacity());
+
+        for (int i = 0; i < 9_900; i++)
+            map.remove(i);
+        assertTrue(map.capacity() <= 512, "capacity " + map.capacity());
+        for (int i = 9_900; i < 9_996; i++)
+            map.remove(i);
+
+        assertTrue(map.isCompact());
+        assertEquals(4, map.size());
+        for (int i = 9_996; i < 10_000; i++)
+            assertEquals("🍑" + i, map.get(i));
+    }
+
+    @Test
+    void testAutoShrinkKeepsDefaultTableAndIteratorPosition() {
+        MyHashMap<Integer, String> map = new MyHashMap<>(16, 0.75f, MyHashMap.Option.AUTO_SHRINK);
+        for (int i = 0; i < 1_000; i++)
+            map.put(i, "🥝");
+
+        // removal through the iterator never moves the table under it
+        Iterator<Integer> it = map.keySet().iterator();
+        int removed = 0;
+        while (it.hasNext()) {
+            it.next();
+            it.remove();
+            ++removed;
+        }
+        assertEquals(1_000, removed);
+        assertEquals(2_048, map.capacity());
+
+        for (int i = 0; i < 1_000; i++)
+            map.put(i, "🥝");
+        for (int i = 0; i < 1_000; i++)
+            map.remove(i);
+        assertEquals(MyHashMap.DEFAULT_INITIAL_CAPACITY, map.capacity());
+
+        map.put(1, "🍍");
+        map.clear();
+        assertEquals(0, map.capacity());
+        map.put(2, "🍍");
+        assertEquals("🍍", map.get(2));
+    }
+
+    @Test
+    void testTrimToSize() {
+        MyHashMap<Integer, String> map = new MyHashMap<>();
+        for (int i = 0; i < 1_000; i++)
+            map.put(i, "🥥" + i);
+        for (int i = 10; i < 1_000; i++)
+            map.remove(i);
+        assertEquals(2_048, map.capacity());
+
+        map.trimToSize();
+        assertEquals(16, map.capacity());
+        for (int i = 0; i < 10; i++)
+            assertEquals("🥥" + i, map.get(i));
+
+        map.clear();
+        map.trimToSize();
+        assertEquals(0, map.capacity());
+        map.put(1, "🥥");
+        assertEquals("🥥", map.get(1));
+
+        MyHashMap<Integer, String> compact = new MyHashMap<>(16, 0.75f, MyHashMap.Option.COMPACT);
+        for (int i = 0; i < 100; i++)
+            compact.put(i, "🌰");
+        for (int i = 5; i < 100; i++)
+            compact.remove(i);
+        assertFalse(compact.isCompact());
+        compact.trimToSize();
+        assertTrue(compact.isCompact());
+        assertEquals(Set.of(0, 1, 2, 3, 4), new HashSet<>(compact.keySet()));
+    }
+
+    @Test
+    void testCompactModeWithHashingStrategy() {
+        MyHashMap<String, Integer> map = new MyHashMap<>(0, 0.75f,
+                HashingStrategy.STRING_IGNORE_ASCII_CASE, MyHashMap.Option.COMPACT);
+        map.put("Anna@Example.com", 1);
+        assertEquals(1, map.put("anna@example.com", 2));
+        assertEquals(1, map.size());
+        assertTrue(map.isCompact());
+        byte[] bytes = "ANNA@EXAMPLE.COM".getBytes(StandardCharsets.UTF_8);
+        assertEquals(2, map.getByBytes(bytes, 0, bytes.length));
+    }
 }
@@ -0,0 +1,176 @@
+package Module_1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MyLinkedHashMapTest {
+
+    @Test
+    void testInsertionOrder() {
+        MyLinkedHashMap<String, Integer> map = new MyLinkedHashMap<>();
+        map.put("🍉", 1);
+        map.put("🍇", 2);
+        map.put("🍒", 3);
+        map.put("🍉", 4); // replacing keeps the position
+        map.get("🍇");
+
+        assertEquals(List.of("🍉", "🍇", "🍒"), new ArrayList<>(map.keySet()));
+        assertEquals(List.of(4, 2, 3), new ArrayList<>(map.values()));
+        assertEquals("{🍉=4, 🍇=2, 🍒=3}", map.toString());
+
+        assertEquals(2, map.remove("🍇"));
+        assertEquals("{🍉=4, 🍒=3}", map.toString());
+    }
+
+    @Test
+    void testAccessOrder() {
+        MyLinkedHashMap<Integer, String> map = new MyLinkedHashMap<>(16, 0.75f, true);
+        for (int i = 0; i < 5; i++) {
+            map.put(i, "🥝" + i);
+        }
+        map.get(1);
+        map.put(3, "🥥");
+        map.computeIfAbsent(0, k -> "never");
+
+        assertEquals(List.of(2, 4, 1, 3, 0), new ArrayList<>(map.keySet()));
+
+        Iterator<Integer> it = map.keySet().iterator();
+        it.next();
+        map.get(4);
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+
+    @Test
+    void testLruEviction() {
+        List<String> evicted = new ArrayList<>();
+        MyLinkedHashMap<Integer, String> cache = new MyLinkedHashMap<>(3,
+                MyLinkedHashMap.EvictionPolicy.LRU, (k, v) -> evicted.add(k + "=" + v));
+
+        cache.put(1, "🍎");
+        cache.put(2, "🍌");
+        cache.put(3, "🍇");
+        cache.get(1);
+        cache.put(4, "🍓");
+
+        assertEquals(List.of("2=🍌"), evicted);
+        assertEquals(3, cache.size());
+        assertNull(cache.get(2));
+        assertEquals("{3=🍇, 1=🍎, 4=🍓}", cache.toString());
+
+        cache.remove(3);
+        cache.put(5, "🍒");
+        assertEquals(1, evicted.size());
+    }
+
+    @Test
+    void testEvictionWithCollidingKeys() {
+        record CollidingKey(int id) implements Comparable<CollidingKey> {
+            @Override public int hashCode() { return id % 4; }
+            @Override public int compareTo(CollidingKey o) { return Integer.compare(id, o.id); }
+        }
+
+        MyLinkedHashMap<CollidingKey, Integer> cache =
+                new MyLinkedHashMap<>(500, MyLinkedHashMap.EvictionPolicy.LRU);
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(new CollidingKey(i), i);
+            assertTrue(cache.size() <= 500);
+        }
+        assertEquals(500, cache.size());
+        for (int i = 9_500; i < 10_000; i++) {
+            assertEquals(i, cache.get(new CollidingKey(i)));
+        }
+        assertNull(cache.get(new CollidingKey(9_499)));
+        assertEquals(500, cache.keySet().stream().distinct().count());
+    }
+
+    @Test
+    void testTinyLfuKeepsFrequentEntries() {
+        int maxSize = 100;
+        MyLinkedHashMap<Integer, Integer> cache =
+                new MyLinkedHashMap<>(maxSize, MyLinkedHashMap.EvictionPolicy.TINY_LFU);
+
+        for (int round = 0; round < 20; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                if (cache.get(hot) == null)
+                    cache.put(hot, hot);
+            }
+        }
+        for (int scan = 1_000; scan < 11_000; scan++) { // one-hit wonders
+            cache.put(scan, scan);
+            assertEquals(scan % 50, cache.get(scan % 50));
+            assertTrue(cache.size() <= maxSize);
+        }
+
+        int hotHits = 0;
+        for (int hot = 0; hot < 50; hot++) {
+            if (cache.containsKey(hot))
+                hotHits++;
+        }
+        assertEquals(50, hotHits);
+    }
+
+    @Test
+    void testTinyLfuHitRatioUnderSkewedWorkload() {
+        int maxSize = 1_000;
+        MyLinkedHashMap<Integer, Integer> lru =
+                new MyLinkedHashMap<>(maxSize, MyLinkedHashMap.EvictionPolicy.LRU);
+        MyLinkedHashMap<Integer, Integer> lfu =
+                new MyLinkedHashMap<>(maxSize, MyLinkedHashMap.EvictionPolicy.TINY_LFU);
+
+        Random random = new Random(42);
+        int lruHits = 0, lfuHits = 0;
+        for (int i = 0; i < 200_000; i++) {
+            // mostly a hot set of 500 keys mixed with a long tail
+            int key = random.nextInt(10) < 7 ? random.nextInt(500) : random.nextInt(1_000_000);
+            if (lru.get(key) != null) lruHits++; else lru.put(key, key);
+            if (lfu.get(key) != null) lfuHits++; else lfu.put(key, key);
+        }
+
+        assertEquals(maxSize, lru.size());
+        assertEquals(maxSize, lfu.size());
+        assertTrue(lfuHits > lruHits, "TinyLFU " + lfuHits + " vs LRU " + lruHits);
+    }
+
+    @Test
+    void testIteratorRemoveAndClear() {
+        MyLinkedHashMap<Integer, Integer> map = new MyLinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        for (Iterator<Integer> it = map.values().iterator(); it.hasNext(); ) {
+            if (it.next() % 2 == 0)
+                it.remove();
+        }
+        assertEquals(50, map.size());
+        assertEquals(1, map.keySet().iterator().next());
+        assertEquals((Integer) 99, map.entrySet().stream()
+                .reduce((a, b) -> b).orElseThrow().getKey());
+        assertEquals("1,3,5", map.keySet().stream().limit(3)
+                .map(String::valueOf).collect(Collectors.joining(",")));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.keySet().iterator().hasNext());
+        assertEquals("{}", map.toString());
+    }
+
+    @Test
+    void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MyLinkedHashMap<>(0, MyLinkedHashMap.EvictionPolicy.LRU));
+        assertThrows(NullPointerException.class,
+                () -> new MyLinkedHashMap<>(10, null));
+    }
+}
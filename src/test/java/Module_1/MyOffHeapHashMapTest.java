@@ -0,0 +1,86 @@
+package Module_1;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MyOffHeapHashMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        try (MyOffHeapHashMap<Long, Double> map =
+                     new MyOffHeapHashMap<>(OffHeapCodec.LONG, OffHeapCodec.DOUBLE)) {
+            assertNull(map.put(1L, 3.14));
+            assertEquals(3.14, map.put(1L, 3.1415));
+            assertEquals(3.1415, map.get(1L));
+            assertTrue(map.containsKey(1L));
+
+            assertEquals(3.1415, map.remove(1L));
+            assertNull(map.get(1L));
+            assertFalse(map.containsKey(1L));
+            assertEquals(0, map.size());
+        }
+    }
+
+    @Test
+    void testStringKeys() {
+        try (MyOffHeapHashMap<String, Integer> map =
+                     new MyOffHeapHashMap<>(OffHeapCodec.utf8(32), OffHeapCodec.INT)) {
+            assertNull(map.put("🐱", 1));
+            assertNull(map.put("unknown.nvme@gmail.com", 2));
+            assertEquals(1, map.get("🐱"));
+            assertEquals(2, map.get("unknown.nvme@gmail.com"));
+            assertNull(map.get("unknown.nvme@gmail.co"));
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> map.put("x".repeat(33), 3));
+        }
+    }
+
+    @Test
+    void testMassiveInsertionAndRemovalAcrossResizes() {
+        try (MyOffHeapHashMap<Long, Long> map =
+                     new MyOffHeapHashMap<>(OffHeapCodec.LONG, OffHeapCodec.LONG, 2, 0.75f)) {
+            int count = 500_000;
+            for (long i = 0; i < count; i++) {
+                assertNull(map.put(i, -i));
+            }
+            assertEquals(count, map.size());
+            assertTrue(map.offHeapBytes() >= (long) count * 20);
+
+            for (long i = 0; i < count; i += 2) {
+                assertEquals(-i, map.remove(i));
+            }
+            for (long i = 0; i < count; i++) {
+                assertEquals(i % 2 == 0 ? null : -i, map.get(i));
+            }
+            assertEquals(count / 2, map.size());
+        }
+    }
+
+    @Test
+    void testClosedMapRejectsAccess() {
+        MyOffHeapHashMap<Long, Long> map =
+                new MyOffHeapHashMap<>(OffHeapCodec.LONG, OffHeapCodec.LONG);
+        map.put(1L, 1L);
+        map.close();
+        map.close();
+
+        assertEquals(0, map.offHeapBytes());
+        assertThrows(IllegalStateException.class, () -> map.get(1L));
+        assertThrows(IllegalStateException.class, () -> map.put(2L, 2L));
+    }
+
+    @Test
+    void testNullsAreRejected() {
+        try (MyOffHeapHashMap<Long, Long> map =
+                     new MyOffHeapHashMap<>(OffHeapCodec.LONG, OffHeapCodec.LONG)) {
+            assertThrows(NullPointerException.class, () -> map.put(null, 1L));
+            assertThrows(NullPointerException.class, () -> map.put(1L, null));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package Module_1;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MyOpenHashMapTest {
+
+    private MyOpenHashMap<String, String> stringMap;
+
+    @BeforeEach
+    void setUp() {
+        stringMap = new MyOpenHashMap<>();
+    }
+
+    @Test
+    void testPutAndGetWithNullKey() {
+        assertNull(stringMap.put(null, "🍕"));
+        assertEquals("🍕", stringMap.get(null));
+
+        assertEquals("🍕", stringMap.put(null, "🍔"));
+        assertEquals("🍔", stringMap.remove(null));
+        assertNull(stringMap.get(null));
+        assertEquals(0, stringMap.size());
+    }
+
+    @Test
+    void testStringToStringMapping() {
+        assertNull(stringMap.put("🐱", "🐶"));
+        assertEquals("🐶", stringMap.get("🐱"));
+
+        assertEquals("🐶", stringMap.put("🐱", "🐱🐶"));
+        assertEquals("🐱🐶", stringMap.get("🐱"));
+        assertTrue(stringMap.containsKey("🐱"));
+
+        assertEquals("🐱🐶", stringMap.remove("🐱"));
+        assertNull(stringMap.get("🐱"));
+        assertFalse(stringMap.containsKey("🐱"));
+        assertEquals(0, stringMap.size());
+    }
+
+    @Test
+    void testNullValues() {
+        assertNull(stringMap.put("📦", null));
+        assertTrue(stringMap.containsKey("📦"));
+        assertNull(stringMap.put("📦", "🔓"));
+        assertEquals("🔓", stringMap.get("📦"));
+    }
+
+    @Test
+    void testMassiveInsertionAndRemoval() {
+        MyOpenHashMap<Integer, String> map = new MyOpenHashMap<>();
+        int count = 1_000_000;
+
+        for (int i = 0; i < count; i++) {
+            assertNull(map.put(i, "Персик" + i));
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals("Персик" + i, map.get(i));
+        }
+        assertEquals(count, map.size());
+
+        for (int i = 0; i < count; i++) {
+            assertEquals("Персик" + i, map.remove(i));
+        }
+        for (int i = 0; i < count; i++) {
+            assertNull(map.get(i));
+        }
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testHashCollisions() {
+        class CollisionKey {
+            final int id;
+            CollisionKey(int id) { this.id = id; }
+            @Override public int hashCode() { return 42; }
+            @Override public boolean equals(Object o) {
+                return o instanceof CollisionKey && ((CollisionKey) o).id == this.id;
+            }
+        }
+
+        MyOpenHashMap<CollisionKey, Integer> map = new MyOpenHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            assertNull(map.put(new CollisionKey(i), i));
+        }
+        for (int i = 0; i < 100; i += 3) {
+            assertEquals(i, map.remove(new CollisionKey(i)));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 3 == 0 ? null : i, map.get(new CollisionKey(i)));
+        }
+    }
+
+    @Test
+    void testTombstonesAreReclaimedWithoutGrowing() {
+        MyOpenHashMap<Integer, Integer> map = new MyOpenHashMap<>(64);
+        for (int i = 0; i < 40; i++) {
+            map.put(i, i);
+        }
+        int capacity = map.capacity();
+
+        for (int round = 0; round < 1_000; round++) {
+            int key = 1_000 + round;
+            assertNull(map.put(key, round));
+            assertEquals(round, map.remove(key));
+        }
+
+        assertEquals(capacity, map.capacity());
+        assertEquals(40, map.size());
+        for (int i = 0; i < 40; i++) {
+            assertEquals(i, map.get(i));
+        }
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("{}", stringMap.toString());
+        stringMap.put("🌟", "✨");
+        assertEquals("{🌟=✨}", stringMap.toString());
+    }
+}
@@ -0,0 +1,59 @@
+package Module_1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MySoftValueHashMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        MySoftValueHashMap<String, String> map = new MySoftValueHashMap<>();
+        assertNull(map.put("🐱", "🐶"));
+        assertEquals("🐶", map.put("🐱", "🐱🐶"));
+        assertEquals("🐱🐶", map.get("🐱"));
+        assertTrue(map.containsKey("🐱"));
+
+        Map<String, String> seen = new HashMap<>();
+        map.forEach(seen::put);
+        assertEquals(Map.of("🐱", "🐱🐶"), seen);
+
+        assertEquals("🐱🐶", map.remove("🐱"));
+        assertFalse(map.containsKey("🐱"));
+        assertTrue(map.isEmpty());
+        assertThrows(NullPointerException.class, () -> map.put("🐱", null));
+    }
+
+    @Test
+    void testComputeIfAbsentMemoizes() {
+        MySoftValueHashMap<Integer, String> memo = new MySoftValueHashMap<>();
+        int[] calls = {0};
+        for (int i = 0; i < 3; i++)
+            assertEquals("42", memo.computeIfAbsent(42, k -> {
+                calls[0]++;
+                return String.valueOf(k);
+            }));
+        assertEquals(1, calls[0]);
+        assertNull(memo.computeIfAbsent(7, k -> null));
+        assertEquals(1, memo.size());
+    }
+
+    @Test
+    void testValuesGiveWayUnderMemoryPressure() {
+        // far more than the heap can hold if the values were strongly reachable
+        MySoftValueHashMap<Integer, byte[]> map = new MySoftValueHashMap<>();
+        long max = Runtime.getRuntime().maxMemory();
+        int chunk = 1 << 20;
+        int count = (int) Math.min(Integer.MAX_VALUE, 2 * max / chunk + 16);
+        for (int i = 0; i < count; i++)
+            map.put(i, new byte[chunk]);
+        assertTrue(map.size() < count, map.size() + " of " + count);
+    }
+}
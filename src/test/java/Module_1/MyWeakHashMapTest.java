@@ -0,0 +1,54 @@
+package Module_1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MyWeakHashMapTest {
+
+    record Key(String name) {
+    }
+
+    @Test
+    void testPutGetRemove() {
+        MyWeakHashMap<Key, String> map = new MyWeakHashMap<>();
+        Key cat = new Key("🐱");
+        assertNull(map.put(cat, "🐶"));
+        assertEquals("🐶", map.put(new Key("🐱"), "🐱🐶")); // equal key, stored key kept
+        assertEquals("🐱🐶", map.get(new Key("🐱")));
+        assertTrue(map.containsKey(cat));
+        assertEquals(1, map.size());
+
+        Map<Key, String> seen = new HashMap<>();
+        map.forEach(seen::put);
+        assertEquals(Map.of(cat, "🐱🐶"), seen);
+
+        assertEquals("🐱🐶", map.remove(cat));
+        assertFalse(map.containsKey(cat));
+        assertTrue(map.isEmpty());
+        assertThrows(NullPointerException.class, () -> map.put(null, "🐶"));
+    }
+
+    @Test
+    void testCollectedKeysArePurged() throws InterruptedException {
+        MyWeakHashMap<Key, byte[]> map = new MyWeakHashMap<>();
+        Key kept = new Key("kept");
+        map.put(kept, new byte[16]);
+        for (int i = 0; i < 1000; i++)
+            map.put(new Key("k" + i), new byte[1024]);
+
+        for (int i = 0; i < 50 && map.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertEquals(1, map.size());
+        assertTrue(map.containsKey(kept));
+    }
+}
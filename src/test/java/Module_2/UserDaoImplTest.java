@@ -6,12 +6,18 @@ import Module_2.model.User;
 import Module_2.util.HibernateUtil;
 import Module_2.util.TransactionUtil;
 import jakarta.validation.ConstraintViolationException;
+import org.hibernate.HibernateException;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -116,6 +122,61 @@ class UserDaoImplTest {
         assertEquals(2, userDao.readAll().size());
     }
 
+    @Test
+    void streamAll_ReturnsUsersInIdOrder() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            created.add(createTestUser("stream" + i + "@test.com").getId());
+        }
+
+        List<Long> ids;
+        try (Stream<User> users = userDao.streamAll(7)) {
+            ids = users.map(User::getId).toList();
+        }
+
+        assertEquals(created.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    void streamAll_WithInvalidFetchSize() {
+        assertThrows(IllegalArgumentException.class, () -> userDao.streamAll(0));
+    }
+
+    @Test
+    void streamAll_ClosingEarlyReleasesCursor() {
+        createTestUser("early1@test.com");
+        createTestUser("early2@test.com");
+        Statistics statistics = HibernateUtil.getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            long openSessions = statistics.getSessionOpenCount() - statistics.getSessionCloseCount();
+
+            Iterator<User> it;
+            try (Stream<User> users = userDao.streamAll(1)) {
+                it = users.iterator();
+                assertEquals("early1@test.com", it.next().getEmail());
+                assertEquals(openSessions + 1, statistics.getSessionOpenCount() - statistics.getSessionCloseCount());
+            }
+
+            assertEquals(openSessions, statistics.getSessionOpenCount() - statistics.getSessionCloseCount());
+            // early2 is still unread, so this fails only because the cursor is closed
+            assertThrows(HibernateException.class, it::next);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void forEachUser_VisitsEveryUser() {
+        createTestUser("each1@test.com");
+        createTestUser("each2@test.com");
+        List<String> emails = new ArrayList<>();
+
+        userDao.forEachUser(user -> emails.add(user.getEmail()));
+
+        assertEquals(List.of("each1@test.com", "each2@test.com"), emails);
+    }
+
     @Test
     void updateUser() {
         User user = createTestUser("update@test.com");
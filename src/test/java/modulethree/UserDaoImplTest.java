@@ -4,14 +4,22 @@ import modulethree.util.TransactionUtil;
 import jakarta.validation.ConstraintViolationException;
 import modulethree.dao.UserDao;
 import modulethree.dao.UserDaoImpl;
+import modulethree.dao.UserPage;
 import modulethree.model.User;
+import modulethree.model.UserSummary;
 import modulethree.util.HibernateUtil;
+import org.hibernate.HibernateException;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -105,6 +113,36 @@ class UserDaoImplTest {
         assertThrows(IllegalArgumentException.class, () -> userDao.create(user2));
     }
 
+    @Test
+    void createAll_PersistsWholeBatch() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            users.add(newUser("batch" + i + "@test.com"));
+        }
+
+        userDao.createAll(users);
+
+        assertEquals(1_000, userDao.readAll().size());
+        users.forEach(user -> assertNotNull(user.getId()));
+    }
+
+    @Test
+    void createAll_WithExistingEmail_PersistsNothing() {
+        createTestUser("taken@test.com");
+        List<User> users = List.of(newUser("free@test.com"), newUser("taken@test.com"));
+
+        assertThrows(IllegalArgumentException.class, () -> userDao.createAll(users));
+        assertFalse(userDao.existsByEmail("free@test.com"));
+    }
+
+    @Test
+    void createAll_WithDuplicateEmailInBatch() {
+        List<User> users = List.of(newUser("twice@test.com"), newUser("twice@test.com"));
+
+        assertThrows(IllegalArgumentException.class, () -> userDao.createAll(users));
+        assertFalse(userDao.existsByEmail("twice@test.com"));
+    }
+
     @Test
     void readUser_WithExistingId() {
         User user = createTestUser("read@test.com");
@@ -134,6 +172,176 @@ class UserDaoImplTest {
         assertEquals(2, userDao.readAll().size());
     }
 
+    @Test
+    void readSummary_ReturnsProjectionOfUser() {
+        User user = createTestUser("summary@test.com");
+
+        Optional<UserSummary> summary = userDao.readSummary(user.getId());
+
+        assertTrue(summary.isPresent());
+        assertEquals(user.getId(), summary.get().id());
+        assertEquals("Test User", summary.get().name());
+        assertEquals("summary@test.com", summary.get().email());
+        assertEquals(30, summary.get().age());
+        assertNotNull(summary.get().createdAt());
+    }
+
+    @Test
+    void readSummary_WhenUserNotFound() {
+        assertTrue(userDao.readSummary(999L).isEmpty());
+    }
+
+    @Test
+    void readAllSummaries_ReturnsUsersInIdOrder() {
+        User first = createTestUser("summary1@test.com");
+        User second = createTestUser("summary2@test.com");
+
+        List<UserSummary> summaries = userDao.readAllSummaries();
+
+        assertEquals(List.of(first.getId(), second.getId()), summaries.stream().map(UserSummary::id).toList());
+    }
+
+    @Test
+    void readOnlyTransaction_DoesNotFlushChanges() {
+        User user = createTestUser("readonly@test.com");
+
+        TransactionUtil.doInReadOnlyTransaction(session -> {
+            session.get(User.class, user.getId()).setName("Changed Name");
+            return null;
+        });
+
+        assertEquals("Test User", userDao.read(user.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void streamAll_ReturnsUsersInIdOrder() {
+        List<User> seeded = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            seeded.add(newUser("stream" + i + "@test.com"));
+        }
+        userDao.createAll(seeded);
+
+        List<Long> ids;
+        try (Stream<User> users = userDao.streamAll()) {
+            ids = users.map(User::getId).toList();
+        }
+
+        assertEquals(1_200, ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    void streamAll_WithSmallFetchSize_ReturnsEveryUser() {
+        List<User> seeded = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            seeded.add(newUser("fetch" + i + "@test.com"));
+        }
+        userDao.createAll(seeded);
+        List<Long> ids = new ArrayList<>();
+
+        userDao.forEachUser(7, user -> ids.add(user.getId()));
+
+        assertEquals(seeded.stream().map(User::getId).sorted().toList(), ids);
+    }
+
+    @Test
+    void streamAll_WithInvalidFetchSize() {
+        assertThrows(IllegalArgumentException.class, () -> userDao.streamAll(0));
+    }
+
+    @Test
+    void streamAll_ClosingEarlyReleasesCursor() {
+        createTestUser("early1@test.com");
+        createTestUser("early2@test.com");
+        Statistics statistics = HibernateUtil.getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            long openSessions = statistics.getSessionOpenCount() - statistics.getSessionCloseCount();
+
+            Iterator<User> it;
+            try (Stream<User> users = userDao.streamAll(1)) {
+                it = users.iterator();
+                assertEquals("early1@test.com", it.next().getEmail());
+                assertEquals(openSessions + 1, statistics.getSessionOpenCount() - statistics.getSessionCloseCount());
+            }
+
+            assertEquals(openSessions, statistics.getSessionOpenCount() - statistics.getSessionCloseCount());
+            // early2 is still unread, so this fails only because the cursor is closed
+            assertThrows(HibernateException.class, it::next);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void forEachUser_VisitsEveryUser() {
+        createTestUser("each1@test.com");
+        createTestUser("each2@test.com");
+        List<String> emails = new ArrayList<>();
+
+        userDao.forEachUser(user -> emails.add(user.getEmail()));
+
+        assertEquals(List.of("each1@test.com", "each2@test.com"), emails);
+    }
+
+    @Test
+    void readPage_ByIdWalksAllUsersInOrder() {
+        for (int i = 0; i < 25; i++) {
+            createTestUser("page" + i + "@test.com");
+        }
+
+        List<Long> ids = new ArrayList<>();
+        UserPage page = userDao.readPage(null, 10);
+        ids.addAll(page.users().stream().map(User::getId).toList());
+        while (page.hasNext()) {
+            page = userDao.readPage(page.nextId(), 10);
+            ids.addAll(page.users().stream().map(User::getId).toList());
+        }
+
+        assertEquals(5, page.users().size());
+        assertEquals(25, ids.size());
+        assertEquals(ids.stream().sorted().distinct().toList(), ids);
+    }
+
+    @Test
+    void readPage_ByCreatedAtWalksAllUsers() {
+        for (int i = 0; i < 7; i++) {
+            createTestUser("created" + i + "@test.com");
+        }
+
+        List<User> users = new ArrayList<>();
+        UserPage page = userDao.readPage(null, null, 3);
+        users.addAll(page.users());
+        while (page.hasNext()) {
+            page = userDao.readPage(page.nextCreatedAt(), page.nextId(), 3);
+            users.addAll(page.users());
+        }
+
+        assertEquals(7, users.size());
+        assertEquals(7, users.stream().map(User::getId).distinct().count());
+        for (int i = 1; i < users.size(); i++) {
+            assertFalse(users.get(i).getCreatedAt().isBefore(users.get(i - 1).getCreatedAt()));
+        }
+    }
+
+    @Test
+    void readPage_WhenExactlyOnePage_HasNoNext() {
+        createTestUser("only1@test.com");
+        createTestUser("only2@test.com");
+
+        UserPage page = userDao.readPage(null, 2);
+
+        assertEquals(2, page.users().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void readPage_WithInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> userDao.readPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> userDao.readPage(null, UserPage.MAX_LIMIT + 1));
+        assertThrows(IllegalArgumentException.class, () -> userDao.readPage(null, 1L, 10));
+    }
+
     @Test
     void updateUser() {
         User user = createTestUser("update@test.com");
@@ -182,11 +390,16 @@ class UserDaoImplTest {
     }
 
     private User createTestUser(String email) {
+        User user = newUser(email);
+        userDao.create(user);
+        return user;
+    }
+
+    private User newUser(String email) {
         User user = new User();
         user.setName("Test User");
         user.setEmail(email);
         user.setAge(30);
-        userDao.create(user);
         return user;
     }
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package modulethree;
 
 import jakarta.validation.ConstraintViolationException;
 import modulethree.dao.UserDao;
+import modulethree.dao.UserPage;
 import modulethree.model.User;
+import modulethree.model.UserSummary;
 import modulethree.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,16 +13,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -71,6 +78,39 @@ class UserServiceTest {
                 () -> userService.createUser(existingUser));
     }
 
+    @Test
+    void createUsers_Success() {
+        User first = new User();
+        first.setEmail("first@example.com");
+        first.setName("First");
+        User second = new User();
+        second.setEmail("second@example.com");
+        second.setName("Second");
+
+        userService.createUsers(List.of(first, second));
+
+        verify(userDao).createAll(List.of(first, second));
+    }
+
+    @Test
+    void createUsers_InvalidUserRejectsWholeBatch() {
+        User valid = new User();
+        valid.setEmail("valid@example.com");
+        valid.setName("Valid");
+        User invalid = new User();
+        invalid.setEmail("invalid-email");
+        invalid.setAge(151);
+
+        assertThrows(ConstraintViolationException.class,
+                () -> userService.createUsers(List.of(valid, invalid)));
+        verify(userDao, never()).createAll(any());
+    }
+
+    @Test
+    void createUsers_WhenNull() {
+        assertThrows(IllegalArgumentException.class, () -> userService.createUsers(null));
+    }
+
     @Test
     void getUserById_Found() {
         User expected = createUserWithId(1L);
@@ -102,6 +142,73 @@ class UserServiceTest {
         assertEquals(2, result.size());
     }
 
+    @Test
+    void getUserSummaryById_DelegatesToDao() {
+        UserSummary summary = new UserSummary(1L, "Name", "name@test.com", 30, null);
+        when(userDao.readSummary(1L)).thenReturn(Optional.of(summary));
+
+        assertEquals(Optional.of(summary), userService.getUserSummaryById(1L));
+    }
+
+    @Test
+    void getAllUserSummaries_ReturnsDaoList() {
+        List<UserSummary> summaries = List.of(
+                new UserSummary(1L, "First", "first@test.com", 20, null),
+                new UserSummary(2L, "Second", "second@test.com", 40, null));
+        when(userDao.readAllSummaries()).thenReturn(summaries);
+
+        assertEquals(summaries, userService.getAllUserSummaries());
+    }
+
+    @Test
+    void streamAllUsers_ReturnsDaoStream() {
+        User user1 = createUserWithId(1L);
+        User user2 = createUserWithId(2L);
+        when(userDao.streamAll()).thenReturn(Stream.of(user1, user2));
+
+        try (Stream<User> users = userService.streamAllUsers()) {
+            assertEquals(List.of(1L, 2L), users.map(User::getId).toList());
+        }
+    }
+
+    @Test
+    void streamAllUsers_WithFetchSize_ReturnsDaoStream() {
+        when(userDao.streamAll(100)).thenReturn(Stream.of(createUserWithId(1L)));
+
+        try (Stream<User> users = userService.streamAllUsers(100)) {
+            assertEquals(1, users.count());
+        }
+    }
+
+    @Test
+    void forEachUser_DelegatesToDao() {
+        Consumer<User> action = user -> { };
+
+        userService.forEachUser(action);
+
+        verify(userDao).forEachUser(action);
+    }
+
+    @Test
+    void getUsersPage_ById_DelegatesToDao() {
+        UserPage page = new UserPage(List.of(createUserWithId(11L)), null, 11L);
+        when(userDao.readPage(10L, 1)).thenReturn(page);
+
+        assertEquals(page, userService.getUsersPage(10L, 1));
+    }
+
+    @Test
+    void getUsersPage_ByCreatedAt_DelegatesToDao() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        UserPage page = new UserPage(List.of(), null, null);
+        when(userDao.readPage(createdAt, 10L, 20)).thenReturn(page);
+
+        UserPage result = userService.getUsersPage(createdAt, 10L, 20);
+
+        assertEquals(page, result);
+        assertFalse(result.hasNext());
+    }
+
     @Test
     void deleteUser_Success() {
         when(userDao.delete(1L)).thenReturn(true);